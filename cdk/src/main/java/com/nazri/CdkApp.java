@@ -8,6 +8,8 @@ import com.nazri.util.Constant;
 import com.nazri.util.EnvironmentUtil;
 import software.amazon.awscdk.App;
 
+import java.util.List;
+
 /**
  * Main CDK application for Currency Coinverter infrastructure.
  * 
@@ -51,7 +53,8 @@ public class CdkApp {
                 .description("Quarkus API Stack for Currency Coinverter")
                 .build(),
                 stackConfig,
-                dynamoDBStack.getUserTable(),
+                List.of(dynamoDBStack.getUserTable(), dynamoDBStack.getLeaseTable(), dynamoDBStack.getUpdateTable(),
+                        dynamoDBStack.getBroadcastTable()),
                 apiGatewayStack.getHttpApi()
         );
 
@@ -10,6 +10,9 @@ import software.amazon.awscdk.Tags;
 import software.amazon.awscdk.services.dynamodb.*;
 import software.constructs.Construct;
 
+import static com.nazri.util.Constant.BROADCAST_TABLE;
+import static com.nazri.util.Constant.LEASE_TABLE;
+import static com.nazri.util.Constant.UPDATE_TABLE;
 import static com.nazri.util.Constant.USER_TABLE;
 
 /**
@@ -18,10 +21,17 @@ import static com.nazri.util.Constant.USER_TABLE;
  * Creates a DynamoDB table for storing user chat data and preferences.
  * The table uses chatId as the partition key and includes basic
  * provisioned capacity settings suitable for a small-scale application.
+ * Also creates the lease table, through which instances agree on who
+ * polls for updates, the update table, which records received
+ * updates so that redeliveries can be dropped, and the broadcast
+ * table, which keeps the progress of broadcasts to all users.
  */
 public class DynamoDBStack extends Stack {
 
     private Table userTable;
+    private Table leaseTable;
+    private Table updateTable;
+    private Table broadcastTable;
     private final StackConfig stackConfig;
 
     /**
@@ -37,6 +47,12 @@ public class DynamoDBStack extends Stack {
         this.stackConfig = stackConfig;
         this.userTable = createUserTable();
         TagUtil.addTags(this.userTable, stackConfig);
+        this.leaseTable = createLeaseTable();
+        TagUtil.addTags(this.leaseTable, stackConfig);
+        this.updateTable = createUpdateTable();
+        TagUtil.addTags(this.updateTable, stackConfig);
+        this.broadcastTable = createBroadcastTable();
+        TagUtil.addTags(this.broadcastTable, stackConfig);
     }
 
     /**
@@ -61,7 +77,92 @@ public class DynamoDBStack extends Stack {
                 .build();
     }
 
+    /**
+     * Creates the lease table, holding one item per named lease.
+     *
+     * @return configured DynamoDB table
+     */
+    private Table createLeaseTable() {
+        return Table.Builder.create(
+                        this,
+                        "currencycoinverter-lease-table")
+                .tableName(LEASE_TABLE)
+                .billingMode(BillingMode.PROVISIONED)
+                .partitionKey(Attribute.builder()
+                        .name("name")
+                        .type(AttributeType.STRING)
+                        .build())
+                .removalPolicy(RemovalPolicy.DESTROY)
+                .readCapacity(1)
+                .writeCapacity(1)
+                .tableClass(TableClass.STANDARD)
+                .build();
+    }
+
+    /**
+     * Creates the update table, holding one item per received update
+     * until its expiresAt time passes.
+     *
+     * Billed on demand, as every webhook call writes to it.
+     *
+     * @return configured DynamoDB table
+     */
+    private Table createUpdateTable() {
+        return Table.Builder.create(
+                        this,
+                        "currencycoinverter-update-table")
+                .tableName(UPDATE_TABLE)
+                .billingMode(BillingMode.PAY_PER_REQUEST)
+                .partitionKey(Attribute.builder()
+                        .name("updateId")
+                        .type(AttributeType.NUMBER)
+                        .build())
+                .timeToLiveAttribute("expiresAt")
+                .removalPolicy(RemovalPolicy.DESTROY)
+                .tableClass(TableClass.STANDARD)
+                .build();
+    }
+
+    /**
+     * Creates the broadcast table, holding one checkpoint per broadcast
+     * and scan segment.
+     *
+     * Billed on demand, as it is only written while a broadcast runs.
+     *
+     * @return configured DynamoDB table
+     */
+    private Table createBroadcastTable() {
+        return Table.Builder.create(
+                        this,
+                        "currencycoinverter-broadcast-table")
+                .tableName(BROADCAST_TABLE)
+                .billingMode(BillingMode.PAY_PER_REQUEST)
+                .partitionKey(Attribute.builder()
+                        .name("broadcastId")
+                        .type(AttributeType.STRING)
+                        .build())
+                .sortKey(Attribute.builder()
+                        .name("segment")
+                        .type(AttributeType.NUMBER)
+                        .build())
+                .removalPolicy(RemovalPolicy.DESTROY)
+                .tableClass(TableClass.STANDARD)
+                .build();
+    }
+
     public Table getUserTable() {
         return userTable;
     }
+
+    public Table getLeaseTable() {
+        return leaseTable;
+    }
+
+    public Table getUpdateTable() {
+        return updateTable;
+    }
+
+    public Table getBroadcastTable() {
+        return broadcastTable;
+    }
 }
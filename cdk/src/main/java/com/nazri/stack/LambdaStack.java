@@ -38,10 +38,10 @@ public class LambdaStack extends Stack {
      * @param id the stack identifier
      * @param props stack properties
      * @param stackConfig environment-specific configuration
-     * @param table DynamoDB table for data access
+     * @param tables DynamoDB tables the function reads and writes
      * @param httpApi HTTP API Gateway for routing
      */
-    public LambdaStack(final Construct scope, final String id, final StackProps props, StackConfig stackConfig, Table table, HttpApi httpApi) {
+    public LambdaStack(final Construct scope, final String id, final StackProps props, StackConfig stackConfig, List<Table> tables, HttpApi httpApi) {
         super(scope, id, props);
 
         if (stackConfig.getGraalvm()) {
@@ -51,7 +51,8 @@ public class LambdaStack extends Stack {
         }
 
         addTelegramWebhookRoute(httpApi);
-        table.grantReadWriteData(this.restAPIFunction);
+        addBroadcastRoute(httpApi);
+        tables.forEach(table -> table.grantReadWriteData(this.restAPIFunction));
         TagUtil.addTags(this.restAPIFunction, stackConfig);
     }
 
@@ -79,7 +80,10 @@ public class LambdaStack extends Stack {
                         "quarkus_lambda_handler", "io.quarkus.amazon.lambda.runtime.QuarkusStreamHandler::handleRequest",
                         "telegram_bot_username", Constant.TELEGRAM_BOT_USERNAME,
                         "telegram_bot_token", Constant.TELEGRAM_BOT_TOKEN,
-                        "telegram_webhook_url", Constant.TELEGRAM_WEBHOOK_URL
+                        "telegram_webhook_url", Constant.TELEGRAM_WEBHOOK_URL,
+                        // Redeliveries may reach another instance
+                        "telegram_dedup_mode", "dynamodb",
+                        "broadcast_token", Constant.BROADCAST_TOKEN
                 ))
                 .build();
     }
@@ -107,6 +111,9 @@ public class LambdaStack extends Stack {
                         "telegram_bot_username", Constant.TELEGRAM_BOT_USERNAME,
                         "telegram_bot_token", Constant.TELEGRAM_BOT_TOKEN,
                         "telegram_webhook_url", Constant.TELEGRAM_WEBHOOK_URL,
+                        // Redeliveries may reach another instance
+                        "telegram_dedup_mode", "dynamodb",
+                        "broadcast_token", Constant.BROADCAST_TOKEN,
                         // For JVM only
                         "JAVA_TOOL_OPTIONS", "-XX:+TieredCompilation -XX:TieredStopAtLevel=1"
                 ))
@@ -129,6 +136,23 @@ public class LambdaStack extends Stack {
                 .build());
     }
 
+    /**
+     * Configures the broadcast route in the API Gateway. Requests are
+     * checked against the broadcast token by the application itself.
+     *
+     * @param httpApi the HTTP API Gateway to configure
+     */
+    private void addBroadcastRoute(HttpApi httpApi) {
+        httpApi.addRoutes(AddRoutesOptions.builder()
+                .authorizer(new HttpNoneAuthorizer())
+                .path("/api/broadcast/{id}")
+                .methods(List.of(HttpMethod.POST))
+                .integration(HttpLambdaIntegration.Builder
+                        .create("currencycoinverter-broadcast", restAPIFunction)
+                        .build())
+                .build());
+    }
+
     public Function getAPIFunction() {
         return restAPIFunction;
     }
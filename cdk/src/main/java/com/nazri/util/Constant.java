@@ -1,5 +1,7 @@
 package com.nazri.util;
 
+import java.util.Objects;
+
 public final class Constant {
 
     private Constant() {
@@ -15,10 +17,16 @@ public final class Constant {
 
     //DynamoDB Table Names
     public static final String USER_TABLE = "currencycoinverter-user";
+    public static final String LEASE_TABLE = "currencycoinverter-lease";
+    public static final String UPDATE_TABLE = "currencycoinverter-update";
+    public static final String BROADCAST_TABLE = "currencycoinverter-broadcast";
 
     public static final String TELEGRAM_BOT_USERNAME = System.getenv("CURRENCYCOINVERTER_TELEGRAM_BOT_USERNAME");
     public static final String TELEGRAM_BOT_TOKEN = System.getenv("CURRENCYCOINVERTER_TELEGRAM_BOT_TOKEN");
     public static final String TELEGRAM_WEBHOOK_URL = System.getenv("CURRENCYCOINVERTER_TELEGRAM_BOT_URL");
+    /** Optional; broadcasting stays disabled without it */
+    public static final String BROADCAST_TOKEN = Objects.requireNonNullElse(
+            System.getenv("CURRENCYCOINVERTER_BROADCAST_TOKEN"), "");
     
     static {
         validateRequiredEnvVars();
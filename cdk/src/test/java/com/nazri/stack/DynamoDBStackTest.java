@@ -35,8 +35,8 @@ public class DynamoDBStackTest {
         // Then
         Template template = Template.fromStack(stack);
         
-        // Verify user table is created
-        template.resourceCountIs("AWS::DynamoDB::Table", 1);
+        // Verify user, lease, update and broadcast tables are created
+        template.resourceCountIs("AWS::DynamoDB::Table", 4);
         
         // Verify table has correct name
         template.hasResourceProperties("AWS::DynamoDB::Table", java.util.Map.of(
@@ -44,6 +44,78 @@ public class DynamoDBStackTest {
         ));
     }
 
+    /**
+     * Tests that the DynamoDB stack creates the lease table keyed by name.
+     */
+    @Test
+    public void testDynamoDBStackCreatesLeaseTable() {
+        // Given
+        App app = new App();
+        StackConfig stackConfig = new StackConfig.Builder()
+                .withEnvironment(Constant.DEV)
+                .build();
+
+        // When
+        DynamoDBStack stack = new DynamoDBStack(app, "test-dynamodb-stack",
+                StackProps.builder().build(), stackConfig);
+
+        // Then
+        Template template = Template.fromStack(stack);
+        template.hasResourceProperties("AWS::DynamoDB::Table", java.util.Map.of(
+                "TableName", "currencycoinverter-lease",
+                "KeySchema", java.util.List.of(java.util.Map.of("AttributeName", "name", "KeyType", "HASH"))
+        ));
+    }
+
+    /**
+     * Tests that the DynamoDB stack creates the update table with TTL on expiresAt.
+     */
+    @Test
+    public void testDynamoDBStackCreatesUpdateTableWithTtl() {
+        // Given
+        App app = new App();
+        StackConfig stackConfig = new StackConfig.Builder()
+                .withEnvironment(Constant.DEV)
+                .build();
+
+        // When
+        DynamoDBStack stack = new DynamoDBStack(app, "test-dynamodb-stack",
+                StackProps.builder().build(), stackConfig);
+
+        // Then
+        Template template = Template.fromStack(stack);
+        template.hasResourceProperties("AWS::DynamoDB::Table", java.util.Map.of(
+                "TableName", "currencycoinverter-update",
+                "KeySchema", java.util.List.of(java.util.Map.of("AttributeName", "updateId", "KeyType", "HASH")),
+                "TimeToLiveSpecification", java.util.Map.of("AttributeName", "expiresAt", "Enabled", true)
+        ));
+    }
+
+    /**
+     * Tests that the DynamoDB stack creates the broadcast table keyed by broadcast and segment.
+     */
+    @Test
+    public void testDynamoDBStackCreatesBroadcastTable() {
+        // Given
+        App app = new App();
+        StackConfig stackConfig = new StackConfig.Builder()
+                .withEnvironment(Constant.DEV)
+                .build();
+
+        // When
+        DynamoDBStack stack = new DynamoDBStack(app, "test-dynamodb-stack",
+                StackProps.builder().build(), stackConfig);
+
+        // Then
+        Template template = Template.fromStack(stack);
+        template.hasResourceProperties("AWS::DynamoDB::Table", java.util.Map.of(
+                "TableName", "currencycoinverter-broadcast",
+                "KeySchema", java.util.List.of(
+                        java.util.Map.of("AttributeName", "broadcastId", "KeyType", "HASH"),
+                        java.util.Map.of("AttributeName", "segment", "KeyType", "RANGE"))
+        ));
+    }
+
     /**
      * Tests that the user table instance is accessible.
      */
@@ -82,7 +154,7 @@ public class DynamoDBStackTest {
         // Then
         Template template = Template.fromStack(stack);
         
-        // Verify the table exists
-        template.resourceCountIs("AWS::DynamoDB::Table", 1);
+        // Verify the tables exist
+        template.resourceCountIs("AWS::DynamoDB::Table", 4);
     }
 }
@@ -0,0 +1,277 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Format;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Generates the {@code com.nazri.util.Messages} catalog from {@code messages.properties}
+ * and its translations ({@code messages_<language>.properties}).
+ *
+ * Run by the build in the generate-sources phase as a single-file program:
+ * {@code java src/build/MessagesGenerator.java <resources dir> <bundle name> <output dir>}.
+ *
+ * Every key becomes a key constant, a template pre-split into literal segments and argument
+ * indexes (so no pattern is parsed at runtime) and a typed accessor method for the default
+ * bundle. Each translation gets its own template map; keys it lacks fall back to the default.
+ */
+public class MessagesGenerator {
+
+    private static final String PACKAGE = "com.nazri.util";
+    private static final String CLASS_NAME = "Messages";
+    private static final char SENTINEL_BASE = '\uE000';
+    private static final int MAX_ARGUMENTS = 0x100;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: MessagesGenerator <resources dir> <bundle name> <output dir>");
+        }
+        Path resources = Path.of(args[0]);
+        String bundleName = args[1];
+        Path output = Path.of(args[2]).resolve(PACKAGE.replace('.', '/')).resolve(CLASS_NAME + ".java");
+
+        Properties messages = load(resources.resolve(bundleName + ".properties"));
+        Map<String, Properties> translations = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(resources, bundleName + "_*.properties")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String language = name.substring(bundleName.length() + 1, name.length() - ".properties".length());
+                translations.put(language, load(file));
+            }
+        }
+        String source = generate(bundleName, messages, translations);
+
+        Files.createDirectories(output.getParent());
+        if (Files.exists(output) && Files.readString(output, StandardCharsets.UTF_8).equals(source)) {
+            // Unchanged, keep the timestamp so the compiler does not rebuild
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writer.write(source);
+        }
+    }
+
+    private static Properties load(Path file) throws IOException {
+        Properties properties = new Properties();
+        // PropertyResourceBundle reads UTF-8, so must the generator
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+
+    private static String generate(String bundleName, Properties messages, Map<String, Properties> translations) {
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(PACKAGE).append(";\n\n");
+        out.append("import java.util.List;\n");
+        out.append("import java.util.Map;\n\n");
+        out.append("/**\n");
+        out.append(" * Message catalog generated from ").append(bundleName).append("*.properties by src/build/MessagesGenerator.java.\n");
+        out.append(" * Do not edit; change the properties files instead.\n");
+        out.append(" */\n");
+        out.append("public final class ").append(CLASS_NAME).append(" {\n\n");
+        out.append("    /** Name of the bundle this catalog was generated from. */\n");
+        out.append("    public static final String BUNDLE = ").append(literal(bundleName)).append(";\n\n");
+        out.append("    /** Languages with a translation of the bundle. */\n");
+        out.append("    public static final List<String> LANGUAGES = List.of(");
+        int languageIndex = 0;
+        for (String language : translations.keySet()) {
+            out.append(languageIndex++ > 0 ? ", " : "").append(literal(language));
+        }
+        out.append(");\n\n");
+
+        TreeSet<String> keys = new TreeSet<>(messages.stringPropertyNames());
+        for (String key : keys) {
+            out.append("    public static final String ").append(constantName(key)).append(" = ").append(literal(key)).append(";\n");
+        }
+        out.append('\n');
+
+        for (String key : keys) {
+            out.append("    private static final MessageTemplate ").append(templateName(key, null)).append(" = ")
+                    .append(template(messages.getProperty(key))).append(";\n");
+        }
+        out.append('\n');
+        for (Map.Entry<String, Properties> translation : translations.entrySet()) {
+            for (String key : keys) {
+                String pattern = translation.getValue().getProperty(key);
+                if (pattern != null) {
+                    out.append("    private static final MessageTemplate ").append(templateName(key, translation.getKey())).append(" = ")
+                            .append(template(pattern)).append(";\n");
+                }
+            }
+            out.append('\n');
+        }
+
+        templateMap(out, "TEMPLATES", keys, null, null);
+        for (Map.Entry<String, Properties> translation : translations.entrySet()) {
+            templateMap(out, "TEMPLATES_" + constantName(translation.getKey()), keys, translation.getKey(), translation.getValue());
+        }
+
+        out.append("    private ").append(CLASS_NAME).append("() {}\n\n");
+        out.append("    /**\n");
+        out.append("     * @return All templates by key\n");
+        out.append("     */\n");
+        out.append("    public static Map<String, MessageTemplate> templates() {\n");
+        out.append("        return TEMPLATES;\n");
+        out.append("    }\n\n");
+        out.append("    /**\n");
+        out.append("     * @param language The language code, e.g. \"ms\"\n");
+        out.append("     * @return All templates by key in the language, the default templates for other languages\n");
+        out.append("     */\n");
+        out.append("    public static Map<String, MessageTemplate> templates(String language) {\n");
+        out.append("        return switch (language) {\n");
+        for (String language : translations.keySet()) {
+            out.append("            case ").append(literal(language)).append(" -> TEMPLATES_").append(constantName(language)).append(";\n");
+        }
+        out.append("            default -> TEMPLATES;\n");
+        out.append("        };\n");
+        out.append("    }\n");
+
+        for (String key : keys) {
+            String pattern = messages.getProperty(key);
+            int argumentCount = new MessageFormat(pattern).getFormatsByArgumentIndex().length;
+            String argumentType = isSimple(pattern) ? "String" : "Object";
+            out.append('\n');
+            out.append("    /** Renders {@code ").append(key).append("}. */\n");
+            out.append("    public static String ").append(methodName(key)).append('(');
+            for (int i = 0; i < argumentCount; i++) {
+                out.append(i > 0 ? ", " : "").append(argumentType).append(" arg").append(i);
+            }
+            out.append(") {\n");
+            out.append("        return ").append(templateName(key, null)).append(".format(");
+            for (int i = 0; i < argumentCount; i++) {
+                out.append(i > 0 ? ", " : "").append("arg").append(i);
+            }
+            out.append(");\n");
+            out.append("    }\n");
+        }
+
+        out.append("}\n");
+        return out.toString();
+    }
+
+    /**
+     * Splits the pattern exactly like {@code MessageTemplate.compile}, but at build time.
+     */
+    private static String template(String pattern) {
+        MessageFormat format = new MessageFormat(pattern);
+        int argumentCount = format.getFormatsByArgumentIndex().length;
+        if (!isSimple(pattern)) {
+            return "MessageTemplate.compile(" + literal(pattern) + ")";
+        }
+
+        Object[] sentinels = new Object[argumentCount];
+        for (int i = 0; i < argumentCount; i++) {
+            sentinels[i] = String.valueOf((char) (SENTINEL_BASE + i));
+        }
+        String rendered = format.format(sentinels);
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < rendered.length(); i++) {
+            char c = rendered.charAt(i);
+            if (c >= SENTINEL_BASE && c < SENTINEL_BASE + argumentCount) {
+                literals.add(rendered.substring(start, i));
+                arguments.add(c - SENTINEL_BASE);
+                start = i + 1;
+            }
+        }
+        literals.add(rendered.substring(start));
+        if (arguments.isEmpty()) {
+            return "MessageTemplate.constant(" + literal(literals.get(0)) + ")";
+        }
+
+        StringBuilder out = new StringBuilder("MessageTemplate.of(").append(literal(pattern)).append(",\n            new String[]{");
+        for (int i = 0; i < literals.size(); i++) {
+            out.append(i > 0 ? ", " : "").append(literal(literals.get(i)));
+        }
+        out.append("},\n            new int[]{");
+        for (int i = 0; i < arguments.size(); i++) {
+            out.append(i > 0 ? ", " : "").append(arguments.get(i));
+        }
+        return out.append("})").toString();
+    }
+
+    /**
+     * @return Whether the pattern only has plain {n} arguments, which render String values as-is
+     */
+    private static boolean isSimple(String pattern) {
+        MessageFormat format = new MessageFormat(pattern);
+        boolean simple = format.getFormatsByArgumentIndex().length <= MAX_ARGUMENTS && pattern.chars().noneMatch(
+                c -> c >= SENTINEL_BASE && c < SENTINEL_BASE + MAX_ARGUMENTS);
+        for (Format subformat : format.getFormats()) {
+            simple &= subformat == null;
+        }
+        return simple;
+    }
+
+    private static String constantName(String key) {
+        return key.toUpperCase().replaceAll("[^A-Z0-9]", "_");
+    }
+
+    private static String templateName(String key, String language) {
+        return constantName(key) + (language == null ? "" : "_" + constantName(language)) + "_TEMPLATE";
+    }
+
+    private static void templateMap(StringBuilder out, String name, TreeSet<String> keys, String language, Properties translation) {
+        out.append("    private static final Map<String, MessageTemplate> ").append(name).append(" = Map.ofEntries(\n");
+        int index = 0;
+        for (String key : keys) {
+            boolean translated = translation != null && translation.getProperty(key) != null;
+            out.append("            Map.entry(").append(constantName(key)).append(", ")
+                    .append(templateName(key, translated ? language : null)).append(')')
+                    .append(++index < keys.size() ? ",\n" : "");
+        }
+        out.append(");\n\n");
+    }
+
+    private static String methodName(String key) {
+        StringBuilder name = new StringBuilder();
+        boolean upper = false;
+        for (char c : key.toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                name.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            } else {
+                upper = name.length() > 0;
+            }
+        }
+        if (name.length() == 0 || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            name.insert(0, "message");
+        }
+        return name.toString();
+    }
+
+    private static String literal(String value) {
+        StringBuilder out = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        // Octal escapes, unicode escapes would be translated before lexing
+                        out.append(String.format("\\%03o", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"').toString();
+    }
+}
@@ -0,0 +1,207 @@
+package com.nazri.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.nazri.util.TelegramJsonWriter;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.telegram.telegrambots.meta.api.methods.AnswerCallbackQuery;
+import org.telegram.telegrambots.meta.api.methods.AnswerInlineQuery;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.updates.GetUpdates;
+import org.telegram.telegrambots.meta.api.objects.Update;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+
+import java.io.Serializable;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Client for the Telegram Bot API.
+ * Request bodies are written by {@link TelegramJsonWriter}; responses are parsed by the method itself.
+ *
+ * A single HTTP client is shared by all requests, so connections are pooled and kept alive
+ * between updates, over HTTP/2 where the server offers it. The connection is opened while the
+ * application starts (the Lambda init phase) rather than on the first update.
+ *
+ * Requests are paced by {@link TelegramRateLimiter} to stay within Telegram's rate limits.
+ */
+@ApplicationScoped
+public class TelegramApiClient {
+
+    private static final Logger log = Logger.getLogger(TelegramApiClient.class);
+
+    @ConfigProperty(name = "telegram.api.url", defaultValue = "https://api.telegram.org/bot")
+    String apiUrl;
+
+    @ConfigProperty(name = "telegram.bot.token")
+    String botToken;
+
+    @ConfigProperty(name = "telegram.api.timeout", defaultValue = "PT10S")
+    Duration timeout;
+
+    @ConfigProperty(name = "telegram.api.prewarm", defaultValue = "true")
+    boolean prewarm;
+
+    @ConfigProperty(name = "telegram.api.prewarm-timeout", defaultValue = "PT2S")
+    Duration prewarmTimeout;
+
+    @Inject
+    TelegramRateLimiter rateLimiter;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    void onStart(@Observes StartupEvent event) {
+        if (prewarm) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Opens the connection to the Bot API by calling getMe, waiting at most the prewarm timeout.
+     * Failures are only logged; the first real request simply connects again.
+     */
+    public void warmUp() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + botToken + "/getMe"))
+                .timeout(prewarmTimeout)
+                .GET()
+                .build();
+        try {
+            HttpResponse<Void> response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .get(prewarmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            log.debugf("Telegram API connection warmed up over %s", response.version());
+        } catch (ExecutionException | TimeoutException e) {
+            log.warnf("Failed to warm up the Telegram API connection: %s", e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Executes a Bot API method, waiting for the result.
+     *
+     * @param method The method to send
+     * @return The method's result
+     * @throws TelegramApiException if the request fails or Telegram rejects it
+     */
+    public <T extends Serializable, Method extends BotApiMethod<T>> T execute(Method method) throws TelegramApiException {
+        try {
+            return executeAsync(method).get();
+        } catch (ExecutionException e) {
+            throw toTelegramApiException(method, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TelegramApiException("Interrupted while executing " + method.getMethod() + " method", e);
+        }
+    }
+
+    /**
+     * Executes a Bot API method without blocking. Independent methods sent this way run concurrently.
+     * Answers to callback and inline queries are sent with {@link TelegramRateLimiter.Priority#ANSWER},
+     * other methods with {@link TelegramRateLimiter.Priority#REPLY}.
+     *
+     * @param method The method to send
+     * @return The method's result, or a {@link TelegramApiException} if the request fails or Telegram rejects it
+     */
+    public <T extends Serializable, Method extends BotApiMethod<T>> CompletableFuture<T> executeAsync(Method method) {
+        boolean answer = method instanceof AnswerCallbackQuery || method instanceof AnswerInlineQuery;
+        return executeAsync(method, answer ? TelegramRateLimiter.Priority.ANSWER : TelegramRateLimiter.Priority.REPLY);
+    }
+
+    /**
+     * Executes a Bot API method without blocking, once the rate limits allow it.
+     *
+     * @param method The method to send
+     * @param priority Which queued methods go first when the rate limits are reached
+     * @return The method's result, or a {@link TelegramApiException} if the request fails or Telegram
+     * rejects it; a {@link TelegramApiRateLimitException} if the outbound queue is full
+     */
+    public <T extends Serializable, Method extends BotApiMethod<T>> CompletableFuture<T> executeAsync(
+            Method method, TelegramRateLimiter.Priority priority) {
+        HttpRequest request;
+        try {
+            request = request(method, timeout);
+        } catch (TelegramApiException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return rateLimiter.submit(TelegramRateLimiter.chatId(method), priority, () -> send(method, request));
+    }
+
+    /**
+     * Long polls for updates, waiting up to the poll's timeout on top of the request timeout.
+     * Polling is not subject to the rate limits for sending, so it bypasses the rate limiter.
+     *
+     * @param getUpdates The poll, its offset acknowledges all earlier updates
+     * @return The updates, empty if none arrived before the poll's timeout
+     * @throws TelegramApiException if the request fails or Telegram rejects it
+     */
+    public List<Update> getUpdates(GetUpdates getUpdates) throws TelegramApiException {
+        int pollSeconds = getUpdates.getTimeout() != null ? getUpdates.getTimeout() : 0;
+        CompletableFuture<ArrayList<Update>> updates =
+                send(getUpdates, request(getUpdates, timeout.plusSeconds(pollSeconds)));
+        try {
+            return updates.get();
+        } catch (ExecutionException e) {
+            throw toTelegramApiException(getUpdates, e.getCause());
+        } catch (InterruptedException e) {
+            updates.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TelegramApiException("Interrupted while polling for updates", e);
+        }
+    }
+
+    private HttpRequest request(BotApiMethod<?> method, Duration requestTimeout) throws TelegramApiException {
+        method.validate();
+        try {
+            return HttpRequest.newBuilder(URI.create(apiUrl + botToken + "/" + method.getMethod()))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(TelegramJsonWriter.toJson(method)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw toTelegramApiException(method, e);
+        }
+    }
+
+    private <T extends Serializable> CompletableFuture<T> send(BotApiMethod<T> method, HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw new CompletionException(toTelegramApiException(method, error));
+                    }
+                    try {
+                        return method.deserializeResponse(response.body());
+                    } catch (TelegramApiException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    private static TelegramApiException toTelegramApiException(BotApiMethod<?> method, Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof TelegramApiException telegramApiException) {
+            return telegramApiException;
+        }
+        return new TelegramApiException("Unable to execute " + method.getMethod() + " method", error);
+    }
+}
@@ -0,0 +1,28 @@
+package com.nazri.client;
+
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is not sent because of Telegram's rate limits: the outbound queue is
+ * full, or Telegram kept answering 429 Too Many Requests.
+ */
+public class TelegramApiRateLimitException extends TelegramApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public TelegramApiRateLimitException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return How long to wait before sending more
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
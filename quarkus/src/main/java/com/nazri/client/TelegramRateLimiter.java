@@ -0,0 +1,376 @@
+package com.nazri.client;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.DeleteMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageReplyMarkup;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Schedules outbound Bot API requests within Telegram's limits: about 30 messages per second
+ * overall and about 1 per second in a chat. Each limit is a token bucket; a request is sent as
+ * soon as both its buckets have a token, otherwise it waits in a bounded queue.
+ *
+ * Queued requests go out by {@link Priority}, so callback answers are not stuck behind bulk
+ * sends, and in order within a chat. A 429 response pauses the chat (or every chat, for requests
+ * not sent to one) for the retry_after Telegram asks for, and the request is sent again.
+ */
+@ApplicationScoped
+public class TelegramRateLimiter {
+
+    private static final Logger log = Logger.getLogger(TelegramRateLimiter.class);
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int MAX_TRACKED_CHATS = 10_000;
+
+    public enum Priority {
+        /** Callback and inline query answers, the user is waiting on a spinner */
+        ANSWER,
+        /** Replies to an update */
+        REPLY,
+        /** Messages nobody is waiting for, e.g. broadcasts */
+        BULK
+    }
+
+    @ConfigProperty(name = "telegram.rate.global-per-second", defaultValue = "30")
+    double globalPerSecond;
+
+    @ConfigProperty(name = "telegram.rate.chat-per-second", defaultValue = "1")
+    double chatPerSecond;
+
+    @ConfigProperty(name = "telegram.rate.chat-burst", defaultValue = "3")
+    int chatBurst;
+
+    @ConfigProperty(name = "telegram.rate.queue-capacity", defaultValue = "1000")
+    int queueCapacity;
+
+    @ConfigProperty(name = "telegram.rate.max-retries", defaultValue = "2")
+    int maxRetries;
+
+    private final Map<Priority, ArrayDeque<Send<?>>> queues = new EnumMap<>(Priority.class);
+    private final Map<String, TokenBucket> chats = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            return size() > MAX_TRACKED_CHATS;
+        }
+    };
+    private TokenBucket global;
+    private int queued;
+    private ScheduledExecutorService dispatcher;
+    private ScheduledFuture<?> nextDrain;
+    private long nextDrainAt;
+
+    public TelegramRateLimiter() {
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Sends a request once the limits allow it. It is sent right away, on the calling thread,
+     * when nothing is queued and both buckets have a token.
+     *
+     * @param chatId The chat the request posts to, null if it does not post to a chat
+     * @param priority Which queued requests go first
+     * @param request Sends the request
+     * @return The request's result, or a {@link TelegramApiRateLimitException} if the queue is full
+     * or Telegram keeps answering 429
+     */
+    public <T> CompletableFuture<T> submit(String chatId, Priority priority, Supplier<CompletableFuture<T>> request) {
+        Send<T> send = new Send<>(chatId, priority, request);
+        synchronized (this) {
+            if (queued >= queueCapacity) {
+                Duration retryAfter = Duration.ofMillis((long) Math.ceil(queued * 1000 / globalPerSecond));
+                return CompletableFuture.failedFuture(new TelegramApiRateLimitException(
+                        "Outbound queue is full (" + queued + " requests)", retryAfter));
+            }
+            enqueue(send, false);
+        }
+        drain();
+        return send.result;
+    }
+
+    /**
+     * @param method A Bot API method
+     * @return The chat the method posts to, null if it does not post to a chat
+     */
+    public static String chatId(BotApiMethod<?> method) {
+        if (method instanceof SendMessage sendMessage) {
+            return sendMessage.getChatId();
+        } else if (method instanceof EditMessageText editMessageText) {
+            return editMessageText.getChatId();
+        } else if (method instanceof EditMessageReplyMarkup editMessageReplyMarkup) {
+            return editMessageReplyMarkup.getChatId();
+        } else if (method instanceof DeleteMessage deleteMessage) {
+            return deleteMessage.getChatId();
+        }
+        return null;
+    }
+
+    /**
+     * @return How many more requests can be queued before {@link #submit} rejects them
+     */
+    public synchronized int remainingCapacity() {
+        return Math.max(0, queueCapacity - queued);
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+        }
+    }
+
+    private void enqueue(Send<?> send, boolean first) {
+        ArrayDeque<Send<?>> queue = queues.get(send.priority);
+        if (first) {
+            queue.addFirst(send);
+        } else {
+            queue.addLast(send);
+        }
+        queued++;
+    }
+
+    /**
+     * Sends every queued request the limits allow, then schedules itself for when the next one is allowed.
+     */
+    private void drain() {
+        while (true) {
+            Send<?> send;
+            synchronized (this) {
+                long now = System.nanoTime();
+                send = poll(now);
+                if (send == null) {
+                    scheduleDrain(now);
+                    return;
+                }
+            }
+            dispatch(send);
+        }
+    }
+
+    private void scheduledDrain() {
+        synchronized (this) {
+            nextDrain = null;
+        }
+        drain();
+    }
+
+    /**
+     * Takes the first request, by priority then queue order, whose buckets both have a token.
+     * A chat that cannot send yet is skipped with all its later requests, keeping each chat in order.
+     */
+    private Send<?> poll(long now) {
+        if (queued == 0 || global(now).waitNanos(now) > 0) {
+            return null;
+        }
+        Set<String> blocked = null;
+        for (ArrayDeque<Send<?>> queue : queues.values()) {
+            for (Iterator<Send<?>> it = queue.iterator(); it.hasNext(); ) {
+                Send<?> send = it.next();
+                if (send.chatId != null) {
+                    if (blocked != null && blocked.contains(send.chatId)) {
+                        continue;
+                    }
+                    TokenBucket chat = chat(send.chatId, now);
+                    if (chat.waitNanos(now) > 0) {
+                        if (blocked == null) {
+                            blocked = new HashSet<>();
+                        }
+                        blocked.add(send.chatId);
+                        continue;
+                    }
+                    chat.take(now);
+                }
+                global.take(now);
+                it.remove();
+                queued--;
+                return send;
+            }
+        }
+        return null;
+    }
+
+    private void scheduleDrain(long now) {
+        if (queued == 0) {
+            return;
+        }
+        long wait = global(now).waitNanos(now);
+        if (wait == 0) {
+            // Only per-chat buckets are empty, wake up for the first chat that can send again
+            wait = Long.MAX_VALUE;
+            for (ArrayDeque<Send<?>> queue : queues.values()) {
+                for (Send<?> send : queue) {
+                    wait = Math.min(wait, send.chatId != null ? chat(send.chatId, now).waitNanos(now) : 0);
+                }
+            }
+        }
+        long at = now + wait;
+        if (nextDrain != null && nextDrainAt - at <= 0) {
+            return;
+        }
+        if (nextDrain != null) {
+            nextDrain.cancel(false);
+        }
+        if (dispatcher == null) {
+            dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "telegram-rate-limiter");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        nextDrainAt = at;
+        nextDrain = dispatcher.schedule(this::scheduledDrain, Math.max(wait, 1), TimeUnit.NANOSECONDS);
+    }
+
+    private <T> void dispatch(Send<T> send) {
+        CompletableFuture<T> sent;
+        try {
+            sent = send.request.get();
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((result, error) -> {
+            if (error == null) {
+                send.result.complete(result);
+                return;
+            }
+            Duration retryAfter = retryAfter(error);
+            if (retryAfter == null) {
+                send.result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else if (send.attempts++ < maxRetries) {
+                log.warnf("Telegram asked to retry after %ds, chat %s", retryAfter.toSeconds(), send.chatId);
+                synchronized (this) {
+                    pause(send.chatId, retryAfter);
+                    enqueue(send, true);
+                }
+                drain();
+            } else {
+                synchronized (this) {
+                    pause(send.chatId, retryAfter);
+                }
+                send.result.completeExceptionally(new TelegramApiRateLimitException(
+                        "Too Many Requests after " + send.attempts + " attempts", retryAfter));
+            }
+        });
+    }
+
+    private void pause(String chatId, Duration retryAfter) {
+        long now = System.nanoTime();
+        (chatId != null ? chat(chatId, now) : global(now)).pauseUntil(now + retryAfter.toNanos());
+    }
+
+    /**
+     * @return The retry_after of a 429 response, null for any other error
+     */
+    private static Duration retryAfter(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof TelegramApiRequestException requestException
+                && requestException.getErrorCode() != null
+                && requestException.getErrorCode() == TOO_MANY_REQUESTS) {
+            Integer seconds = requestException.getParameters() != null
+                    ? requestException.getParameters().getRetryAfter() : null;
+            return Duration.ofSeconds(seconds != null ? seconds : 1);
+        }
+        return null;
+    }
+
+    private TokenBucket global(long now) {
+        if (global == null) {
+            global = new TokenBucket(globalPerSecond, Math.max(1, globalPerSecond), now);
+        }
+        return global;
+    }
+
+    private TokenBucket chat(String chatId, long now) {
+        return chats.computeIfAbsent(chatId, id -> new TokenBucket(chatPerSecond, Math.max(1, chatBurst), now));
+    }
+
+    private static final class Send<T> {
+        private final String chatId;
+        private final Priority priority;
+        private final Supplier<CompletableFuture<T>> request;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private int attempts;
+
+        Send(String chatId, Priority priority, Supplier<CompletableFuture<T>> request) {
+            this.chatId = chatId;
+            this.priority = priority;
+            this.request = request;
+        }
+    }
+
+    /**
+     * Holds up to capacity tokens, refilled at a fixed rate. Guarded by the limiter's lock.
+     */
+    private static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long updatedAt;
+        private long pausedUntil;
+
+        TokenBucket(double perSecond, double capacity, long now) {
+            this.tokensPerNano = perSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.updatedAt = now;
+            this.pausedUntil = now;
+        }
+
+        /**
+         * @return Nanoseconds until a token is available, 0 if one is available now
+         */
+        long waitNanos(long now) {
+            refill(now);
+            long paused = pausedUntil - now;
+            long empty = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+            return Math.max(0, Math.max(paused, empty));
+        }
+
+        void take(long now) {
+            refill(now);
+            tokens -= 1;
+        }
+
+        void pauseUntil(long until) {
+            if (until - pausedUntil > 0) {
+                pausedUntil = until;
+                // Start again from a single token rather than a full burst
+                tokens = Math.min(tokens, 1);
+                updatedAt = until;
+            }
+        }
+
+        private void refill(long now) {
+            if (now - updatedAt > 0) {
+                tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+                updatedAt = now;
+            }
+        }
+    }
+}
@@ -1,15 +1,27 @@
 package com.nazri.command;
 
+import com.nazri.model.ConversionCallback;
+import com.nazri.model.ConversionQuery;
+import com.nazri.model.CurrencyMention;
 import com.nazri.model.User;
+import com.nazri.service.ConversionReplyService;
 import com.nazri.service.CurrencyService;
+import com.nazri.service.ExpressionService;
 import com.nazri.service.MessageService;
+import com.nazri.service.SymbolResolutionService;
 import com.nazri.service.TelegramBot;
 import com.nazri.model.TelegramResponse;
 import com.nazri.service.UserService;
+import com.nazri.util.ConversionCallbackCodec;
+import com.nazri.util.ConversionQueryParser;
+import com.nazri.util.CurrencyMentionDetector;
 import com.nazri.util.KeyboardUtil;
+import com.nazri.util.Messages;
+import com.nazri.util.SymbolTable;
 import com.nazri.util.Util;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 import org.telegram.telegrambots.meta.api.methods.AnswerCallbackQuery;
@@ -42,6 +54,15 @@ public class ConvertCommand implements Command {
     @Inject
     MessageService messageService;
 
+    @Inject
+    ExpressionService expressionService;
+
+    @Inject
+    SymbolResolutionService symbolResolutionService;
+
+    @Inject
+    ConversionReplyService conversionReplyService;
+
     @ConfigProperty(name = "common.amount")
     List<String> commonAmount;
 
@@ -51,12 +72,6 @@ public class ConvertCommand implements Command {
     @ConfigProperty(name = "top.input.currencies")
     List<String> inputCurrencies;
 
-    @ConfigProperty(name = "multiplier.input")
-    List<String> multiplierList;
-
-    @ConfigProperty(name = "multiplier.symbol")
-    List<String> multiplierSymbols;
-
     @Override
     public String getName() {
         return "convert";
@@ -65,8 +80,21 @@ public class ConvertCommand implements Command {
     @Override
     public void execute(Message message, String args) {
         try {
-            if (!Util.isNumeric(args)) {
-                TelegramResponse response = messageService.createResponse("convert.invalid.numeric")
+            BigDecimal inputAmount = parseAmount(args);
+            if (inputAmount == null) {
+                ConversionQuery query = ConversionQueryParser.parse(args);
+                if (query != null) {
+                    executeQuery(message, query);
+                    return;
+                }
+
+                List<CurrencyMention> mentions = CurrencyMentionDetector.detect(args);
+                if (!mentions.isEmpty()) {
+                    executeMentions(message, mentions);
+                    return;
+                }
+
+                TelegramResponse response = messageService.createResponse(Messages.CONVERT_INVALID_NUMERIC)
                         .keyboard(KeyboardUtil.createAmountKeyboard(commonAmount, getName()));
                 telegramBot.execute(response.toMessage(message.getChatId()));
                 return;
@@ -74,50 +102,119 @@ public class ConvertCommand implements Command {
 
             User user = userService.findOne(message.getChatId());
             if (user.getInputCurrency() == null) {
-                TelegramResponse response = messageService.createResponse("convert.missing.input.currency")
+                TelegramResponse response = messageService.createResponse(Messages.CONVERT_MISSING_INPUT_CURRENCY)
                         .keyboard(KeyboardUtil.createCurrencyKeyboard(inputCurrencies, "from"));
                 telegramBot.execute(response.toMessage(message.getChatId()));
                 return;
             }
 
             if (user.getOutputCurrency().isEmpty()) {
-                TelegramResponse response = messageService.createResponse("convert.missing.output.currency")
+                TelegramResponse response = messageService.createResponse(Messages.CONVERT_MISSING_OUTPUT_CURRENCY)
                         .keyboard(KeyboardUtil.createCurrencyKeyboard(outputCurrencies, "to"));
                 telegramBot.execute(response.toMessage(message.getChatId()));
                 return;
             }
 
-            BigDecimal inputAmount = BigDecimal.valueOf(Double.parseDouble(args));
-            Map<String, BigDecimal> result = currencyService.convertCurrency(inputAmount, user.getInputCurrency(), user.getOutputCurrency());
+            TelegramResponse response = conversionReplyService.getReply(inputAmount, user.getInputCurrency(),
+                    user.getOutputCurrency(), getName());
+            telegramBot.execute(response.toMessage(message.getChatId()));
+        } catch (TelegramApiException e) {
+            log.error(e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Converts a one-shot query such as "100 usd to sgd, myr".
+     * The query carries its own currencies, so the user's stored preferences are neither read nor written.
+     *
+     * @param message the originating message
+     * @param query the parsed query
+     */
+    private void executeQuery(Message message, ConversionQuery query) throws TelegramApiException {
+        log.infof("Processing one-shot query: %s", query);
+        TelegramResponse response = conversionReplyService.getReply(query.getAmount(), query.getFromCurrency(),
+                query.getToCurrencies(), null);
+        telegramBot.execute(response.toMessage(message.getChatId()));
+    }
 
-            String fromCurrency = Util.getEmojiFlag(user.getInputCurrency()) + " " + 
-                                 Util.formatMoney(inputAmount, user.getInputCurrency());
+    /**
+     * Converts every amount found in free text (e.g. a forwarded price list) into the user's output currencies.
+     *
+     * @param message the originating message
+     * @param mentions the amounts and currencies found in the message
+     */
+    private void executeMentions(Message message, List<CurrencyMention> mentions) throws TelegramApiException {
+        log.infof("Processing %d currency mentions", mentions.size());
+        User user = userService.findOne(message.getChatId());
+        if (user.getOutputCurrency().isEmpty()) {
+            TelegramResponse response = messageService.createResponse(Messages.CONVERT_MISSING_OUTPUT_CURRENCY)
+                    .keyboard(KeyboardUtil.createCurrencyKeyboard(outputCurrencies, "to"));
+            telegramBot.execute(response.toMessage(message.getChatId()));
+            return;
+        }
 
-            StringBuilder toCurrencies = new StringBuilder();
+        String languageCode = message.getFrom() != null ? message.getFrom().getLanguageCode() : null;
+        SymbolTable symbolTable = symbolResolutionService.getSymbolTable(user, languageCode);
+
+        StringBuilder conversions = new StringBuilder();
+        for (CurrencyMention mention : mentions) {
+            String mentionCurrency = symbolTable.resolve(mention);
+            Map<String, BigDecimal> result;
+            try {
+                result = currencyService.convertCurrency(mention.getAmount(), mentionCurrency, user.getOutputCurrency());
+            } catch (WebApplicationException e) {
+                // One unsupported currency should not fail the whole list
+                log.warnf("Skipping mention %s: %s", mention, e.getMessage());
+                continue;
+            }
+
+            conversions.append(Util.getEmojiFlag(mentionCurrency)).append(" ");
+            Util.appendMoney(conversions, mention.getAmount(), mentionCurrency).append("\n");
             for (String currencyCode : user.getOutputCurrency()) {
                 if (result.containsKey(currencyCode)) {
-                    toCurrencies.append(Util.getEmojiFlag(currencyCode))
-                               .append(Util.formatMoney(result.get(currencyCode), currencyCode))
-                               .append("\n");
+                    conversions.append("   ➡️ ").append(Util.getEmojiFlag(currencyCode));
+                    Util.appendMoney(conversions, result.get(currencyCode), currencyCode).append("\n");
                 }
             }
+            conversions.append("\n");
+        }
 
-            TelegramResponse response = messageService.createResponse("convert.result", 
-                fromCurrency, toCurrencies.toString())
-                    .keyboard(KeyboardUtil.createMultiplierKeyboard(inputAmount, multiplierList, multiplierSymbols, getName()));
-            telegramBot.execute(response.toMessage(message.getChatId()));
-        } catch (TelegramApiException e) {
-            log.error(e.getMessage());
-            throw new RuntimeException(e);
+        TelegramResponse response = messageService.createResponse(Messages.CONVERT_MENTIONS_RESULT, conversions.toString());
+        telegramBot.execute(response.toMessage(message.getChatId()));
+    }
+
+    /**
+     * Parses the amount typed by the user, either a plain number or an arithmetic expression.
+     *
+     * @param args the raw amount text
+     * @return the amount, or null if it is neither a number nor a valid expression
+     */
+    private BigDecimal parseAmount(String args) {
+        if (Util.isNumeric(args)) {
+            return BigDecimal.valueOf(Double.parseDouble(args));
         }
+        return expressionService.evaluate(args);
     }
 
+    /**
+     * Handles the amount and multiplier buttons. Multiplier buttons carry the whole conversion and are
+     * answered without reading the user; amount buttons only carry an amount and run like /convert.
+     */
     @Override
     public void handleCallback(CallbackQuery callbackQuery, String data) {
         AnswerCallbackQuery answerCallbackQuery = new AnswerCallbackQuery(callbackQuery.getId());
         try {
             telegramBot.execute(answerCallbackQuery);
 
+            ConversionCallback conversion = ConversionCallbackCodec.decode(data);
+            if (conversion != null) {
+                TelegramResponse response = conversionReplyService.getReply(conversion.getAmount(),
+                        conversion.getFromCurrency(), conversion.getToCurrencies(), getName());
+                telegramBot.execute(response.toMessage(callbackQuery.getMessage().getChatId()));
+                return;
+            }
+
             Message message = new Message();
             Chat chat = new Chat(callbackQuery.getMessage().getChatId(), "private");
             message.setChat(chat);
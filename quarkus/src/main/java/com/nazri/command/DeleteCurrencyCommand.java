@@ -6,6 +6,7 @@ import com.nazri.service.MessageService;
 import com.nazri.service.TelegramBot;
 import com.nazri.service.UserService;
 import com.nazri.util.KeyboardUtil;
+import com.nazri.util.Messages;
 import com.nazri.util.Util;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -54,10 +55,10 @@ public class DeleteCurrencyCommand implements Command {
             TelegramResponse response;
 
             if (user.getOutputCurrency().isEmpty()) {
-                response = messageService.createResponse("delete.currency.none")
+                response = messageService.createResponse(Messages.DELETE_CURRENCY_NONE)
                         .keyboard(KeyboardUtil.createCurrencyKeyboard(outputCurrencies, "to"));
             } else {
-                response = messageService.createResponse("delete.currency.select")
+                response = messageService.createResponse(Messages.DELETE_CURRENCY_SELECT)
                         .keyboard(KeyboardUtil.createCurrencyKeyboard(user.getOutputCurrency(), getName()));
             }
 
@@ -74,7 +75,7 @@ public class DeleteCurrencyCommand implements Command {
         try {
             telegramBot.execute(answerCallbackQuery);
 
-            TelegramResponse response = messageService.createResponse("delete.currency.success",
+            TelegramResponse response = messageService.createResponse(Messages.DELETE_CURRENCY_SUCCESS,
                     Util.getEmojiFlag(data), data);
 
             User user = userService.findOne(callbackQuery.getMessage().getChatId());
@@ -6,7 +6,9 @@ import com.nazri.service.CurrencyService;
 import com.nazri.service.MessageService;
 import com.nazri.service.TelegramBot;
 import com.nazri.service.UserService;
+import com.nazri.util.CurrencyCompletions;
 import com.nazri.util.KeyboardUtil;
+import com.nazri.util.Messages;
 import com.nazri.util.Util;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -57,17 +59,17 @@ public class FromCurrencyCommand implements Command {
             TelegramResponse response;
             String currencyCode = currencyService.getCurrencyCode(args);
             if (args == null || args.isEmpty()) {
-                response = messageService.createResponse("from.currency.empty")
+                response = messageService.createResponse(Messages.FROM_CURRENCY_EMPTY)
                         .keyboard(KeyboardUtil.createCurrencyKeyboard(inputCurrencies, getName()));
             } else if (currencyCode == null) {
-                response = messageService.createResponse("from.currency.invalid")
-                        .keyboard(KeyboardUtil.createCurrencyKeyboard(inputCurrencies, getName()));
+                response = messageService.createResponse(Messages.FROM_CURRENCY_INVALID)
+                        .keyboard(KeyboardUtil.createCurrencyKeyboard(suggestions(args), getName()));
             } else {
                 User user = userService.findOne(message.getChatId());
                 user.setInputCurrency(currencyCode);
                 userService.update(user);
 
-                response = messageService.createResponse("from.currency.set",
+                response = messageService.createResponse(Messages.FROM_CURRENCY_SET,
                         Util.getEmojiFlag(currencyCode), currencyCode);
             }
 
@@ -78,6 +80,14 @@ public class FromCurrencyCommand implements Command {
         }
     }
 
+    /**
+     * Currencies matching what the user typed, e.g. "mal", or the common ones if none match.
+     */
+    private List<String> suggestions(String args) {
+        List<String> completions = CurrencyCompletions.complete(args);
+        return completions.isEmpty() ? inputCurrencies : completions;
+    }
+
     @Override
     public void handleCallback(CallbackQuery callbackQuery, String data) {
         AnswerCallbackQuery answerCallbackQuery = new AnswerCallbackQuery(callbackQuery.getId());
@@ -6,6 +6,7 @@ import com.nazri.service.MessageService;
 import com.nazri.service.TelegramBot;
 import com.nazri.service.UserService;
 import com.nazri.util.KeyboardUtil;
+import com.nazri.util.Messages;
 import com.nazri.util.Util;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -52,18 +53,18 @@ public class GetCurrenciesCommand implements Command {
             TelegramResponse response;
 
             if (user.getInputCurrency() == null && user.getOutputCurrency().isEmpty()) {
-                response = messageService.createResponse("getcurrencies.empty");
+                response = messageService.createResponse(Messages.GETCURRENCIES_EMPTY);
             } else if (user.getInputCurrency() == null) {
                 String outputList = formatOutputCurrencies(user.getOutputCurrency());
-                response = messageService.createResponse("getcurrencies.no.input", outputList)
+                response = messageService.createResponse(Messages.GETCURRENCIES_NO_INPUT, outputList)
                         .keyboard(KeyboardUtil.createCurrencyKeyboard(inputCurrencies, "from"));
             } else if (user.getOutputCurrency().isEmpty()) {
-                response = messageService.createResponse("getcurrencies.no.output",
+                response = messageService.createResponse(Messages.GETCURRENCIES_NO_OUTPUT,
                                 Util.getEmojiFlag(user.getInputCurrency()), user.getInputCurrency())
                         .keyboard(KeyboardUtil.createCurrencyKeyboard(outputCurrencies, "to"));
             } else {
                 String outputList = formatOutputCurrencies(user.getOutputCurrency());
-                response = messageService.createResponse("getcurrencies.complete",
+                response = messageService.createResponse(Messages.GETCURRENCIES_COMPLETE,
                         Util.getEmojiFlag(user.getInputCurrency()), user.getInputCurrency(), outputList);
             }
 
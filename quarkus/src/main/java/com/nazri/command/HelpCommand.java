@@ -3,6 +3,7 @@ package com.nazri.command;
 import com.nazri.service.MessageService;
 import com.nazri.service.TelegramBot;
 import com.nazri.model.TelegramResponse;
+import com.nazri.util.Messages;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.telegram.telegrambots.meta.api.objects.Message;
@@ -25,7 +26,7 @@ public class HelpCommand implements Command {
     @Override
     public void execute(Message message, String args) {
         try {
-            TelegramResponse response = messageService.createResponse("help.content");
+            TelegramResponse response = messageService.createResponse(Messages.HELP_CONTENT);
             telegramBot.execute(response.toMessage(message.getChatId()));
         } catch (TelegramApiException e) {
             throw new RuntimeException(e);
@@ -4,6 +4,7 @@ import com.nazri.service.MessageService;
 import com.nazri.service.TelegramBot;
 import com.nazri.model.TelegramResponse;
 import com.nazri.service.UserService;
+import com.nazri.util.Messages;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.telegram.telegrambots.meta.api.objects.Message;
@@ -28,7 +29,7 @@ public class StartCommand implements Command {
 
     @Override
     public void execute(Message message, String args) {
-        TelegramResponse response = messageService.createResponse("start.welcome");
+        TelegramResponse response = messageService.createResponse(Messages.START_WELCOME);
 
         if (userService.findOne(message.getChatId()) == null) {
             userService.create(message.getChat());
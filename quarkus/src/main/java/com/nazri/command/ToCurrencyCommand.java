@@ -6,7 +6,9 @@ import com.nazri.service.CurrencyService;
 import com.nazri.service.MessageService;
 import com.nazri.service.TelegramBot;
 import com.nazri.service.UserService;
+import com.nazri.util.CurrencyCompletions;
 import com.nazri.util.KeyboardUtil;
+import com.nazri.util.Messages;
 import com.nazri.util.Util;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -58,23 +60,23 @@ public class ToCurrencyCommand implements Command {
             TelegramResponse response;
             String currencyCode = currencyService.getCurrencyCode(args);
             if (args == null || args.isEmpty()) {
-                response = messageService.createResponse("to.currency.empty")
+                response = messageService.createResponse(Messages.TO_CURRENCY_EMPTY)
                         .keyboard(KeyboardUtil.createCurrencyKeyboard(outputCurrencies, getName()));
             }else if (currencyCode == null) {
-                response = messageService.createResponse("to.currency.invalid")
-                        .keyboard(KeyboardUtil.createCurrencyKeyboard(outputCurrencies, getName()));
+                response = messageService.createResponse(Messages.TO_CURRENCY_INVALID)
+                        .keyboard(KeyboardUtil.createCurrencyKeyboard(suggestions(args), getName()));
             } else {
                 User user = userService.findOne(message.getChatId());
 
                 if (user.getOutputCurrency().size() >= 3) {
-                    response = messageService.createResponse("to.currency.limit")
+                    response = messageService.createResponse(Messages.TO_CURRENCY_LIMIT)
                             .keyboard(KeyboardUtil.createCurrencyKeyboard(user.getOutputCurrency(), "deletecurrency"));
                 } else {
                     user.getOutputCurrency().add(currencyCode);
                     userService.update(user);
 
                     String outputCurrenciesList = buildOutputCurrenciesList(user.getOutputCurrency());
-                    response = messageService.createResponse("to.currency.set",
+                    response = messageService.createResponse(Messages.TO_CURRENCY_SET,
                             Util.getEmojiFlag(currencyCode), currencyCode, outputCurrenciesList);
                 }
             }
@@ -96,6 +98,14 @@ public class ToCurrencyCommand implements Command {
         return builder.toString();
     }
 
+    /**
+     * Currencies matching what the user typed, e.g. "mal", or the common ones if none match.
+     */
+    private List<String> suggestions(String args) {
+        List<String> completions = CurrencyCompletions.complete(args);
+        return completions.isEmpty() ? outputCurrencies : completions;
+    }
+
     @Override
     public void handleCallback(CallbackQuery callbackQuery, String data) {
         AnswerCallbackQuery answerCallbackQuery = new AnswerCallbackQuery(callbackQuery.getId());
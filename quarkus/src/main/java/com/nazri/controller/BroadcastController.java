@@ -0,0 +1,65 @@
+package com.nazri.controller;
+
+import com.nazri.model.BroadcastResult;
+import com.nazri.service.BroadcastFailedException;
+import com.nazri.service.BroadcastService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Optional;
+
+/**
+ * Starts or resumes a broadcast to every user. Each request runs the broadcast for at most
+ * {@code broadcast.time-budget}; repeat it until the result is complete.
+ */
+@ApplicationScoped
+@Path("/api/broadcast")
+public class BroadcastController {
+
+    private static final Logger log = Logger.getLogger(BroadcastController.class);
+
+    static final String TOKEN_HEADER = "X-Broadcast-Token";
+
+    @Inject
+    BroadcastService broadcastService;
+
+    /** Broadcasting is disabled unless a token is set */
+    @ConfigProperty(name = "broadcast.token")
+    Optional<String> token;
+
+    @POST
+    @Path("/{id}")
+    @Consumes(MediaType.TEXT_PLAIN)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response broadcast(@PathParam("id") String id, String text, @HeaderParam(TOKEN_HEADER) String requestToken) {
+        if (token.isEmpty()) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        if (requestToken == null || !MessageDigest.isEqual(
+                token.get().getBytes(StandardCharsets.UTF_8), requestToken.getBytes(StandardCharsets.UTF_8))) {
+            log.warnf("broadcast rejected id=%s reason=token", id);
+            return Response.status(Response.Status.UNAUTHORIZED).build();
+        }
+        if (text == null || text.isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("Empty broadcast").build();
+        }
+
+        try {
+            BroadcastResult result = broadcastService.broadcast(id, text);
+            return Response.ok(result).build();
+        } catch (IllegalStateException e) {
+            log.warnf("broadcast id=%s not run: %s", id, e.getMessage());
+            return Response.status(Response.Status.CONFLICT).entity(e.getMessage()).build();
+        } catch (BroadcastFailedException e) {
+            log.errorf(e, "broadcast id=%s failed", id);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(e.getMessage()).build();
+        }
+    }
+}
@@ -1,21 +1,37 @@
 package com.nazri.controller;
 
-import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.nazri.service.CurrencyService;
 import com.nazri.service.TelegramBot;
+import com.nazri.service.UpdateDeduplicator;
+import com.nazri.service.UpdateExecutor;
+import com.nazri.util.TelegramJsonWriter;
+import com.nazri.util.UpdateDecoder;
+import com.nazri.util.UpdatePeeker;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
-import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
 import org.telegram.telegrambots.meta.api.objects.Update;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 @ApplicationScoped
 @Path("/api/telegram")
@@ -23,25 +39,129 @@ public class WebhookController {
 
     private static final Logger log = Logger.getLogger(WebhookController.class);
 
+    /** Sent by Telegram with the secret_token given to setWebhook */
+    static final String SECRET_TOKEN_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+
+    /** Update types the bot acts on; others are acknowledged without being read */
+    static final Set<String> HANDLED_TYPES = Set.of("message", "callback_query", "inline_query");
+
+    /** Binds every field of the update, used with the "library" decoder */
+    private static final ObjectReader UPDATE_READER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(Update.class);
+
     @Inject
     CurrencyService currencyService;
 
     @Inject
     TelegramBot telegramBot;
 
+    @Inject
+    UpdateDeduplicator updateDeduplicator;
+
+    @Inject
+    UpdateExecutor updateExecutor;
+
+    @ConfigProperty(name = "telegram.webhook.secret-token")
+    Optional<String> secretToken;
+
+    /**
+     * "slim" reads only the fields the bot uses with {@link UpdateDecoder}; "library" binds the
+     * full Bot API object model by reflection.
+     */
+    @ConfigProperty(name = "telegram.webhook.decoder", defaultValue = "slim")
+    String decoder;
+
+    /** Every how many requests the webhook counters are logged */
+    @ConfigProperty(name = "telegram.webhook.log-every", defaultValue = "100")
+    int logEvery;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong ignored = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
 
     @POST
     @Path("/webhook")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public Response updates(Update update, @Context APIGatewayV2HTTPEvent event) {
-        log.info("APIGatewayV2HTTPEvent: " + event.toString());
-        telegramBot.onWebhookUpdateReceived(update);
+    public Response updates(byte[] body, @HeaderParam(SECRET_TOKEN_HEADER) String token) {
+        long count = received.incrementAndGet();
+        if (logEvery > 0 && count % logEvery == 0) {
+            log.infof("webhook received=%d ignored=%d rejected=%d duplicates=%d", count, ignored.get(), rejected.get(),
+                    updateDeduplicator.getDuplicates());
+        }
+
+        if (!isAuthorized(token)) {
+            rejected.incrementAndGet();
+            log.warnf("webhook rejected reason=secret_token bytes=%d", body.length);
+            return Response.status(Response.Status.UNAUTHORIZED).build();
+        }
+
+        String type = UpdatePeeker.type(body);
+        log.debugf("webhook type=%s bytes=%d", type, body.length);
+        if (type != null && !HANDLED_TYPES.contains(type)) {
+            ignored.incrementAndGet();
+            return Response.ok().entity("Update ignored").build();
+        }
+
+        Update update;
+        try {
+            update = "library".equals(decoder) ? UPDATE_READER.readValue(body) : UpdateDecoder.decode(body);
+        } catch (IOException e) {
+            rejected.incrementAndGet();
+            log.warnf("webhook rejected reason=malformed bytes=%d error=%s", body.length, e.getMessage());
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+        return process(update);
+    }
+
+    private Response process(Update update) {
+        if (updateExecutor.isEnabled()) {
+            // Processed in the background, duplicates are dropped there
+            if (!updateExecutor.submit(update)) {
+                // Telegram delivers the update again later
+                return Response.status(Response.Status.SERVICE_UNAVAILABLE).build();
+            }
+            return Response.ok().entity("Update queued").build();
+        }
+        if (updateDeduplicator.isDuplicate(update)) {
+            // Acknowledged so Telegram stops redelivering it
+            return Response.ok().entity("Duplicate update ignored").build();
+        }
+        BotApiMethod<?> reply = telegramBot.onWebhookUpdateReceived(update);
+        if (reply != null) {
+            try {
+                // Telegram executes a method returned as the webhook response
+                return Response.ok(TelegramJsonWriter.toJson(reply), MediaType.APPLICATION_JSON).build();
+            } catch (JsonProcessingException e) {
+                log.error("Failed to serialize webhook reply, sending it instead", e);
+                send(reply);
+            }
+        }
         return Response.ok()
                 .entity("Update processed successfully")
                 .build();
     }
 
+    /**
+     * Whether the request carries the configured secret token; any request does if none is set.
+     */
+    private boolean isAuthorized(String token) {
+        if (secretToken.isEmpty()) {
+            return true;
+        }
+        return token != null && MessageDigest.isEqual(
+                secretToken.get().getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void send(BotApiMethod<?> method) {
+        try {
+            telegramBot.execute(method);
+        } catch (TelegramApiException e) {
+            log.error("Failed to send webhook reply", e);
+        }
+    }
+
 //    @GET
 //    @Path("/health")
 //    public String healthCheck() {
@@ -0,0 +1,98 @@
+package com.nazri.model;
+
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
+
+/**
+ * How far a broadcast got through one segment of the user table, so a later run resumes there.
+ */
+@DynamoDbBean
+public class BroadcastCheckpoint {
+
+    //Partition Key: broadcastId, Sort Key: segment
+    private String broadcastId;
+    private int segment;
+    private Long lastChatId;
+    private boolean done;
+    private long delivered;
+    private long failed;
+    private long updatedAt;
+
+    @DynamoDbPartitionKey
+    public String getBroadcastId() {
+        return broadcastId;
+    }
+
+    public void setBroadcastId(String broadcastId) {
+        this.broadcastId = broadcastId;
+    }
+
+    @DynamoDbSortKey
+    public int getSegment() {
+        return segment;
+    }
+
+    public void setSegment(int segment) {
+        this.segment = segment;
+    }
+
+    /**
+     * @return The last chat sent to in the segment, null if the segment was not started
+     */
+    public Long getLastChatId() {
+        return lastChatId;
+    }
+
+    public void setLastChatId(Long lastChatId) {
+        this.lastChatId = lastChatId;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    public void setDelivered(long delivered) {
+        this.delivered = delivered;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    /**
+     * @return Epoch milliseconds of the last save
+     */
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "BroadcastCheckpoint{" +
+                "broadcastId='" + broadcastId + '\'' +
+                ", segment=" + segment +
+                ", lastChatId=" + lastChatId +
+                ", done=" + done +
+                ", delivered=" + delivered +
+                ", failed=" + failed +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
@@ -0,0 +1,47 @@
+package com.nazri.model;
+
+/**
+ * Progress of a broadcast over all its runs so far.
+ */
+public class BroadcastResult {
+    private final String broadcastId;
+    private final long delivered;
+    private final long failed;
+    private final boolean complete;
+
+    public BroadcastResult(String broadcastId, long delivered, long failed, boolean complete) {
+        this.broadcastId = broadcastId;
+        this.delivered = delivered;
+        this.failed = failed;
+        this.complete = complete;
+    }
+
+    public String getBroadcastId() {
+        return broadcastId;
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return Whether every user was sent to; otherwise running the broadcast again resumes it
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public String toString() {
+        return "BroadcastResult{" +
+                "broadcastId='" + broadcastId + '\'' +
+                ", delivered=" + delivered +
+                ", failed=" + failed +
+                ", complete=" + complete +
+                '}';
+    }
+}
@@ -0,0 +1,41 @@
+package com.nazri.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A conversion carried in a button's callback data, e.g. a multiplier button under a result.
+ * It holds everything needed to answer the button, so no stored preferences are read.
+ */
+public class ConversionCallback {
+    private final BigDecimal amount;
+    private final String fromCurrency;
+    private final List<String> toCurrencies;
+
+    public ConversionCallback(BigDecimal amount, String fromCurrency, List<String> toCurrencies) {
+        this.amount = amount;
+        this.fromCurrency = fromCurrency;
+        this.toCurrencies = List.copyOf(toCurrencies);
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getFromCurrency() {
+        return fromCurrency;
+    }
+
+    public List<String> getToCurrencies() {
+        return toCurrencies;
+    }
+
+    @Override
+    public String toString() {
+        return "ConversionCallback{" +
+                "amount=" + amount +
+                ", fromCurrency='" + fromCurrency + '\'' +
+                ", toCurrencies=" + toCurrencies +
+                '}';
+    }
+}
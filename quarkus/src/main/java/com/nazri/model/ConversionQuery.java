@@ -0,0 +1,41 @@
+package com.nazri.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A one-shot conversion request parsed from free text, e.g. "100 usd to sgd, myr".
+ * Carries its own currencies so it can be served without the user's stored preferences.
+ */
+public class ConversionQuery {
+    private final BigDecimal amount;
+    private final String fromCurrency;
+    private final List<String> toCurrencies;
+
+    public ConversionQuery(BigDecimal amount, String fromCurrency, List<String> toCurrencies) {
+        this.amount = amount;
+        this.fromCurrency = fromCurrency;
+        this.toCurrencies = List.copyOf(toCurrencies);
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getFromCurrency() {
+        return fromCurrency;
+    }
+
+    public List<String> getToCurrencies() {
+        return toCurrencies;
+    }
+
+    @Override
+    public String toString() {
+        return "ConversionQuery{" +
+                "amount=" + amount +
+                ", fromCurrency='" + fromCurrency + '\'' +
+                ", toCurrencies=" + toCurrencies +
+                '}';
+    }
+}
@@ -0,0 +1,48 @@
+package com.nazri.model;
+
+import java.math.BigDecimal;
+
+/**
+ * An amount and its currency found in free text, e.g. "$120" or "350 baht".
+ *
+ * When the currency was written as an ambiguous symbol such as "$" or "¥",
+ * {@code symbolId} identifies the symbol and {@code currencyCode} holds its default resolution.
+ */
+public class CurrencyMention {
+    public static final int UNAMBIGUOUS = -1;
+
+    private final BigDecimal amount;
+    private final String currencyCode;
+    private final int symbolId;
+
+    public CurrencyMention(BigDecimal amount, String currencyCode, int symbolId) {
+        this.amount = amount;
+        this.currencyCode = currencyCode;
+        this.symbolId = symbolId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public int getSymbolId() {
+        return symbolId;
+    }
+
+    public boolean isAmbiguous() {
+        return symbolId != UNAMBIGUOUS;
+    }
+
+    @Override
+    public String toString() {
+        return "CurrencyMention{" +
+                "amount=" + amount +
+                ", currencyCode='" + currencyCode + '\'' +
+                ", symbolId=" + symbolId +
+                '}';
+    }
+}
@@ -0,0 +1,53 @@
+package com.nazri.model;
+
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+/**
+ * A named lease held by one instance until it expires, e.g. the right to poll for updates.
+ */
+@DynamoDbBean
+public class Lease {
+
+    //Partition Key: name
+    private String name;
+    private String owner;
+    private long expiresAt;
+
+    @DynamoDbPartitionKey
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * @return Epoch milliseconds after which another owner may take the lease
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Lease{" +
+                "name='" + name + '\'' +
+                ", owner='" + owner + '\'' +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
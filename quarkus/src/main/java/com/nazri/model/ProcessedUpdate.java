@@ -0,0 +1,43 @@
+package com.nazri.model;
+
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+/**
+ * Marks a Telegram update as received, so a redelivery of it can be recognised.
+ */
+@DynamoDbBean
+public class ProcessedUpdate {
+
+    //Partition Key: updateId
+    private int updateId;
+    private long expiresAt;
+
+    @DynamoDbPartitionKey
+    public int getUpdateId() {
+        return updateId;
+    }
+
+    public void setUpdateId(int updateId) {
+        this.updateId = updateId;
+    }
+
+    /**
+     * @return Epoch seconds after which DynamoDB may delete the item (the table's TTL attribute)
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessedUpdate{" +
+                "updateId=" + updateId +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,62 @@
+package com.nazri.repository;
+
+import com.nazri.model.BroadcastCheckpoint;
+import com.nazri.util.Constant;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+
+/**
+ * Stores broadcast progress, one item per broadcast and scan segment.
+ */
+@ApplicationScoped
+public class BroadcastCheckpointRepository {
+
+    private static final Logger log = Logger.getLogger(BroadcastCheckpointRepository.class);
+
+    private final DynamoDbTable<BroadcastCheckpoint> checkpointDynamoDbTable;
+
+    public BroadcastCheckpointRepository(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
+        try {
+            this.checkpointDynamoDbTable = dynamoDbEnhancedClient.table(Constant.BROADCAST_TABLE,
+                    TableSchema.fromBean(BroadcastCheckpoint.class));
+        } catch (Exception e) {
+            log.error("Error configuring DynamoDB broadcast table: " + e.getMessage(), e);
+            throw new RuntimeException("DynamoDB broadcast table setup failed", e);
+        }
+    }
+
+    /**
+     * @return The segment's checkpoint, null if the broadcast never ran over it
+     */
+    public BroadcastCheckpoint findOne(String broadcastId, int segment) {
+        try {
+            return checkpointDynamoDbTable.getItem(GetItemEnhancedRequest.builder()
+                    .key(Key.builder().partitionValue(broadcastId).sortValue(segment).build())
+                    .consistentRead(true)
+                    .build());
+        } catch (DynamoDbException e) {
+            log.errorf("Error finding checkpoint of broadcast %s segment %d - %s", broadcastId, segment, e.getMessage());
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    public void save(BroadcastCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(System.currentTimeMillis());
+        try {
+            checkpointDynamoDbTable.putItem(PutItemEnhancedRequest.builder(BroadcastCheckpoint.class)
+                    .item(checkpoint)
+                    .build());
+        } catch (DynamoDbException e) {
+            log.errorf("Failed to save checkpoint of broadcast %s segment %d - %s",
+                    checkpoint.getBroadcastId(), checkpoint.getSegment(), e.getMessage());
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.nazri.repository;
+
+import com.nazri.model.Lease;
+import com.nazri.util.Constant;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+
+import java.time.Duration;
+
+/**
+ * Leases backed by conditional writes, so at most one instance holds a lease at a time.
+ */
+@ApplicationScoped
+public class LeaseRepository {
+
+    private static final Logger log = Logger.getLogger(LeaseRepository.class);
+
+    private final DynamoDbTable<Lease> leaseDynamoDbTable;
+
+    public LeaseRepository(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
+        try {
+            this.leaseDynamoDbTable = dynamoDbEnhancedClient.table(Constant.LEASE_TABLE, TableSchema.fromBean(Lease.class));
+        } catch (Exception e) {
+            log.error("Error configuring DynamoDB lease table: " + e.getMessage(), e);
+            throw new RuntimeException("DynamoDB lease table setup failed", e);
+        }
+    }
+
+    /**
+     * Takes the lease if it is free or expired, or extends it if the owner already holds it.
+     *
+     * @param name The lease name
+     * @param owner The instance taking the lease
+     * @param duration How long the lease is held unless extended
+     * @return Whether the owner holds the lease now
+     */
+    public boolean acquire(String name, String owner, Duration duration) {
+        long now = System.currentTimeMillis();
+        Lease lease = new Lease();
+        lease.setName(name);
+        lease.setOwner(owner);
+        lease.setExpiresAt(now + duration.toMillis());
+
+        Expression condition = Expression.builder()
+                .expression("attribute_not_exists(#name) OR #owner = :owner OR #expiresAt < :now")
+                .putExpressionName("#name", "name")
+                .putExpressionName("#owner", "owner")
+                .putExpressionName("#expiresAt", "expiresAt")
+                .putExpressionValue(":owner", AttributeValue.fromS(owner))
+                .putExpressionValue(":now", AttributeValue.fromN(Long.toString(now)))
+                .build();
+        try {
+            leaseDynamoDbTable.putItem(PutItemEnhancedRequest.builder(Lease.class)
+                    .item(lease)
+                    .conditionExpression(condition)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            log.debugf("Lease %s is held by another instance", name);
+            return false;
+        } catch (DynamoDbException e) {
+            log.errorf("Failed to acquire lease %s - %s", name, e.getMessage());
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    /**
+     * Gives the lease up, if the owner still holds it.
+     *
+     * @param name The lease name
+     * @param owner The instance holding the lease
+     */
+    public void release(String name, String owner) {
+        Expression condition = Expression.builder()
+                .expression("#owner = :owner")
+                .putExpressionName("#owner", "owner")
+                .putExpressionValue(":owner", AttributeValue.fromS(owner))
+                .build();
+        try {
+            leaseDynamoDbTable.deleteItem(DeleteItemEnhancedRequest.builder()
+                    .key(Key.builder().partitionValue(name).build())
+                    .conditionExpression(condition)
+                    .build());
+        } catch (ConditionalCheckFailedException e) {
+            log.debugf("Lease %s was already taken over", name);
+        } catch (DynamoDbException e) {
+            log.errorf("Failed to release lease %s - %s", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.nazri.repository;
+
+import com.nazri.model.ProcessedUpdate;
+import com.nazri.util.Constant;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+
+import java.time.Duration;
+
+/**
+ * Records received update ids with a conditional write, so that every Lambda instance agrees on
+ * which delivery of an update came first.
+ */
+@ApplicationScoped
+public class ProcessedUpdateRepository {
+
+    private static final Logger log = Logger.getLogger(ProcessedUpdateRepository.class);
+
+    private final DynamoDbTable<ProcessedUpdate> updateDynamoDbTable;
+
+    public ProcessedUpdateRepository(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
+        try {
+            this.updateDynamoDbTable = dynamoDbEnhancedClient.table(Constant.UPDATE_TABLE,
+                    TableSchema.fromBean(ProcessedUpdate.class));
+        } catch (Exception e) {
+            log.error("Error configuring DynamoDB update table: " + e.getMessage(), e);
+            throw new RuntimeException("DynamoDB update table setup failed", e);
+        }
+    }
+
+    /**
+     * Records an update unless it was recorded before.
+     *
+     * @param updateId The update id
+     * @param retention How long the record is kept, after which DynamoDB's TTL deletes it
+     * @return true for the first delivery, false if the update was already recorded
+     */
+    public boolean markReceived(int updateId, Duration retention) {
+        ProcessedUpdate update = new ProcessedUpdate();
+        update.setUpdateId(updateId);
+        update.setExpiresAt(System.currentTimeMillis() / 1000 + retention.toSeconds());
+        try {
+            updateDynamoDbTable.putItem(PutItemEnhancedRequest.builder(ProcessedUpdate.class)
+                    .item(update)
+                    .conditionExpression(Expression.builder()
+                            .expression("attribute_not_exists(updateId)")
+                            .build())
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        } catch (DynamoDbException e) {
+            log.errorf("Failed to record update %d - %s", updateId, e.getMessage());
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+}
@@ -9,7 +9,11 @@ import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.*;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+
+import java.util.Map;
 
 @ApplicationScoped
 public class UserRepository {
@@ -89,4 +93,33 @@ public class UserRepository {
             throw new IllegalArgumentException("Error updating user: " + e.getMessage());
         }
     }
+
+    /**
+     * Reads one page of one segment of a parallel scan, with only the chat id of each user.
+     *
+     * @param segment The segment to read, from 0
+     * @param totalSegments How many segments the table is split into
+     * @param afterChatId The chat the previous page ended at, null to start the segment
+     * @param limit The most users to read
+     * @return The page, with the read capacity it consumed; its last evaluated key is null once
+     * the segment is read to the end
+     */
+    public Page<User> scanSegment(int segment, int totalSegments, Long afterChatId, int limit) {
+        log.debugf("Scanning users segment %d/%d after chatId: %s", segment, totalSegments, afterChatId);
+        try {
+            ScanEnhancedRequest.Builder request = ScanEnhancedRequest.builder()
+                    .segment(segment)
+                    .totalSegments(totalSegments)
+                    .limit(limit)
+                    .attributesToProject("chatId")
+                    .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+            if (afterChatId != null) {
+                request.exclusiveStartKey(Map.of("chatId", AttributeValue.fromN(String.valueOf(afterChatId))));
+            }
+            return userDynamoDbTable.scan(request.build()).iterator().next();
+        } catch (DynamoDbException e) {
+            log.errorf("Failed to scan users segment %d/%d - %s", segment, totalSegments, e.getMessage());
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,15 @@
+package com.nazri.service;
+
+/**
+ * Thrown when a broadcast run fails part way, e.g. because a segment could not read the user
+ * table or save its checkpoint. Sends made before the failure are kept in the checkpoints, so the
+ * broadcast can be run again.
+ */
+public class BroadcastFailedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BroadcastFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,312 @@
+package com.nazri.service;
+
+import com.nazri.client.TelegramApiClient;
+import com.nazri.client.TelegramApiRateLimitException;
+import com.nazri.client.TelegramRateLimiter;
+import com.nazri.model.BroadcastCheckpoint;
+import com.nazri.model.BroadcastResult;
+import com.nazri.model.User;
+import com.nazri.repository.BroadcastCheckpointRepository;
+import com.nazri.repository.LeaseRepository;
+import com.nazri.repository.UserRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends an announcement to every user in the user table.
+ *
+ * The table is read by a parallel scan: each of {@code broadcast.segments} segments is read a page
+ * at a time on its own thread, with the pages of all segments spaced out to stay under
+ * {@code broadcast.read-units-per-second} on average. Messages go through
+ * {@link TelegramRateLimiter} as {@link TelegramRateLimiter.Priority#BULK}, behind replies to
+ * users, and only while the outbound queue has more than {@code broadcast.queue-headroom} free
+ * places, so a broadcast never fills the queue replies need.
+ *
+ * A run stops starting sends once {@code broadcast.time-budget} has passed and waits at most
+ * {@code broadcast.drain-timeout} more for the sends in flight, so that budget, drain and the
+ * checkpoint writes fit in the 15 second Lambda timeout. After each page, and when stopping,
+ * every segment saves a checkpoint with the last chat whose send finished, along with its
+ * delivered and failed counts; running the same broadcast again resumes from there. Chats after
+ * a send still in flight at the drain timeout, or in a page cut short by a crash, may be sent to
+ * again on resume.
+ */
+@ApplicationScoped
+public class BroadcastService {
+
+    private static final Logger log = Logger.getLogger(BroadcastService.class);
+
+    private static final String LEASE_PREFIX = "broadcast-";
+    /** Attempts per message when the outbound queue is full or Telegram keeps answering 429 */
+    private static final int MAX_ATTEMPTS = 3;
+    /** Charged for a page whose consumed capacity is unknown: one eventually consistent read */
+    private static final double MIN_PAGE_UNITS = 0.5;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    BroadcastCheckpointRepository checkpointRepository;
+
+    @Inject
+    LeaseRepository leaseRepository;
+
+    @Inject
+    TelegramApiClient telegramApiClient;
+
+    @Inject
+    TelegramRateLimiter rateLimiter;
+
+    @ConfigProperty(name = "broadcast.segments", defaultValue = "4")
+    int segments;
+
+    @ConfigProperty(name = "broadcast.page-size", defaultValue = "25")
+    int pageSize;
+
+    @ConfigProperty(name = "broadcast.read-units-per-second", defaultValue = "5")
+    double readUnitsPerSecond;
+
+    @ConfigProperty(name = "broadcast.queue-headroom", defaultValue = "100")
+    int queueHeadroom;
+
+    @ConfigProperty(name = "broadcast.time-budget", defaultValue = "PT8S")
+    Duration timeBudget;
+
+    /** How long past the time budget the sends in flight are waited for */
+    @ConfigProperty(name = "broadcast.drain-timeout", defaultValue = "PT3S")
+    Duration drainTimeout;
+
+    /** How often a segment checks for room in the outbound queue while it is full */
+    @ConfigProperty(name = "broadcast.capacity-poll", defaultValue = "PT0.1S")
+    Duration capacityPoll;
+
+    final String instanceId = UUID.randomUUID().toString();
+
+    /**
+     * Sends the text to every user not sent to by an earlier run of the same broadcast, until all
+     * were sent to or the time budget runs out.
+     *
+     * @param broadcastId Identifies the broadcast across runs
+     * @param text The message
+     * @return The counts over all runs, and whether the broadcast is complete
+     * @throws IllegalStateException if the broadcast is running elsewhere
+     * @throws BroadcastFailedException if a segment failed
+     */
+    public BroadcastResult broadcast(String broadcastId, String text) {
+        String lease = LEASE_PREFIX + broadcastId;
+        // Held past the budget and drain for the checkpoint writes
+        if (!leaseRepository.acquire(lease, instanceId, timeBudget.plus(drainTimeout).multipliedBy(2))) {
+            throw new IllegalStateException("Broadcast " + broadcastId + " is already running");
+        }
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        ScanPacer pacer = new ScanPacer(readUnitsPerSecond);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(segments, runnable -> {
+            Thread thread = new Thread(runnable, "broadcast-segment-" + threads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<BroadcastCheckpoint>> runs = new ArrayList<>();
+            for (int segment = 0; segment < segments; segment++) {
+                int current = segment;
+                runs.add(executor.submit(() -> runSegment(broadcastId, text, current, pacer, deadline)));
+            }
+
+            long delivered = 0;
+            long failed = 0;
+            boolean complete = true;
+            for (Future<BroadcastCheckpoint> run : runs) {
+                BroadcastCheckpoint checkpoint;
+                try {
+                    checkpoint = run.get();
+                } catch (ExecutionException e) {
+                    throw new BroadcastFailedException("Broadcast " + broadcastId + " failed", e.getCause());
+                }
+                delivered += checkpoint.getDelivered();
+                failed += checkpoint.getFailed();
+                complete &= checkpoint.isDone();
+            }
+            BroadcastResult result = new BroadcastResult(broadcastId, delivered, failed, complete);
+            log.infof("broadcast id=%s delivered=%d failed=%d complete=%s", broadcastId, delivered, failed, complete);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BroadcastFailedException("Interrupted while broadcasting " + broadcastId, e);
+        } finally {
+            executor.shutdownNow();
+            leaseRepository.release(lease, instanceId);
+        }
+    }
+
+    /**
+     * Sends to the segment's users a page at a time from its checkpoint, saving it after each page.
+     *
+     * @return The segment's checkpoint when it stopped
+     */
+    BroadcastCheckpoint runSegment(String broadcastId, String text, int segment, ScanPacer pacer, long deadline)
+            throws InterruptedException {
+        BroadcastCheckpoint checkpoint = checkpointRepository.findOne(broadcastId, segment);
+        if (checkpoint == null) {
+            checkpoint = new BroadcastCheckpoint();
+            checkpoint.setBroadcastId(broadcastId);
+            checkpoint.setSegment(segment);
+        }
+
+        while (!checkpoint.isDone() && !expired(deadline)) {
+            pacer.await();
+            Page<User> page = userRepository.scanSegment(segment, segments, checkpoint.getLastChatId(), pageSize);
+            pacer.consumed(page.consumedCapacity() != null && page.consumedCapacity().capacityUnits() != null
+                    ? page.consumedCapacity().capacityUnits() : MIN_PAGE_UNITS);
+
+            List<CompletableFuture<Boolean>> sends = new ArrayList<>();
+            List<Long> sentChatIds = new ArrayList<>();
+            Long lastChatId = checkpoint.getLastChatId();
+            boolean wholePage = false;
+            try {
+                for (User user : page.items()) {
+                    if (!awaitCapacity(deadline)) {
+                        break;
+                    }
+                    sends.add(send(new SendMessage(String.valueOf(user.getChatId()), text), 1));
+                    sentChatIds.add(user.getChatId());
+                }
+                wholePage = sends.size() == page.items().size();
+            } finally {
+                // Sends already queued are counted up to the first one still in flight at the drain
+                // timeout; the checkpoint can only move past chats in order
+                long drainDeadline = deadline + drainTimeout.toNanos();
+                for (int i = 0; i < sends.size(); i++) {
+                    Boolean delivered = await(sends.get(i), drainDeadline);
+                    if (delivered == null) {
+                        log.warnf("broadcast id=%s segment=%d left %d sends in flight", broadcastId, segment,
+                                sends.size() - i);
+                        wholePage = false;
+                        break;
+                    }
+                    if (delivered) {
+                        checkpoint.setDelivered(checkpoint.getDelivered() + 1);
+                    } else {
+                        checkpoint.setFailed(checkpoint.getFailed() + 1);
+                    }
+                    lastChatId = sentChatIds.get(i);
+                }
+                if (wholePage) {
+                    Map<String, AttributeValue> lastKey = page.lastEvaluatedKey();
+                    checkpoint.setLastChatId(lastKey != null ? Long.valueOf(lastKey.get("chatId").n()) : lastChatId);
+                    checkpoint.setDone(lastKey == null);
+                } else {
+                    checkpoint.setLastChatId(lastChatId);
+                }
+                checkpointRepository.save(checkpoint);
+            }
+            log.debugf("broadcast id=%s segment=%d sent=%d last=%s", broadcastId, segment, sends.size(),
+                    checkpoint.getLastChatId());
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Waits until the outbound queue has room beyond the headroom kept for replies.
+     *
+     * @return false if the deadline passed first
+     */
+    private boolean awaitCapacity(long deadline) throws InterruptedException {
+        while (rateLimiter.remainingCapacity() <= queueHeadroom) {
+            if (expired(deadline)) {
+                return false;
+            }
+            Thread.sleep(capacityPoll.toMillis());
+        }
+        return !expired(deadline);
+    }
+
+    /**
+     * Waits for a send until the given deadline.
+     *
+     * @return Whether the message was delivered, or null if the send is still in flight
+     */
+    private static Boolean await(CompletableFuture<Boolean> send, long deadline) {
+        try {
+            return send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            // send() completes normally, failures included
+            return false;
+        }
+    }
+
+    /**
+     * @return Whether the message was delivered; users who blocked the bot or deleted their
+     * account count as failed
+     */
+    private CompletableFuture<Boolean> send(SendMessage message, int attempt) {
+        return telegramApiClient.executeAsync(message, TelegramRateLimiter.Priority.BULK)
+                .thenApply(sent -> true)
+                .exceptionallyCompose(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof TelegramApiRateLimitException rateLimited && attempt < MAX_ATTEMPTS) {
+                        return CompletableFuture.supplyAsync(() -> message, CompletableFuture.delayedExecutor(
+                                        rateLimited.getRetryAfter().toMillis(), TimeUnit.MILLISECONDS))
+                                .thenCompose(retry -> send(retry, attempt + 1));
+                    }
+                    log.debugf("broadcast failed chat=%s error=%s", message.getChatId(), cause.getMessage());
+                    return CompletableFuture.completedFuture(false);
+                });
+    }
+
+    private static boolean expired(long deadline) {
+        return System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Spaces out scan pages so that the segments together read at most the given capacity units
+     * per second on average. Each page delays the next one by the capacity it consumed.
+     */
+    static final class ScanPacer {
+        private final double nanosPerUnit;
+        private long nextAt = System.nanoTime();
+
+        ScanPacer(double unitsPerSecond) {
+            this.nanosPerUnit = TimeUnit.SECONDS.toNanos(1) / unitsPerSecond;
+        }
+
+        void await() throws InterruptedException {
+            long wait;
+            synchronized (this) {
+                wait = nextAt - System.nanoTime();
+            }
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+
+        synchronized void consumed(double units) {
+            nextAt = Math.max(nextAt, System.nanoTime()) + (long) (units * nanosPerUnit);
+        }
+    }
+}
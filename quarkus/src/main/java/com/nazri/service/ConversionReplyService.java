@@ -0,0 +1,166 @@
+package com.nazri.service;
+
+import com.nazri.model.ConversionCallback;
+import com.nazri.model.TelegramResponse;
+import com.nazri.util.ConversionCallbackCodec;
+import com.nazri.util.KeyboardUtil;
+import com.nazri.util.Language;
+import com.nazri.util.LanguageContext;
+import com.nazri.util.Messages;
+import com.nazri.util.Util;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CacheResult;
+import io.quarkus.cache.CompositeCacheKey;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Renders conversion results, caching the finished reply (text and multiplier keyboard).
+ *
+ * Popular requests such as the common amount buttons produce the same reply for many users, so
+ * replies are cached by language, source currency, amount, target currencies and the version of
+ * the rates they were rendered from. Once new rates for a source and its targets are fetched,
+ * their replies for older versions are evicted in the background.
+ *
+ * Multiplier buttons carry the whole conversion (see {@link ConversionCallbackCodec}), so
+ * pressing one is answered from the rates alone, without reading the user's preferences.
+ * Callers must not modify the returned responses.
+ */
+@ApplicationScoped
+public class ConversionReplyService {
+
+    private static final Logger log = Logger.getLogger(ConversionReplyService.class);
+
+    private static final String CACHE_NAME = "conversion-replies";
+    /** Position of the source currency, targets and rate version in the cache key, see {@link #render}. */
+    private static final int KEY_FROM_CURRENCY = 1;
+    private static final int KEY_TO_CURRENCIES = 3;
+    private static final int KEY_RATE_VERSION = 5;
+
+    @Inject
+    CurrencyService currencyService;
+
+    @Inject
+    MessageService messageService;
+
+    @Inject
+    @CacheName(CACHE_NAME)
+    Cache replies;
+
+    @ConfigProperty(name = "multiplier.input")
+    List<String> multiplierList;
+
+    @ConfigProperty(name = "multiplier.symbol")
+    List<String> multiplierSymbols;
+
+    /** Bounds {@link #evictedVersions} like the exchange-rates cache whose versions it tracks */
+    @ConfigProperty(name = "quarkus.cache.caffeine.\"exchange-rates\".maximum-size", defaultValue = "100")
+    int rateCacheSize;
+
+    @ConfigProperty(name = "quarkus.cache.caffeine.\"exchange-rates\".expire-after-write", defaultValue = "PT15M")
+    Duration rateCacheExpiry;
+
+    /**
+     * Rate version the replies of each source and target currencies were last evicted for. An
+     * entry idle for longer than rates are cached is dropped; the replies it would have evicted
+     * are never hit again and leave the size-bounded reply cache in time.
+     */
+    private ConcurrentMap<List<Object>, Long> evictedVersions;
+
+    @PostConstruct
+    void init() {
+        evictedVersions = Caffeine.newBuilder()
+                .maximumSize(rateCacheSize)
+                .expireAfterWrite(rateCacheExpiry)
+                .<List<Object>, Long>build()
+                .asMap();
+    }
+
+    /**
+     * Gets the conversion result reply in the language of the current update.
+     *
+     * @param amount The amount to convert
+     * @param fromCurrency Source currency code
+     * @param toCurrencies Target currency codes, in display order
+     * @param callbackPrefix Command prefix for the multiplier keyboard, null for a reply without keyboard
+     * @return The shared reply
+     */
+    public TelegramResponse getReply(BigDecimal amount, String fromCurrency, List<String> toCurrencies, String callbackPrefix) {
+        if (amount == null || amount.signum() <= 0) {
+            // Invalid amounts are rejected by the conversion, never cached
+            return render(LanguageContext.get(), fromCurrency, amount, toCurrencies, callbackPrefix, 0L);
+        }
+        // One cache entry for "usd" and "USD", and for 100 and 100.0
+        String from = fromCurrency.toUpperCase();
+        List<String> targets = List.copyOf(toCurrencies);
+        BigDecimal normalized = amount.stripTrailingZeros();
+        if (normalized.scale() < 0) {
+            normalized = normalized.setScale(0);
+        }
+        long rateVersion = currencyService.getRateVersion(from, targets);
+        evictOlderReplies(from, targets, rateVersion);
+        return render(LanguageContext.get(), from, normalized, targets, callbackPrefix, rateVersion);
+    }
+
+    /**
+     * Renders a reply. The language is not used directly but selects the cache entry: it is the one
+     * in {@link LanguageContext}. The rate version selects the entry too.
+     */
+    @CacheResult(cacheName = CACHE_NAME)
+    public TelegramResponse render(Language language, String fromCurrency, BigDecimal amount, List<String> toCurrencies,
+                                   String callbackPrefix, long rateVersion) {
+        Map<String, BigDecimal> result = currencyService.convertCurrency(amount, fromCurrency, toCurrencies);
+
+        StringBuilder from = new StringBuilder(Util.getEmojiFlag(fromCurrency)).append(" ");
+        Util.appendMoney(from, amount, fromCurrency);
+
+        StringBuilder to = new StringBuilder();
+        for (String currencyCode : toCurrencies) {
+            if (result.containsKey(currencyCode)) {
+                to.append(Util.getEmojiFlag(currencyCode));
+                Util.appendMoney(to, result.get(currencyCode), currencyCode).append("\n");
+            }
+        }
+
+        TelegramResponse response = messageService.createResponse(Messages.CONVERT_RESULT, from.toString(), to.toString());
+        if (callbackPrefix != null) {
+            response.keyboard(KeyboardUtil.createMultiplierKeyboard(amount, multiplierList, multiplierSymbols,
+                    value -> callbackData(callbackPrefix, value, fromCurrency, toCurrencies)));
+        }
+        return response;
+    }
+
+    /**
+     * Callback data carrying the whole conversion, or just the amount if it does not fit.
+     */
+    private static String callbackData(String callbackPrefix, BigDecimal amount, String fromCurrency,
+                                       List<String> toCurrencies) {
+        String data = ConversionCallbackCodec.encode(callbackPrefix,
+                new ConversionCallback(amount, fromCurrency, toCurrencies));
+        return data != null ? data : callbackPrefix + ":" + amount;
+    }
+
+    private void evictOlderReplies(String fromCurrency, List<String> toCurrencies, long rateVersion) {
+        Long evicted = evictedVersions.put(List.of(fromCurrency, toCurrencies), rateVersion);
+        if (evicted == null || evicted == rateVersion) {
+            return;
+        }
+        // Stale entries are never hit again, so the update does not wait for them to go
+        replies.invalidateIf(key -> key instanceof CompositeCacheKey composite
+                        && fromCurrency.equals(composite.getKeyElements()[KEY_FROM_CURRENCY])
+                        && toCurrencies.equals(composite.getKeyElements()[KEY_TO_CURRENCIES])
+                        && !Long.valueOf(rateVersion).equals(composite.getKeyElements()[KEY_RATE_VERSION]))
+                .subscribe().with(ignored -> {}, e -> log.warnf("Failed to evict stale replies of %s: %s", fromCurrency, e));
+    }
+}
@@ -1,6 +1,7 @@
 package com.nazri.service;
 
 import com.nazri.client.CurrencyApiClient;
+import com.nazri.util.CurrencyIndex;
 import io.quarkus.cache.CacheResult;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -13,6 +14,7 @@ import org.jboss.logging.Logger;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
@@ -27,6 +29,18 @@ public class CurrencyService {
     @RestClient
     CurrencyApiClient currencyApiClient;
 
+    /** Publishes a new rate snapshot version whenever rates are fetched from the API. */
+    private final AtomicLong rateSnapshots = new AtomicLong();
+
+    /**
+     * Exchange rates as fetched from the API, cached together with the version of the fetch so
+     * that the version lives exactly as long as the cached rates.
+     *
+     * @param rates Rates by upper case target currency code
+     * @param version The rate snapshot version, see {@link #getRateVersion}
+     */
+    public record ExchangeRates(Map<String, BigDecimal> rates, long version) {}
+
     /**
      * Converts an amount from one currency to multiple target currencies.
      * Implements caching, circuit breaker, and retry logic for Lambda optimization.
@@ -41,7 +55,7 @@ public class CurrencyService {
         validateInputs(amount, fromCurrency, toCurrencies);
         
         try {
-            Map<String, BigDecimal> exchangeRates = fetchExchangeRates(fromCurrency, toCurrencies);
+            Map<String, BigDecimal> exchangeRates = fetchExchangeRates(fromCurrency, toCurrencies).rates();
             return performConversions(amount, exchangeRates);
         } catch (WebApplicationException e) {
             // Re-throw WebApplicationException as-is to preserve status codes
@@ -55,6 +69,21 @@ public class CurrencyService {
         }
     }
 
+    /**
+     * Gets the version of the rates a conversion between the currencies would use, fetching them
+     * first if they are not cached. The version changes every time the rates for these exact
+     * arguments are fetched again, so anything rendered from the rates can be cached by it.
+     *
+     * @param fromCurrency Source currency code or country name
+     * @param toCurrencies List of target currency codes
+     * @return The rate snapshot version
+     * @throws WebApplicationException if validation fails or service is unavailable
+     */
+    public long getRateVersion(String fromCurrency, List<String> toCurrencies) {
+        validateCurrencies(fromCurrency, toCurrencies);
+        return fetchExchangeRates(fromCurrency, toCurrencies).version();
+    }
+
     /**
      * Validates input parameters for currency conversion.
      * Ensures amount is within limits and currencies are valid.
@@ -67,8 +96,10 @@ public class CurrencyService {
                     Response.Status.BAD_REQUEST
             );
         }
+        validateCurrencies(fromCurrency, toCurrencies);
+    }
 
-
+    private void validateCurrencies(String fromCurrency, List<String> toCurrencies) {
         if (fromCurrency == null || fromCurrency.trim().isEmpty()) {
             log.warn("Empty source currency");
             throw new WebApplicationException(
@@ -103,7 +134,7 @@ public class CurrencyService {
      * Cache key is automatically generated from method parameters.
      */
     @CacheResult(cacheName = "exchange-rates")
-    public Map<String, BigDecimal> fetchExchangeRates(String fromCurrency, List<String> toCurrencies) {
+    public ExchangeRates fetchExchangeRates(String fromCurrency, List<String> toCurrencies) {
         // Sort currencies for consistent cache keys
         List<String> sortedCurrencies = toCurrencies.stream()
                 .map(String::toUpperCase)
@@ -116,8 +147,7 @@ public class CurrencyService {
             // Use REST Client - fault tolerance is handled by annotations
             Map<String, Object> response = currencyApiClient.getExchangeRates(fromCurrency.toLowerCase());
             Map<String, BigDecimal> rates = parseExchangeRates(response, fromCurrency, toCurrencies);
-            
-            return rates;
+            return new ExchangeRates(rates, rateSnapshots.incrementAndGet());
         } catch (Exception e) {
             log.errorf("Failed to fetch exchange rates: %s", e.getMessage());
             throw new WebApplicationException(
@@ -190,37 +220,7 @@ public class CurrencyService {
      * to standardized currency code.
      */
     public String getCurrencyCode(String input) {
-        if (input == null) return null;
-
-        String normalized = input.trim().toUpperCase();
-
-        // Try direct currency code match (e.g., "USD", "EUR")
-        try {
-            return Currency.getInstance(normalized).getCurrencyCode();
-        } catch (Exception ignored) {
-            // Not a valid currency code, continue
-        }
-
-        // Try country code match (e.g., "US" -> "USD", "MY" -> "MYR")
-        try {
-            Locale countryLocale = new Locale("", normalized);
-            return Currency.getInstance(countryLocale).getCurrencyCode();
-        } catch (Exception ignored) {
-            // Not a valid country code, continue
-        }
-
-        // Try full country name match (e.g., "Malaysia" -> "MYR")
-        for (Locale locale : Locale.getAvailableLocales()) {
-            if (locale.getDisplayCountry(Locale.ENGLISH).toUpperCase().equals(normalized)) {
-                try {
-                    return Currency.getInstance(locale).getCurrencyCode();
-                } catch (Exception ignored) {
-                    // Continue searching
-                }
-            }
-        }
-
-        return null;
+        return CurrencyIndex.resolve(input);
     }
 
     // TODO: Future enhancement - implement currency list fetching
@@ -0,0 +1,51 @@
+package com.nazri.service;
+
+import com.nazri.util.Expression;
+import com.nazri.util.ExpressionParser;
+import io.quarkus.cache.CacheResult;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+import java.math.BigDecimal;
+
+/**
+ * Evaluates arithmetic amounts sent by users (e.g. "12.5*3 + 4.20").
+ *
+ * Compiled expressions are cached by their source text, so re-evaluating the same
+ * expression skips parsing entirely.
+ */
+@ApplicationScoped
+public class ExpressionService {
+
+    private static final Logger log = Logger.getLogger(ExpressionService.class);
+
+    /**
+     * Compiles an expression, caching the result by source text.
+     *
+     * @param source The expression text
+     * @return The compiled expression
+     * @throws IllegalArgumentException if the expression is invalid or exceeds the parser limits
+     */
+    @CacheResult(cacheName = "amount-expressions")
+    public Expression compile(String source) {
+        return ExpressionParser.parse(source.trim());
+    }
+
+    /**
+     * Evaluates an expression to an amount.
+     *
+     * @param source The expression text
+     * @return The evaluated amount, or null if the expression is invalid or cannot be evaluated
+     */
+    public BigDecimal evaluate(String source) {
+        if (source == null || source.isBlank()) {
+            return null;
+        }
+        try {
+            return compile(source).evaluate();
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            log.debugf("Invalid amount expression '%s': %s", source, e.getMessage());
+            return null;
+        }
+    }
+}
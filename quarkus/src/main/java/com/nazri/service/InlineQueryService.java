@@ -0,0 +1,155 @@
+package com.nazri.service;
+
+import com.nazri.model.ConversionQuery;
+import com.nazri.util.ConversionQueryParser;
+import com.nazri.util.Language;
+import com.nazri.util.Util;
+import io.quarkus.cache.CacheResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.telegram.telegrambots.meta.api.methods.AnswerInlineQuery;
+import org.telegram.telegrambots.meta.api.objects.inlinequery.InlineQuery;
+import org.telegram.telegrambots.meta.api.objects.inlinequery.inputmessagecontent.InputTextMessageContent;
+import org.telegram.telegrambots.meta.api.objects.inlinequery.result.InlineQueryResult;
+import org.telegram.telegrambots.meta.api.objects.inlinequery.result.InlineQueryResultArticle;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Answers inline queries such as "@CurrencyCoinvertBot 100 usd" or "... 100 usd to sgd, myr".
+ *
+ * Results are built from the cached rates and the finished result lists are cached by source
+ * currency, amount, targets and rate version, so popular queries are answered without rendering.
+ * They do not depend on the user (numbers use the default format), so Telegram may cache and
+ * share them for {@code inline.cache-time}. If the rates are not at hand within
+ * {@code inline.time-budget}, an empty answer that Telegram does not cache is sent instead and
+ * the rates keep loading for the next keystroke.
+ *
+ * Rates load on a pool of {@code inline.fetch-threads} threads of its own, not the common pool,
+ * which has a single thread on a small Lambda and would queue concurrent queries behind each other.
+ */
+@ApplicationScoped
+public class InlineQueryService {
+
+    private static final Logger log = Logger.getLogger(InlineQueryService.class);
+
+    @Inject
+    CurrencyService currencyService;
+
+    @ConfigProperty(name = "top.output.currencies")
+    List<String> outputCurrencies;
+
+    @ConfigProperty(name = "inline.cache-time", defaultValue = "300")
+    int cacheTime;
+
+    @ConfigProperty(name = "inline.time-budget", defaultValue = "PT0.04S")
+    Duration timeBudget;
+
+    @ConfigProperty(name = "inline.fetch-threads", defaultValue = "4")
+    int fetchThreads;
+
+    private ThreadPoolExecutor fetcher;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        fetcher = new ThreadPoolExecutor(fetchThreads, fetchThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "inline-rates-" + threads.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        fetcher.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fetcher.shutdownNow();
+    }
+
+    /**
+     * @param inlineQuery The query typed by the user
+     * @return The answer, with no results if the text is not a conversion
+     */
+    public AnswerInlineQuery answer(InlineQuery inlineQuery) {
+        ConversionQuery query = ConversionQueryParser.parse(inlineQuery.getQuery(), outputCurrencies);
+        if (query == null) {
+            return answer(inlineQuery, List.of(), cacheTime);
+        }
+
+        CompletableFuture<List<InlineQueryResult>> results = CompletableFuture.supplyAsync(() -> {
+            long rateVersion = currencyService.getRateVersion(query.getFromCurrency(), query.getToCurrencies());
+            return render(query.getFromCurrency(), query.getAmount(), query.getToCurrencies(), rateVersion);
+        }, fetcher);
+        try {
+            return answer(inlineQuery, results.get(timeBudget.toMillis(), TimeUnit.MILLISECONDS), cacheTime);
+        } catch (TimeoutException e) {
+            log.infof("Rates for %s not ready within %dms", query.getFromCurrency(), timeBudget.toMillis());
+        } catch (ExecutionException e) {
+            log.warnf("Failed to answer inline query %s: %s", query, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return answer(inlineQuery, List.of(), 0);
+    }
+
+    /**
+     * Renders the results: one article with every target, then one per target. The rate version
+     * is not used directly but selects the cache entry.
+     */
+    @CacheResult(cacheName = "inline-results")
+    public List<InlineQueryResult> render(String fromCurrency, BigDecimal amount, List<String> toCurrencies, long rateVersion) {
+        Map<String, BigDecimal> result = currencyService.convertCurrency(amount, fromCurrency, toCurrencies);
+        String from = money(amount, fromCurrency);
+
+        List<InlineQueryResult> results = new ArrayList<>(toCurrencies.size() + 1);
+        StringBuilder all = new StringBuilder(from);
+        StringBuilder description = new StringBuilder();
+        for (String currencyCode : toCurrencies) {
+            if (!result.containsKey(currencyCode)) {
+                continue;
+            }
+            String to = money(result.get(currencyCode), currencyCode);
+            all.append("\n= ").append(to);
+            description.append(description.isEmpty() ? "" : " · ").append(to);
+            results.add(article(currencyCode, to, from, from + " = " + to));
+        }
+        if (results.size() > 1) {
+            results.add(0, article("all", from, description.toString(), all.toString()));
+        }
+        return List.copyOf(results);
+    }
+
+    private static AnswerInlineQuery answer(InlineQuery inlineQuery, List<InlineQueryResult> results, int cacheTime) {
+        AnswerInlineQuery answer = new AnswerInlineQuery(inlineQuery.getId(), results);
+        answer.setCacheTime(cacheTime);
+        answer.setIsPersonal(false);
+        return answer;
+    }
+
+    private static InlineQueryResultArticle article(String id, String title, String description, String text) {
+        InlineQueryResultArticle article = new InlineQueryResultArticle(id, title, new InputTextMessageContent(text));
+        article.setDescription(description);
+        return article;
+    }
+
+    private static String money(BigDecimal amount, String currencyCode) {
+        StringBuilder out = new StringBuilder(Util.getEmojiFlag(currencyCode)).append(' ');
+        return Util.appendMoney(out, amount, currencyCode, Language.EN).toString();
+    }
+}
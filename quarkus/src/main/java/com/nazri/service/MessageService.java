@@ -1,11 +1,23 @@
 package com.nazri.service;
 
 import com.nazri.model.TelegramResponse;
+import com.nazri.util.Language;
+import com.nazri.util.LanguageContext;
+import com.nazri.util.MessageTemplate;
+import com.nazri.util.Messages;
+import com.nazri.util.TelegramJsonWriter;
+import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
-import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ApplicationScoped
 public class MessageService {
@@ -13,18 +25,46 @@ public class MessageService {
     @ConfigProperty(name = "app.messages.bundle", defaultValue = "messages")
     String messageBundle;
 
+    private volatile Catalogs catalogs;
+
+    /**
+     * Encodes the JSON of the generated messages without arguments while the application starts,
+     * as they are sent as-is.
+     */
+    void onStart(@Observes StartupEvent event) {
+        List<String> texts = new ArrayList<>();
+        for (Language language : Language.values()) {
+            for (MessageTemplate template : Messages.templates(language.getCode()).values()) {
+                if (template.constantText() != null) {
+                    texts.add(template.constantText());
+                }
+            }
+        }
+        TelegramJsonWriter.registerTexts(texts);
+    }
+
     /**
-     * Get a formatted message from the resource bundle
+     * Get a formatted message from the resource bundle, in the language of the current update
      *
      * @param key the message key
      * @param params parameters to format into the message
      * @return formatted message
      */
     public String getMessage(String key, Object... params) {
+        return getMessage(LanguageContext.get(), key, params);
+    }
+
+    /**
+     * Get a formatted message from the resource bundle in a given language
+     *
+     * @param language the language to render in
+     * @param key the message key
+     * @param params parameters to format into the message
+     * @return formatted message
+     */
+    public String getMessage(Language language, String key, Object... params) {
         try {
-            ResourceBundle bundle = ResourceBundle.getBundle(messageBundle);
-            String template = bundle.getString(key);
-            return MessageFormat.format(template, params);
+            return catalogs().byLanguage[language.ordinal()].template(key).format(params);
         } catch (Exception e) {
             // Fallback to key if message not found
             return key + " (message not found)";
@@ -42,4 +82,59 @@ public class MessageService {
         return TelegramResponse.builder()
                 .text(getMessage(messageKey, params));
     }
+
+    private Catalogs catalogs() {
+        Catalogs current = catalogs;
+        if (current == null || !current.bundleName.equals(messageBundle)) {
+            current = new Catalogs(messageBundle);
+            catalogs = current;
+        }
+        return current;
+    }
+
+    /**
+     * The catalogs of one bundle for every {@link Language}, all loaded up front so that
+     * switching language is an array index.
+     */
+    private static final class Catalogs {
+        private final String bundleName;
+        private final Catalog[] byLanguage = new Catalog[Language.count()];
+
+        private Catalogs(String bundleName) {
+            this.bundleName = bundleName;
+            for (Language language : Language.values()) {
+                // The default bundle is compiled into Messages at build time; other bundles are loaded at runtime
+                byLanguage[language.ordinal()] = Messages.BUNDLE.equals(bundleName)
+                        ? new Catalog(null, Messages.templates(language.getCode()))
+                        : new Catalog(ResourceBundle.getBundle(bundleName, Locale.forLanguageTag(language.getCode()),
+                                ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT)),
+                                new ConcurrentHashMap<>());
+            }
+        }
+    }
+
+    /**
+     * The templates of one bundle in one language: either the generated catalog, or a runtime
+     * bundle whose templates are compiled on first use.
+     */
+    private static final class Catalog {
+        private final ResourceBundle bundle;
+        private final Map<String, MessageTemplate> templates;
+
+        private Catalog(ResourceBundle bundle, Map<String, MessageTemplate> templates) {
+            this.bundle = bundle;
+            this.templates = templates;
+        }
+
+        MessageTemplate template(String key) {
+            MessageTemplate template = templates.get(key);
+            if (template == null) {
+                if (bundle == null) {
+                    throw new MissingResourceException("Missing message " + key, Messages.class.getName(), key);
+                }
+                template = templates.computeIfAbsent(key, k -> MessageTemplate.compile(bundle.getString(k)));
+            }
+            return template;
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package com.nazri.service;
+
+import com.nazri.model.User;
+import com.nazri.util.SymbolTable;
+import io.quarkus.cache.CacheResult;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.List;
+
+/**
+ * Provides the per-user {@link SymbolTable} used to resolve ambiguous currency symbols.
+ *
+ * Tables are cached by the profile fields they are derived from, so a change to the user's
+ * currencies or language simply produces a new key and never serves a stale table.
+ */
+@ApplicationScoped
+public class SymbolResolutionService {
+
+    /**
+     * Gets the symbol table for a user.
+     *
+     * @param user The user, may be null for users without a profile
+     * @param languageCode The Telegram language code of the sender, may be null
+     * @return The user's symbol table
+     */
+    public SymbolTable getSymbolTable(User user, String languageCode) {
+        if (user == null) {
+            return languageCode == null ? SymbolTable.defaultTable() : symbolTable(null, List.of(), languageCode);
+        }
+        return symbolTable(user.getInputCurrency(),
+                user.getOutputCurrency() == null ? List.of() : List.copyOf(user.getOutputCurrency()), languageCode);
+    }
+
+    @CacheResult(cacheName = "symbol-tables")
+    public SymbolTable symbolTable(String inputCurrency, List<String> outputCurrencies, String languageCode) {
+        return SymbolTable.build(inputCurrency, outputCurrencies, languageCode);
+    }
+}
@@ -1,8 +1,13 @@
 package com.nazri.service;
 
+import com.nazri.client.TelegramApiClient;
+import com.nazri.client.TelegramApiRateLimitException;
 import com.nazri.command.Command;
 import com.nazri.command.CommandRegistry;
 import com.nazri.util.Constant;
+import com.nazri.util.Language;
+import com.nazri.util.LanguageContext;
+import com.nazri.util.MessageEdits;
 import com.nazri.util.Util;
 import io.github.coordinates2country.Coordinates2Country;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -10,13 +15,21 @@ import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 import org.telegram.telegrambots.bots.TelegramWebhookBot;
+import org.telegram.telegrambots.meta.api.methods.AnswerCallbackQuery;
 import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
 import org.telegram.telegrambots.meta.api.objects.CallbackQuery;
 import org.telegram.telegrambots.meta.api.objects.Message;
 import org.telegram.telegrambots.meta.api.objects.Update;
+import org.telegram.telegrambots.meta.api.objects.User;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @ApplicationScoped
 public class TelegramBot extends TelegramWebhookBot {
 
@@ -34,20 +47,106 @@ public class TelegramBot extends TelegramWebhookBot {
     @Inject
     CommandRegistry commandRegistry;
 
+    @Inject
+    TelegramApiClient telegramApiClient;
+
+    @Inject
+    InlineQueryService inlineQueryService;
+
+    @Inject
+    MessageService messageService;
+
+    /**
+     * The last method sent while processing the current webhook update. It is returned as the
+     * webhook response instead of being sent, saving one Bot API round trip per update.
+     */
+    private static final ThreadLocal<PendingReply> PENDING_REPLY = new ThreadLocal<>();
+
+    /**
+     * Processes an update. Commands send their replies with {@link #execute}; the last of them is
+     * not sent but returned, for the webhook to answer with. Earlier ones are sent first, in order.
+     *
+     * @return The method to answer the webhook with, null if the update needs no reply
+     */
     @Override
     public BotApiMethod<?> onWebhookUpdateReceived(Update update) {
-        if (update.hasMessage()) {
-            processMessage(update.getMessage());
-        } else if (update.hasCallbackQuery()) {
-            processCallbackQuery(update.getCallbackQuery());
-        } else if (update.hasEditedMessage()) {
-            processEditedMessage(update.getEditedMessage());
-        } else if (update.hasChannelPost()) {
-            handleChannelPost(update);
-        } else if (update.hasInlineQuery()) {
-            handleInlineQuery(update);
+        // Replies are rendered in the user's Telegram app language
+        LanguageContext.set(Language.of(languageCode(update)));
+        PendingReply reply = new PendingReply();
+        if (update.hasCallbackQuery() && update.getCallbackQuery().getMessage() instanceof Message message) {
+            reply.callbackMessage = message;
+        }
+        PENDING_REPLY.set(reply);
+        try {
+            if (update.hasMessage()) {
+                processMessage(update.getMessage());
+            } else if (update.hasCallbackQuery()) {
+                processCallbackQuery(update.getCallbackQuery());
+            } else if (update.hasEditedMessage()) {
+                processEditedMessage(update.getEditedMessage());
+            } else if (update.hasChannelPost()) {
+                handleChannelPost(update);
+            } else if (update.hasInlineQuery()) {
+                handleInlineQuery(update);
+            }
+        } finally {
+            PENDING_REPLY.remove();
+            LanguageContext.clear();
+            reply.awaitSends();
+        }
+
+        return reply.method;
+    }
+
+    /**
+     * Processes an update received by polling for updates. With no webhook to answer, the reply
+     * is sent once every earlier method sent for the update has been delivered.
+     */
+    public void onUpdateReceived(Update update) {
+        BotApiMethod<?> reply = onWebhookUpdateReceived(update);
+        if (reply != null) {
+            try {
+                telegramApiClient.execute(reply);
+            } catch (TelegramApiException e) {
+                log.error("Error sending reply: ", e);
+            }
         }
+    }
 
+    /**
+     * Sends through {@link TelegramApiClient}, which writes the request JSON without Jackson
+     * for the methods the bot sends on every update.
+     *
+     * While a webhook update is processed the method is held back as the webhook reply and null
+     * is returned; the previously held method, if any, is sent now without waiting for it.
+     *
+     * The first message a command sends in reply to a button press edits the message holding the
+     * button instead of adding a new one, and is dropped if that message already shows it. Error
+     * messages are always sent as new messages, keeping what the pressed message showed.
+     */
+    @Override
+    public <T extends Serializable, Method extends BotApiMethod<T>> T execute(Method method) throws TelegramApiException {
+        PendingReply reply = PENDING_REPLY.get();
+        if (reply == null) {
+            return telegramApiClient.execute(method);
+        }
+        // Fail now like a sent method would, Telegram does not report errors in webhook replies
+        method.validate();
+        BotApiMethod<?> held = method;
+        Message original = reply.callbackMessage;
+        if (original != null && method instanceof SendMessage message && MessageEdits.canEdit(original, message)) {
+            reply.callbackMessage = null;
+            held = MessageEdits.toEdit(original, message);
+            if (held == null) {
+                log.debugf("Message %d already shows the reply, not editing it", original.getMessageId());
+                return null;
+            }
+        }
+        BotApiMethod<?> previous = reply.method;
+        reply.method = held;
+        if (previous != null) {
+            reply.send(telegramApiClient, previous);
+        }
         return null;
     }
 
@@ -66,6 +165,23 @@ public class TelegramBot extends TelegramWebhookBot {
         return webhookUrl;
     }
 
+    /**
+     * The language_code of the user who sent the update, null if Telegram did not send one.
+     */
+    private static String languageCode(Update update) {
+        User from = null;
+        if (update.hasMessage()) {
+            from = update.getMessage().getFrom();
+        } else if (update.hasCallbackQuery()) {
+            from = update.getCallbackQuery().getFrom();
+        } else if (update.hasEditedMessage()) {
+            from = update.getEditedMessage().getFrom();
+        } else if (update.hasInlineQuery()) {
+            from = update.getInlineQuery().getFrom();
+        }
+        return from != null ? from.getLanguageCode() : null;
+    }
+
     /**
      * Process messages sent by user
      * @param message
@@ -84,6 +200,10 @@ public class TelegramBot extends TelegramWebhookBot {
                 log.warn("Unknown Message Type: " + message);
             }
         } catch (Exception e) {
+            if (isRateLimited(e)) {
+                log.warnf("Rate limited in chat %d: %s", message.getChatId(), e.getMessage());
+                return;
+            }
             log.error("Error processing message: ", e);
             sendErrorMessage(message.getChatId(), e.getMessage());
         }
@@ -104,6 +224,11 @@ public class TelegramBot extends TelegramWebhookBot {
             try {
                 command.execute(message, args.trim());
             } catch (Exception e) {
+                if (isRateLimited(e)) {
+                    // Telegram would turn the error message away as well
+                    log.warnf("Rate limited executing command %s: %s", commandName, e.getMessage());
+                    return;
+                }
                 log.error("Error executing command: " + commandName, e);
                 sendErrorMessage(message.getChatId(), e.getMessage());
             }
@@ -123,7 +248,7 @@ public class TelegramBot extends TelegramWebhookBot {
             processCommand(message);
         } catch (Exception e) {
             log.error("Error processing regular message", e);
-            sendErrorMessage(message.getChatId(), "Failed to process message");
+            sendErrorMessage(message.getChatId(), messageService.getMessage("error.message.failed"));
         }
     }
 
@@ -140,11 +265,11 @@ public class TelegramBot extends TelegramWebhookBot {
                 message.setText("/from " + country);
                 processCommand(message);
             } else {
-                sendErrorMessage(message.getChatId(), "Error determining country");
+                sendErrorMessage(message.getChatId(), messageService.getMessage("error.location.unknown"));
             }
         } catch (Exception e) {
             log.error("Error processing location", e);
-            sendErrorMessage(message.getChatId(), "Failed to process location data");
+            sendErrorMessage(message.getChatId(), messageService.getMessage("error.location.failed"));
         }
     }
 
@@ -155,15 +280,20 @@ public class TelegramBot extends TelegramWebhookBot {
     private void processCallbackQuery(CallbackQuery callbackQuery) {
         log.infof("Processing Callback: %s", callbackQuery.getData());
         try {
-            // Process callback data
-            String[] parts = callbackQuery.getData().split(":" );
-            String commandName = parts[0];
-            String data = parts.length > 1 ? parts[1] : "";
+            // Callback data is "{command}:{data}", the data may contain further colons
+            String callbackData = callbackQuery.getData();
+            int separator = callbackData.indexOf(':');
+            String commandName = separator < 0 ? callbackData : callbackData.substring(0, separator);
+            String data = separator < 0 ? "" : callbackData.substring(separator + 1);
             Command command = commandRegistry.getCommand(commandName);
             if (command != null) {
                 command.handleCallback(callbackQuery, data);
             }
         } catch (Exception e) {
+            if (isRateLimited(e)) {
+                log.warnf("Rate limited processing callback %s: %s", callbackQuery.getData(), e.getMessage());
+                return;
+            }
             log.error("Error processing callback query: ", e);
             sendErrorMessage(callbackQuery.getMessage().getChatId(), e.getMessage());
         }
@@ -179,15 +309,35 @@ public class TelegramBot extends TelegramWebhookBot {
     }
 
     /**
-     * Generic error messages for debugging
+     * Whether the error comes from Telegram's rate limits, commands wrap it in a RuntimeException.
+     */
+    private static boolean isRateLimited(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TelegramApiRateLimitException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sends the next message as a new one rather than as an edit of the pressed message.
+     */
+    private static void keepCallbackMessage() {
+        PendingReply reply = PENDING_REPLY.get();
+        if (reply != null) {
+            reply.callbackMessage = null;
+        }
+    }
+
+    /**
+     * Generic error messages for debugging, in the language of the current update
      * @param chatId
      * @param text
      */
     private void sendErrorMessage(Long chatId, String text) {
-        String body = "Oops, something went wrong! 😕\n\n" +
-                "Don't worry, please try again later and we'll get things back on track. 😊\n\n" +
-                "If the issue persists, here's the info for debugging:\n" +
-                text;
+        keepCallbackMessage();
+        String body = messageService.getMessage("error.general", text);
 
         SendMessage response = new SendMessage(String.valueOf(chatId), body);
         response.setParseMode(Constant.MARKDOWN);
@@ -200,8 +350,8 @@ public class TelegramBot extends TelegramWebhookBot {
     }
 
     private void sendUnknownCommandMessage(Long chatId) {
-        String body = "Hmm, I didn't quite catch that. 😅\n\n" +
-                "No worries! Type /help to see the list of available commands. I'm here to assist! 😊";
+        keepCallbackMessage();
+        String body = messageService.getMessage("error.unknown.command");
 
         SendMessage response = new SendMessage(String.valueOf(chatId), body);
         response.setParseMode(Constant.MARKDOWN);
@@ -225,12 +375,51 @@ public class TelegramBot extends TelegramWebhookBot {
     }
 
     /**
-     * TODO:
+     * Answers inline queries, e.g. "@CurrencyCoinvertBot 100 usd", with conversion results.
      *
      * @param update
      */
     private void handleInlineQuery(Update update) {
         String query = update.getInlineQuery().getQuery();
         log.infof("Received inline query: %s", query);
+        try {
+            execute(inlineQueryService.answer(update.getInlineQuery()));
+        } catch (Exception e) {
+            log.error("Error answering inline query: ", e);
+        }
+    }
+
+    private static final class PendingReply {
+        private BotApiMethod<?> method;
+        /** The message whose button was pressed, until a reply has replaced it */
+        private Message callbackMessage;
+        /** Completes once the chat messages sent so far are delivered; they are sent one after another. */
+        private CompletableFuture<?> messages = CompletableFuture.completedFuture(null);
+        private final List<CompletableFuture<?>> sends = new ArrayList<>();
+
+        void send(TelegramApiClient client, BotApiMethod<?> method) {
+            CompletableFuture<?> sent;
+            if (method instanceof AnswerCallbackQuery) {
+                // Answers do not appear in the chat, so they run alongside everything else
+                sent = client.executeAsync(method);
+            } else {
+                sent = messages.handle((result, error) -> null).thenCompose(ignored -> client.executeAsync(method));
+                messages = sent;
+            }
+            sends.add(sent);
+        }
+
+        /**
+         * Waits for every method sent while processing the update, before the webhook is answered.
+         */
+        void awaitSends() {
+            for (CompletableFuture<?> sent : sends) {
+                try {
+                    sent.join();
+                } catch (CompletionException e) {
+                    log.error("Error sending reply: ", e.getCause());
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,119 @@
+package com.nazri.service;
+
+import com.nazri.repository.ProcessedUpdateRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drops updates Telegram delivers again, e.g. after a slow or timed out webhook invocation, so a
+ * command does not write or reply twice.
+ *
+ * Received update ids are kept in a sliding bitmap over the last {@code telegram.dedup.window}
+ * ids below the highest one seen. Ids older than the window cannot be told apart and are let
+ * through. Telegram may redeliver to another Lambda instance, so in the {@code dynamodb} mode the
+ * first delivery is also settled by a conditional write shared by all instances; if DynamoDB
+ * fails the update is processed rather than lost.
+ */
+@ApplicationScoped
+public class UpdateDeduplicator {
+
+    private static final Logger log = Logger.getLogger(UpdateDeduplicator.class);
+
+    public static final String MODE_MEMORY = "memory";
+    public static final String MODE_DYNAMODB = "dynamodb";
+
+    @Inject
+    ProcessedUpdateRepository processedUpdateRepository;
+
+    @ConfigProperty(name = "telegram.dedup.mode", defaultValue = MODE_MEMORY)
+    String mode;
+
+    /** Number of ids tracked, rounded up to a power of two */
+    @ConfigProperty(name = "telegram.dedup.window", defaultValue = "4096")
+    int window;
+
+    @ConfigProperty(name = "telegram.dedup.retention", defaultValue = "PT24H")
+    Duration retention;
+
+    private long[] bits;
+    private int mask;
+    private long highest = -1;
+    private final LongAdder duplicates = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        int size = Math.max(64, Integer.highestOneBit(Math.max(1, window - 1)) << 1);
+        bits = new long[size / 64];
+        mask = size - 1;
+    }
+
+    /**
+     * Records the update as received.
+     *
+     * @param update The update
+     * @return Whether the update was received before and should be dropped
+     */
+    public boolean isDuplicate(Update update) {
+        int updateId = update.getUpdateId();
+        boolean duplicate = markSeen(updateId)
+                || MODE_DYNAMODB.equals(mode) && !markedInDynamoDb(updateId);
+        if (duplicate) {
+            duplicates.increment();
+            log.infof("Dropped duplicate update %d (%d duplicates so far)", updateId, duplicates.sum());
+        }
+        return duplicate;
+    }
+
+    /**
+     * @return Number of updates dropped as duplicates since the start
+     */
+    public long getDuplicates() {
+        return duplicates.sum();
+    }
+
+    /**
+     * @return Whether the id was already marked in the window
+     */
+    synchronized boolean markSeen(int updateId) {
+        if (updateId > highest) {
+            // Free the slots of the ids the window slides past
+            if (highest < 0 || updateId - highest > mask) {
+                Arrays.fill(bits, 0);
+            } else {
+                for (long id = highest + 1; id < updateId; id++) {
+                    bits[(int) (id & mask) >>> 6] &= ~(1L << id);
+                }
+            }
+            highest = updateId;
+            bits[(updateId & mask) >>> 6] |= 1L << updateId;
+            return false;
+        }
+        if (highest - updateId > mask) {
+            return false;
+        }
+        int index = (updateId & mask) >>> 6;
+        long bit = 1L << updateId;
+        if ((bits[index] & bit) != 0) {
+            return true;
+        }
+        bits[index] |= bit;
+        return false;
+    }
+
+    private boolean markedInDynamoDb(int updateId) {
+        try {
+            return processedUpdateRepository.markReceived(updateId, retention);
+        } catch (RuntimeException e) {
+            log.warnf("Could not check update %d for duplicates, processing it: %s", updateId, e.getMessage());
+            return true;
+        }
+    }
+}
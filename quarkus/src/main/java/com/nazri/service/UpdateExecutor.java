@@ -0,0 +1,222 @@
+package com.nazri.service;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Processes webhook updates in the background so the webhook is answered at once, for the
+ * container image where the process outlives the request. Enabled with
+ * {@code telegram.executor.enabled}; on Lambda updates must be processed within the request.
+ *
+ * Updates are spread over {@code telegram.executor.lanes} lanes by chat, each a bounded queue
+ * with one worker: the updates of a chat are processed one at a time in the order received,
+ * while different chats are processed in parallel. When a lane is full the update is refused,
+ * and the webhook asks Telegram to deliver it again later.
+ *
+ * On shutdown no more updates are accepted and the queued ones are processed for up to
+ * {@code telegram.executor.drain-timeout}.
+ */
+@ApplicationScoped
+public class UpdateExecutor {
+
+    private static final Logger log = Logger.getLogger(UpdateExecutor.class);
+
+    @Inject
+    TelegramBot telegramBot;
+
+    @Inject
+    UpdateDeduplicator updateDeduplicator;
+
+    @ConfigProperty(name = "telegram.executor.enabled", defaultValue = "false")
+    boolean enabled;
+
+    /** Number of lanes, 0 for two per available processor */
+    @ConfigProperty(name = "telegram.executor.lanes", defaultValue = "0")
+    int laneCount;
+
+    @ConfigProperty(name = "telegram.executor.queue-capacity", defaultValue = "256")
+    int queueCapacity;
+
+    @ConfigProperty(name = "telegram.executor.drain-timeout", defaultValue = "PT30S")
+    Duration drainTimeout;
+
+    private Lane[] lanes;
+    /** Held to submit; taken exclusively to stop accepting, so nothing is queued after the drain starts */
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private volatile boolean accepting;
+
+    void onStart(@Observes StartupEvent event) {
+        if (enabled) {
+            start();
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        shutdown();
+    }
+
+    /**
+     * @return Whether updates are processed in the background rather than within the webhook request
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    synchronized void start() {
+        if (lanes != null) {
+            return;
+        }
+        int count = laneCount > 0 ? laneCount : 2 * Runtime.getRuntime().availableProcessors();
+        lanes = new Lane[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new Lane(i, queueCapacity);
+        }
+        accepting = true;
+        for (Lane lane : lanes) {
+            lane.worker.start();
+        }
+        log.infof("Processing updates in the background on %d lanes", count);
+    }
+
+    /**
+     * Queues an update behind the earlier updates of its chat.
+     *
+     * @param update The update
+     * @return false if the update was not accepted: its lane is full or the executor is stopping
+     */
+    public boolean submit(Update update) {
+        acceptLock.readLock().lock();
+        try {
+            if (!accepting) {
+                return false;
+            }
+            Lane lane = lanes[laneIndex(chatKey(update), lanes.length)];
+            if (!lane.queue.offer(update)) {
+                log.warnf("Lane %d is full, refusing update %d", lane.index, update.getUpdateId());
+                return false;
+            }
+            return true;
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stops accepting updates and waits for the queued ones, up to the drain timeout.
+     */
+    void shutdown() {
+        Lane[] current;
+        synchronized (this) {
+            current = lanes;
+        }
+        if (current == null) {
+            return;
+        }
+        acceptLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        for (Lane lane : current) {
+            try {
+                lane.worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        int dropped = 0;
+        for (Lane lane : current) {
+            if (lane.worker.isAlive()) {
+                lane.worker.interrupt();
+            }
+            dropped += lane.queue.size();
+        }
+        if (dropped > 0) {
+            log.warnf("Drain timed out, %d queued updates were not processed", dropped);
+        }
+    }
+
+    /**
+     * The chat an update belongs to, or its sender for updates outside a chat (inline queries).
+     * Updates with neither get a key of their own.
+     */
+    static long chatKey(Update update) {
+        if (update.hasMessage()) {
+            return update.getMessage().getChatId();
+        }
+        if (update.hasCallbackQuery()) {
+            return update.getCallbackQuery().getMessage() != null
+                    ? update.getCallbackQuery().getMessage().getChatId()
+                    : update.getCallbackQuery().getFrom().getId();
+        }
+        if (update.hasEditedMessage()) {
+            return update.getEditedMessage().getChatId();
+        }
+        if (update.hasChannelPost()) {
+            return update.getChannelPost().getChatId();
+        }
+        if (update.hasInlineQuery()) {
+            return update.getInlineQuery().getFrom().getId();
+        }
+        return update.getUpdateId();
+    }
+
+    static int laneIndex(long chatKey, int laneCount) {
+        // Chat ids share their low bits (groups are negative, users sequential), so mix them first
+        long hash = chatKey * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(hash ^ (hash >>> 32), (long) laneCount);
+    }
+
+    private void process(Update update) {
+        try {
+            if (!updateDeduplicator.isDuplicate(update)) {
+                telegramBot.onUpdateReceived(update);
+            }
+        } catch (RuntimeException e) {
+            log.errorf(e, "Error processing update %d", update.getUpdateId());
+        }
+    }
+
+    private final class Lane {
+        private final int index;
+        private final BlockingQueue<Update> queue;
+        private final Thread worker;
+
+        private Lane(int index, int capacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.worker = new Thread(this::run, "update-lane-" + index);
+            this.worker.setDaemon(true);
+        }
+
+        private void run() {
+            try {
+                while (accepting || !queue.isEmpty()) {
+                    Update update = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (update != null) {
+                        process(update);
+                    }
+                }
+            } catch (InterruptedException e) {
+                log.debugf("Lane %d interrupted with %d updates queued", index, queue.size());
+            }
+        }
+    }
+}
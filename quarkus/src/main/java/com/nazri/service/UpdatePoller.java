@@ -0,0 +1,266 @@
+package com.nazri.service;
+
+import com.nazri.client.TelegramApiClient;
+import com.nazri.repository.LeaseRepository;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.telegram.telegrambots.meta.api.methods.updates.GetUpdates;
+import org.telegram.telegrambots.meta.api.objects.Update;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Receives updates by long polling getUpdates, for the container image run on our own hosts,
+ * as an alternative to the webhook. Enabled with {@code telegram.polling.enabled}.
+ *
+ * Updates are fetched in batches of up to {@code telegram.polling.limit} and processed in order
+ * by {@link TelegramBot}, like webhook updates. Telegram only forgets an update once a later poll
+ * passes an offset above it, so the offset is advanced only after the batch has been processed:
+ * updates of a batch cut short by a crash are delivered again.
+ *
+ * Telegram serves one poller per bot, so instances coordinate through a lease; only the holder
+ * polls and the others wait to take over once it expires. A batch can take longer than the lease
+ * behind the per-chat rate limits, so the lease is extended between updates once half of it has
+ * passed, and the rest of the batch is left to the new holder if it cannot be.
+ */
+@ApplicationScoped
+public class UpdatePoller {
+
+    private static final Logger log = Logger.getLogger(UpdatePoller.class);
+
+    static final String LEASE_NAME = "telegram-polling";
+
+    @Inject
+    TelegramBot telegramBot;
+
+    @Inject
+    TelegramApiClient telegramApiClient;
+
+    @Inject
+    LeaseRepository leaseRepository;
+
+    @Inject
+    UpdateDeduplicator updateDeduplicator;
+
+    @ConfigProperty(name = "telegram.polling.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "telegram.polling.limit", defaultValue = "100")
+    int limit;
+
+    @ConfigProperty(name = "telegram.polling.timeout", defaultValue = "PT25S")
+    Duration timeout;
+
+    @ConfigProperty(name = "telegram.polling.lease-duration", defaultValue = "PT1M")
+    Duration leaseDuration;
+
+    @ConfigProperty(name = "telegram.polling.retry-delay", defaultValue = "PT5S")
+    Duration retryDelay;
+
+    final String instanceId = UUID.randomUUID().toString();
+
+    /** The next update to fetch; 0 lets Telegram start from the oldest unacknowledged update */
+    private int offset;
+    private boolean leaseHeld;
+    /** When the lease was last taken or extended, by {@link System#nanoTime()} */
+    private long leaseRenewedAt;
+    volatile boolean running;
+    private Thread thread;
+    /** Whether the poller is waiting, in a poll or before retrying, and may be interrupted to stop */
+    private boolean waiting;
+
+    void onStart(@Observes StartupEvent event) {
+        if (enabled) {
+            start();
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stop();
+    }
+
+    synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "telegram-poller");
+        thread.setDaemon(true);
+        thread.start();
+        log.infof("Polling for updates as %s", instanceId);
+    }
+
+    /**
+     * Stops polling after the current batch, acknowledges it and gives up the lease.
+     */
+    void stop() {
+        Thread poller;
+        synchronized (this) {
+            poller = thread;
+            thread = null;
+        }
+        if (poller == null) {
+            return;
+        }
+        synchronized (this) {
+            running = false;
+            // Updates being processed are finished, only waiting is cut short
+            if (waiting) {
+                poller.interrupt();
+            }
+        }
+        try {
+            poller.join(timeout.plus(leaseDuration).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                boolean polled;
+                try {
+                    polled = pollOnce();
+                } catch (RuntimeException e) {
+                    // E.g. DynamoDB or the network is down; waiting keeps the loop from spinning
+                    log.error("Error polling for updates: ", e);
+                    polled = false;
+                }
+                if (!polled) {
+                    await(() -> {
+                        Thread.sleep(retryDelay.toMillis());
+                        return null;
+                    });
+                }
+            } catch (InterruptedException e) {
+                log.debug("Polling interrupted to stop");
+            }
+        }
+        if (leaseHeld) {
+            acknowledge();
+            leaseRepository.release(LEASE_NAME, instanceId);
+            leaseHeld = false;
+        }
+    }
+
+    /**
+     * Takes or extends the lease, then fetches one batch of updates and processes it.
+     *
+     * @return false if this instance should wait before polling again: the lease is held
+     * elsewhere or the poll failed
+     */
+    boolean pollOnce() throws InterruptedException {
+        if (!renewLease()) {
+            return false;
+        }
+
+        GetUpdates getUpdates = poll(limit, (int) timeout.toSeconds());
+        List<Update> updates = await(() -> {
+            try {
+                return telegramApiClient.getUpdates(getUpdates);
+            } catch (TelegramApiException e) {
+                log.warnf("Failed to poll for updates: %s", e.getMessage());
+                return null;
+            }
+        });
+        if (updates == null) {
+            return false;
+        }
+
+        for (Update update : updates) {
+            if (System.nanoTime() - leaseRenewedAt >= leaseDuration.toNanos() / 2 && !renewLease()) {
+                // Another instance may be polling already; it is delivered the rest of the batch
+                return false;
+            }
+            try {
+                // A batch cut short is delivered again
+                if (!updateDeduplicator.isDuplicate(update)) {
+                    telegramBot.onUpdateReceived(update);
+                }
+            } catch (RuntimeException e) {
+                // Skipped rather than retried forever
+                log.errorf(e, "Error processing update %d", update.getUpdateId());
+            }
+            offset = update.getUpdateId() + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Takes or extends the lease.
+     *
+     * @return Whether this instance holds the lease
+     */
+    private boolean renewLease() {
+        boolean acquired = leaseRepository.acquire(LEASE_NAME, instanceId, leaseDuration);
+        if (acquired) {
+            leaseRenewedAt = System.nanoTime();
+        }
+        if (acquired != leaseHeld) {
+            log.info(acquired ? "Acquired the polling lease" : "Lost the polling lease, standing by");
+            leaseHeld = acquired;
+            // Start over from whatever Telegram still holds, another instance may have acknowledged more
+            offset = 0;
+        }
+        return acquired;
+    }
+
+    /**
+     * Tells Telegram the processed updates can be forgotten, as the next poll would have.
+     */
+    private void acknowledge() {
+        if (offset == 0) {
+            return;
+        }
+        try {
+            telegramApiClient.getUpdates(poll(1, 0));
+        } catch (TelegramApiException e) {
+            log.warnf("Failed to acknowledge updates before %d: %s", offset, e.getMessage());
+        }
+    }
+
+    private GetUpdates poll(int pollLimit, int pollSeconds) {
+        GetUpdates getUpdates = new GetUpdates();
+        getUpdates.setOffset(offset);
+        getUpdates.setLimit(pollLimit);
+        getUpdates.setTimeout(pollSeconds);
+        return getUpdates;
+    }
+
+    /**
+     * Runs a wait that {@link #stop} may interrupt; not at all if stopping already.
+     */
+    private <T> T await(Wait<T> wait) throws InterruptedException {
+        synchronized (this) {
+            if (!running) {
+                throw new InterruptedException();
+            }
+            waiting = true;
+        }
+        try {
+            return wait.run();
+        } finally {
+            synchronized (this) {
+                waiting = false;
+                // An interrupt is only delivered while waiting; it must not reach the update processing
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Wait<T> {
+        T run() throws InterruptedException;
+    }
+}
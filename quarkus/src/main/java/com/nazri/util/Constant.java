@@ -3,6 +3,9 @@ package com.nazri.util;
 public class Constant {
 
     public static final String USER_TABLE = "currencycoinverter-user";
+    public static final String LEASE_TABLE = "currencycoinverter-lease";
+    public static final String UPDATE_TABLE = "currencycoinverter-update";
+    public static final String BROADCAST_TABLE = "currencycoinverter-broadcast";
     public static final int CURRENCY_OUTPUT_LIMIT = 3;
 
     public static final String MARKDOWN = "Markdown";
@@ -0,0 +1,173 @@
+package com.nazri.util;
+
+import com.nazri.model.ConversionCallback;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes a {@link ConversionCallback} as compact callback data: "{commandPrefix}:{payload}",
+ * where the payload is base64url (unpadded) of
+ * <pre>
+ * format (1 byte) | amount scale (1 byte, signed) | amount unscaled value (varint)
+ * | source currency id (2 bytes) | target count (1 byte) | target currency ids (2 bytes each)
+ * </pre>
+ * Currency ids are {@link CurrencyId}s. A conversion to three currencies takes about 20
+ * characters and the largest possible payload 30, within Telegram's 64 byte limit for
+ * callback data together with a command prefix such as "convert". Payloads of the first
+ * format, which ended with a rate version (varint), are still read and the version ignored.
+ *
+ * The first payload character is always 'A', so payloads never collide with the plain amounts
+ * ("convert:25") the amount keyboard sends.
+ */
+public final class ConversionCallbackCodec {
+
+    /** Telegram's limit for callback data, in bytes. */
+    public static final int MAX_CALLBACK_DATA = 64;
+
+    private static final byte FORMAT = 2;
+    private static final byte FORMAT_WITH_RATE_VERSION = 1;
+    /** Users keep at most {@link Constant#CURRENCY_OUTPUT_LIMIT} targets; four always fit with a short prefix. */
+    private static final int MAX_TARGETS = 4;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ConversionCallbackCodec() {}
+
+    /**
+     * @param commandPrefix The command handling the button
+     * @param callback The conversion to carry
+     * @return The callback data, or null if the conversion cannot be encoded within {@link #MAX_CALLBACK_DATA}
+     */
+    public static String encode(String commandPrefix, ConversionCallback callback) {
+        BigDecimal amount = callback.getAmount();
+        BigInteger unscaled = amount.unscaledValue();
+        List<String> targets = callback.getToCurrencies();
+        int fromId = CurrencyId.of(callback.getFromCurrency());
+        if (unscaled.signum() < 0 || unscaled.bitLength() > 63 || amount.scale() != (byte) amount.scale()
+                || fromId == CurrencyId.NONE || targets.isEmpty() || targets.size() > MAX_TARGETS) {
+            return null;
+        }
+
+        byte[] bytes = new byte[2 + 10 + 2 + 1 + 2 * targets.size()];
+        int size = 0;
+        bytes[size++] = FORMAT;
+        bytes[size++] = (byte) amount.scale();
+        size = writeVarint(bytes, size, unscaled.longValue());
+        size = writeShort(bytes, size, fromId);
+        bytes[size++] = (byte) targets.size();
+        for (String target : targets) {
+            int id = CurrencyId.of(target);
+            if (id == CurrencyId.NONE) {
+                return null;
+            }
+            size = writeShort(bytes, size, id);
+        }
+
+        String payload = new String(ENCODER.encode(Arrays.copyOf(bytes, size)), StandardCharsets.US_ASCII);
+        String data = commandPrefix + ":" + payload;
+        return data.getBytes(StandardCharsets.UTF_8).length <= MAX_CALLBACK_DATA ? data : null;
+    }
+
+    /**
+     * @param payload The callback data after the command prefix
+     * @return The conversion, or null if the payload is not an encoded conversion
+     */
+    public static ConversionCallback decode(String payload) {
+        if (payload == null || payload.isEmpty() || payload.charAt(0) != 'A') {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(payload);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        Reader reader = new Reader(bytes);
+        int format = reader.readByte();
+        if (format != FORMAT && format != FORMAT_WITH_RATE_VERSION) {
+            return null;
+        }
+        int scale = reader.readByte();
+        long unscaled = reader.readVarint();
+        int fromId = reader.readShort();
+        int count = reader.readByte();
+        if (reader.failed || count <= 0 || count > MAX_TARGETS || fromId >= CurrencyId.COUNT) {
+            return null;
+        }
+        List<String> targets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = reader.readShort();
+            if (reader.failed || id >= CurrencyId.COUNT) {
+                return null;
+            }
+            targets.add(CurrencyId.toCode(id));
+        }
+        if (format == FORMAT_WITH_RATE_VERSION) {
+            reader.readVarint();
+        }
+        if (reader.failed || reader.position != bytes.length) {
+            return null;
+        }
+        return new ConversionCallback(BigDecimal.valueOf(unscaled, scale), CurrencyId.toCode(fromId), targets);
+    }
+
+    private static int writeShort(byte[] bytes, int size, int value) {
+        bytes[size++] = (byte) (value >>> 8);
+        bytes[size++] = (byte) value;
+        return size;
+    }
+
+    /**
+     * Writes a non-negative value seven bits at a time, least significant first.
+     */
+    private static int writeVarint(byte[] bytes, int size, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+        return size;
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+        private boolean failed;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int readByte() {
+            if (position >= bytes.length) {
+                failed = true;
+                return 0;
+            }
+            return bytes[position++];
+        }
+
+        int readShort() {
+            return (readByte() & 0xFF) << 8 | readByte() & 0xFF;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 63; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            failed = true;
+            return 0;
+        }
+    }
+}
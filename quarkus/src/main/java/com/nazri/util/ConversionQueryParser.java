@@ -0,0 +1,234 @@
+package com.nazri.util;
+
+import com.nazri.model.ConversionQuery;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recognizes one-shot conversion queries of the form
+ * {@code <amount> <from> to|in <to>[, <to>...]}, e.g. "100 usd to sgd, myr" or
+ * "2,500 japan in singapore".
+ *
+ * The text is tokenized in a single pass and fed through a small state machine;
+ * currency phrases are resolved through {@link CurrencyIndex}.
+ */
+public final class ConversionQueryParser {
+
+    public static final int MAX_LENGTH = 256;
+    public static final int MAX_TARGETS = 10;
+
+    private enum State {
+        START,      // expecting the amount
+        AMOUNT,     // amount read, expecting the source currency
+        FROM,       // reading the source currency, until "to" / "in"
+        EXPECT_TO,  // after the keyword or a comma, expecting a target currency
+        TO          // reading a target currency, until "," or end of input
+    }
+
+    private ConversionQueryParser() {}
+
+    /**
+     * Parses a one-shot conversion query.
+     *
+     * @param text The message text
+     * @return The parsed query, or null if the text is not a query or mentions an unknown currency
+     */
+    public static ConversionQuery parse(String text) {
+        return parse(text, null);
+    }
+
+    /**
+     * Parses a one-shot conversion query whose target currencies may be left out, e.g. "100 usd",
+     * and whose last currency may still be being typed, e.g. "100 mal" or "100 usd to sg". A
+     * partial currency is completed to its most popular match, see {@link CurrencyCompletions}.
+     *
+     * @param text The query text
+     * @param defaultTargets The target currencies if the query has none, null to require them
+     * @return The parsed query, or null if the text is not a query or mentions an unknown currency
+     */
+    public static ConversionQuery parse(String text, List<String> defaultTargets) {
+        if (text == null || text.length() > MAX_LENGTH) {
+            return null;
+        }
+
+        State state = State.START;
+        BigDecimal amount = null;
+        String fromCurrency = null;
+        List<String> toCurrencies = new ArrayList<>();
+        StringBuilder phrase = new StringBuilder();
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            if (state == State.START) {
+                int end = scanNumber(text, i);
+                amount = parseAmount(text, i, end);
+                if (amount == null) {
+                    return null;
+                }
+                state = State.AMOUNT;
+                i = end;
+                continue;
+            }
+
+            if (c == ',') {
+                if (state != State.TO || !addTarget(phrase, toCurrencies, false)) {
+                    return null;
+                }
+                state = State.EXPECT_TO;
+                i++;
+                continue;
+            }
+
+            int end = scanWord(text, i);
+            switch (state) {
+                case AMOUNT:
+                    phrase.append(text, i, end);
+                    state = State.FROM;
+                    break;
+                case FROM:
+                    if (isKeyword(text, i, end)) {
+                        fromCurrency = CurrencyIndex.resolve(phrase.toString());
+                        if (fromCurrency == null) {
+                            return null;
+                        }
+                        phrase.setLength(0);
+                        state = State.EXPECT_TO;
+                    } else {
+                        phrase.append(' ').append(text, i, end);
+                    }
+                    break;
+                case EXPECT_TO:
+                    phrase.append(text, i, end);
+                    state = State.TO;
+                    break;
+                case TO:
+                    phrase.append(' ').append(text, i, end);
+                    break;
+                default:
+                    return null;
+            }
+            i = end;
+        }
+
+        boolean partial = defaultTargets != null;
+        if (state == State.FROM && partial) {
+            fromCurrency = resolve(phrase, true);
+            if (fromCurrency == null) {
+                return null;
+            }
+            for (String target : defaultTargets) {
+                if (!target.equals(fromCurrency) && toCurrencies.size() < MAX_TARGETS) {
+                    toCurrencies.add(target);
+                }
+            }
+            return toCurrencies.isEmpty() ? null : new ConversionQuery(amount, fromCurrency, toCurrencies);
+        }
+        if (state != State.TO || !addTarget(phrase, toCurrencies, partial)) {
+            return null;
+        }
+        return new ConversionQuery(amount, fromCurrency, toCurrencies);
+    }
+
+    private static String resolve(StringBuilder phrase, boolean partial) {
+        String currencyCode = CurrencyIndex.resolve(phrase.toString());
+        if (currencyCode == null && partial) {
+            List<String> completions = CurrencyCompletions.complete(phrase);
+            currencyCode = completions.isEmpty() ? null : completions.get(0);
+        }
+        return currencyCode;
+    }
+
+    private static boolean addTarget(StringBuilder phrase, List<String> toCurrencies, boolean partial) {
+        String currencyCode = resolve(phrase, partial);
+        phrase.setLength(0);
+        if (currencyCode == null) {
+            return false;
+        }
+        if (!toCurrencies.contains(currencyCode)) {
+            toCurrencies.add(currencyCode);
+        }
+        return toCurrencies.size() <= MAX_TARGETS;
+    }
+
+    private static boolean isKeyword(String text, int start, int end) {
+        return end - start == 2
+                && (text.regionMatches(true, start, "to", 0, 2) || text.regionMatches(true, start, "in", 0, 2));
+    }
+
+    private static int scanNumber(String text, int start) {
+        int i = start;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if ((c < '0' || c > '9') && c != '.' && c != ',') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int scanWord(String text, int start) {
+        int i = start;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || c == ',') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Parses a positive decimal amount, allowing "," as a thousands separator (e.g. "2,500.50").
+     */
+    private static BigDecimal parseAmount(String text, int start, int end) {
+        if (start == end) {
+            return null;
+        }
+
+        StringBuilder digits = new StringBuilder(end - start);
+        int groupLength = -1;
+        boolean fraction = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == ',') {
+                // Grouping separators are only valid every three integer digits
+                if (fraction || digits.length() == 0 || (groupLength != -1 && groupLength != 3)) {
+                    return null;
+                }
+                groupLength = 0;
+                continue;
+            }
+            if (c == '.') {
+                if (fraction || (groupLength != -1 && groupLength != 3)) {
+                    return null;
+                }
+                fraction = true;
+            } else if (!fraction && groupLength != -1) {
+                groupLength++;
+            }
+            digits.append(c);
+        }
+        if (!fraction && groupLength != -1 && groupLength != 3) {
+            return null;
+        }
+
+        try {
+            BigDecimal amount = new BigDecimal(digits.toString());
+            return amount.signum() > 0 ? amount : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
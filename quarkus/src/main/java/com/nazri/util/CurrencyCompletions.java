@@ -0,0 +1,175 @@
+package com.nazri.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Autocompletion of partially typed currencies ("m", "ma", "mal", ...) over currency codes,
+ * country codes and English country names, English currency names ("ringgit") and the
+ * ambiguous names and symbols known to {@link CurrencyMentionDetector} ("dollar", "$").
+ *
+ * The index is an immutable trie stored as flat arrays. Every node holds its top completions,
+ * ranked by global popularity, as a shared immutable list, so completing a prefix walks the
+ * typed characters and allocates nothing.
+ */
+public final class CurrencyCompletions {
+
+    /** Completions kept per prefix; one keyboard row. */
+    public static final int MAX_COMPLETIONS = 5;
+
+    private static final Trie TRIE = build();
+
+    private CurrencyCompletions() {}
+
+    /**
+     * Completes a partially typed currency.
+     *
+     * @param prefix The typed text (case-insensitive, surrounding whitespace ignored)
+     * @return Up to {@link #MAX_COMPLETIONS} currency codes, most popular first; the same list
+     * instance for the same prefix, empty if nothing matches
+     */
+    public static List<String> complete(CharSequence prefix) {
+        if (prefix == null) {
+            return List.of();
+        }
+        int start = 0;
+        int end = prefix.length();
+        while (start < end && Character.isWhitespace(prefix.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(prefix.charAt(end - 1))) {
+            end--;
+        }
+        return TRIE.complete(prefix, start, end);
+    }
+
+    private static Trie build() {
+        Node root = new Node();
+        Set<String> current = new TreeSet<>();
+        CurrencyIndex.entries().forEach((key, code) -> {
+            root.insert(key, code);
+            if (!key.equals(code)) {
+                current.add(code);
+            }
+        });
+        // English names of currencies in use, in full and by their last word
+        for (String code : current) {
+            String name = Currency.getInstance(code).getDisplayName(Locale.ENGLISH);
+            if (!name.equals(code)) {
+                root.insert(name, code);
+                root.insert(name.substring(name.lastIndexOf(' ') + 1), code);
+            }
+        }
+        for (int symbolId = 0; symbolId < CurrencyMentionDetector.symbolCount(); symbolId++) {
+            String symbol = CurrencyMentionDetector.symbol(symbolId);
+            for (String code : CurrencyMentionDetector.candidates(symbolId)) {
+                root.insert(symbol, code);
+            }
+        }
+        return new Trie(root);
+    }
+
+    private static char fold(char c) {
+        return Character.toUpperCase(c);
+    }
+
+    /**
+     * Mutable trie node used while building.
+     */
+    private static final class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        // Currency -> length of its shortest key in this subtree
+        private final Map<String, Integer> currencies = new HashMap<>();
+
+        private void insert(String key, String code) {
+            Node node = this;
+            node.add(code, key.length());
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(fold(key.charAt(i)), c -> new Node());
+                node.add(code, key.length());
+            }
+        }
+
+        private void add(String code, int keyLength) {
+            currencies.merge(code, keyLength, Math::min);
+        }
+
+        /**
+         * Most popular first; ties go to the currency with the shortest key, then the code.
+         */
+        private List<String> top() {
+            return currencies.entrySet().stream()
+                    .sorted(Comparator.<Map.Entry<String, Integer>>comparingInt(e -> CurrencyIndex.popularity(e.getKey()))
+                            .thenComparing(Map.Entry::getValue)
+                            .thenComparing(Map.Entry::getKey))
+                    .limit(MAX_COMPLETIONS)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+    }
+
+    /**
+     * Immutable trie: per node, sorted outgoing labels, their target nodes and the completions.
+     */
+    private static final class Trie {
+        private final char[][] labels;
+        private final int[][] children;
+        private final List<List<String>> completions;
+
+        private Trie(Node root) {
+            // Number the nodes breadth-first
+            List<Node> nodes = new ArrayList<>();
+            ArrayDeque<Node> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                nodes.add(node);
+                queue.addAll(node.children.values());
+            }
+            Map<Node, Integer> ids = new HashMap<>();
+            for (int i = 0; i < nodes.size(); i++) {
+                ids.put(nodes.get(i), i);
+            }
+
+            labels = new char[nodes.size()][];
+            children = new int[nodes.size()][];
+            completions = new ArrayList<>(nodes.size());
+            // Long keys share one list along their unbranched tail
+            Map<List<String>, List<String>> shared = new HashMap<>();
+            for (int i = 0; i < nodes.size(); i++) {
+                Node node = nodes.get(i);
+                labels[i] = new char[node.children.size()];
+                children[i] = new int[node.children.size()];
+                int index = 0;
+                for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                    labels[i][index] = child.getKey();
+                    children[i][index] = ids.get(child.getValue());
+                    index++;
+                }
+                completions.add(shared.computeIfAbsent(node.top(), top -> top));
+            }
+        }
+
+        private List<String> complete(CharSequence prefix, int start, int end) {
+            int node = 0;
+            for (int i = start; i < end; i++) {
+                int index = Arrays.binarySearch(labels[node], fold(prefix.charAt(i)));
+                if (index < 0) {
+                    return List.of();
+                }
+                node = children[node][index];
+            }
+            return completions.get(node);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.nazri.util;
+
+/**
+ * Dense numeric IDs for three-letter currency codes.
+ *
+ * The ID is the base-26 value of the code's letters ("AAA" = 0 ... "ZZZ" = 17575), so it is
+ * stable across releases, case-insensitive, fits in two bytes and can index plain arrays.
+ */
+public final class CurrencyId {
+
+    /** Number of possible IDs; valid IDs are {@code 0 <= id < COUNT}. */
+    public static final int COUNT = 26 * 26 * 26;
+
+    /** Returned for input that is not a three-letter code. */
+    public static final int NONE = -1;
+
+    private CurrencyId() {}
+
+    /**
+     * Computes the ID of a currency code without allocating.
+     *
+     * @param code The currency code, in any case
+     * @return The ID, or {@link #NONE} if the code is not exactly three ASCII letters
+     */
+    public static int of(CharSequence code) {
+        if (code == null || code.length() != 3) {
+            return NONE;
+        }
+        int id = 0;
+        for (int i = 0; i < 3; i++) {
+            int letter = letter(code.charAt(i));
+            if (letter < 0) {
+                return NONE;
+            }
+            id = id * 26 + letter;
+        }
+        return id;
+    }
+
+    /**
+     * @param id A currency ID
+     * @return The upper-case currency code for the ID
+     * @throws IllegalArgumentException if the ID is out of range
+     */
+    public static String toCode(int id) {
+        if (id < 0 || id >= COUNT) {
+            throw new IllegalArgumentException("Invalid currency id: " + id);
+        }
+        return new String(new char[]{
+                (char) ('A' + id / (26 * 26)), (char) ('A' + id / 26 % 26), (char) ('A' + id % 26)});
+    }
+
+    private static int letter(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        return -1;
+    }
+}
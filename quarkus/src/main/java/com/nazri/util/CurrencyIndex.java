@@ -0,0 +1,106 @@
+package com.nazri.util;
+
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Precomputed lookup from user input (currency code, country code or English country name)
+ * to ISO 4217 currency code.
+ *
+ * The index is built once from the JDK currency and locale data, replacing the per-call
+ * scan over {@link Locale#getAvailableLocales()}. Resolution precedence matches the
+ * original lookup: currency code, then country code, then country name.
+ */
+public final class CurrencyIndex {
+
+    /**
+     * Most traded currencies first; used to order candidates whenever a symbol or
+     * name maps to more than one currency.
+     */
+    private static final List<String> POPULAR_CURRENCIES = List.of(
+            "USD", "EUR", "JPY", "GBP", "CNY", "AUD", "CAD", "CHF", "HKD", "SGD",
+            "SEK", "KRW", "NOK", "NZD", "INR", "MXN", "TWD", "ZAR", "BRL", "DKK",
+            "PLN", "THB", "ILS", "IDR", "CZK", "AED", "TRY", "HUF", "CLP", "SAR",
+            "PHP", "MYR", "COP", "RUB", "RON", "PEN", "BHD", "BGN", "ARS", "VND");
+
+    private static final Map<String, String> LOOKUP = build();
+
+    private CurrencyIndex() {}
+
+    /**
+     * Resolves a currency code, country code or country name to a currency code.
+     *
+     * @param input The user input (case-insensitive, surrounding whitespace ignored)
+     * @return The ISO 4217 currency code, or null if the input cannot be resolved
+     */
+    public static String resolve(String input) {
+        if (input == null) {
+            return null;
+        }
+        return LOOKUP.get(input.trim().toUpperCase());
+    }
+
+    /**
+     * Global popularity rank of a currency.
+     *
+     * @param currencyCode The ISO 4217 currency code
+     * @return 0 for the most popular currency, increasing from there; unranked currencies share the last rank
+     */
+    public static int popularity(String currencyCode) {
+        int rank = POPULAR_CURRENCIES.indexOf(currencyCode);
+        return rank >= 0 ? rank : POPULAR_CURRENCIES.size();
+    }
+
+    /**
+     * @return Every resolvable input (upper case) and its currency code
+     */
+    static Map<String, String> entries() {
+        return LOOKUP;
+    }
+
+    private static Map<String, String> build() {
+        Map<String, String> lookup = new HashMap<>();
+
+        // Lowest precedence first: full country names (first matching locale wins)
+        for (Locale locale : Locale.getAvailableLocales()) {
+            String name = locale.getDisplayCountry(Locale.ENGLISH).toUpperCase();
+            if (name.isEmpty() || lookup.containsKey(name)) {
+                continue;
+            }
+            String code = currencyOf(locale);
+            if (code != null) {
+                lookup.put(name, code);
+            }
+        }
+
+        // Two-letter country codes
+        for (char first = 'A'; first <= 'Z'; first++) {
+            for (char second = 'A'; second <= 'Z'; second++) {
+                String country = new String(new char[]{first, second});
+                String code = currencyOf(Locale.of("", country));
+                if (code != null) {
+                    lookup.put(country, code);
+                }
+            }
+        }
+
+        // Currency codes take precedence over everything else
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            lookup.put(currency.getCurrencyCode(), currency.getCurrencyCode());
+        }
+
+        return Map.copyOf(lookup);
+    }
+
+    private static String currencyOf(Locale locale) {
+        try {
+            Currency currency = Currency.getInstance(locale);
+            return currency != null ? currency.getCurrencyCode() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,542 @@
+package com.nazri.util;
+
+import com.nazri.model.CurrencyMention;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Finds every (amount, currency) pair in free text such as a forwarded price list:
+ * "Hotel $120, taxi ฿350, dinner ¥4,000".
+ *
+ * An Aho–Corasick automaton over all currency codes, symbols and names is built once
+ * from the JDK currency data. Detection walks the text a single time, collecting
+ * currency matches and numbers together, then pairs each currency with the number
+ * written directly before or after it.
+ */
+public final class CurrencyMentionDetector {
+
+    public static final int MAX_TEXT_LENGTH = 4096;
+    public static final int MAX_MENTIONS = 20;
+
+    /** Currency codes that are also common English words; these only match when written in upper case. */
+    private static final Set<String> WORD_LIKE_CODES = Set.of(
+            "ALL", "BAM", "BOB", "CAD", "CUP", "GEL", "MAD", "MOP", "NAD", "PEN", "SOS", "TOP", "TRY");
+
+    /** Symbols that are plain letters but unambiguous enough in front of or behind an amount. */
+    private static final Map<String, String> LETTER_SYMBOLS = Map.of(
+            "RM", "MYR", "Rp", "IDR", "Rs", "INR", "kr", "SEK", "Ft", "HUF", "Ksh", "KES", "TSh", "TZS", "USh", "UGX");
+
+    /** Symbols not (or not consistently) reported by the JDK locale data. */
+    private static final Map<String, List<String>> EXTRA_SYMBOLS = Map.ofEntries(
+            Map.entry("$", List.of("USD", "HKD")),
+            Map.entry("US$", List.of("USD")),
+            Map.entry("S$", List.of("SGD")),
+            Map.entry("A$", List.of("AUD")),
+            Map.entry("AU$", List.of("AUD")),
+            Map.entry("C$", List.of("CAD")),
+            Map.entry("CA$", List.of("CAD")),
+            Map.entry("NZ$", List.of("NZD")),
+            Map.entry("NT$", List.of("TWD")),
+            Map.entry("€", List.of("EUR")),
+            Map.entry("£", List.of("GBP")),
+            Map.entry("¥", List.of("JPY", "CNY")),
+            Map.entry("￥", List.of("JPY", "CNY")),
+            Map.entry("円", List.of("JPY")),
+            Map.entry("元", List.of("CNY")),
+            Map.entry("₩", List.of("KRW")),
+            Map.entry("฿", List.of("THB")),
+            Map.entry("₹", List.of("INR")),
+            Map.entry("₱", List.of("PHP")),
+            Map.entry("₫", List.of("VND")));
+
+    /** Last words of currency names that are too common as ordinary words to be used alone. */
+    private static final Set<String> NAME_STOP_WORDS = Set.of("won", "real", "mark");
+
+    private static final Automaton AUTOMATON = build();
+
+    private CurrencyMentionDetector() {}
+
+    /**
+     * Extracts the amounts and currencies mentioned in a message.
+     *
+     * @param text The message text; only the first {@link #MAX_TEXT_LENGTH} characters are scanned
+     * @return The mentions in order of appearance, at most {@link #MAX_MENTIONS}
+     */
+    public static List<CurrencyMention> detect(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        return AUTOMATON.detect(text, Math.min(text.length(), MAX_TEXT_LENGTH));
+    }
+
+    /**
+     * @return Number of ambiguous symbols and names, i.e. the range of {@link CurrencyMention#getSymbolId()}
+     */
+    public static int symbolCount() {
+        return AUTOMATON.symbols.length;
+    }
+
+    /**
+     * @param symbolId An ambiguous symbol id
+     * @return The symbol as matched (lower case), e.g. "$" or "dollar"
+     */
+    public static String symbol(int symbolId) {
+        return AUTOMATON.symbols[symbolId];
+    }
+
+    /**
+     * @param symbolId An ambiguous symbol id
+     * @return The candidate currency codes, most popular first
+     */
+    public static List<String> candidates(int symbolId) {
+        return List.of(AUTOMATON.candidates[symbolId]);
+    }
+
+    private static Automaton build() {
+        Map<String, Set<String>> patterns = new LinkedHashMap<>();
+        Set<String> upperCaseOnly = new LinkedHashSet<>();
+
+        // Currencies in use somewhere, so names and symbols do not pick up historical currencies
+        Set<String> current = new LinkedHashSet<>();
+        for (String country : Locale.getISOCountries()) {
+            try {
+                Currency currency = Currency.getInstance(Locale.of("", country));
+                if (currency != null) {
+                    current.add(currency.getCurrencyCode());
+                }
+            } catch (IllegalArgumentException ignored) {
+                // No currency for this country
+            }
+        }
+
+        // ISO codes
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            String code = currency.getCurrencyCode();
+            add(patterns, code, code);
+            if (WORD_LIKE_CODES.contains(code)) {
+                upperCaseOnly.add(code.toLowerCase());
+            }
+        }
+
+        // Local symbols, e.g. "RM" in ms_MY or "₩" in ko_KR
+        for (Locale locale : Locale.getAvailableLocales()) {
+            if (locale.getCountry().isEmpty()) {
+                continue;
+            }
+            try {
+                Currency currency = Currency.getInstance(locale);
+                String symbol = currency.getSymbol(locale);
+                if (isSymbol(symbol)) {
+                    add(patterns, symbol, currency.getCurrencyCode());
+                }
+            } catch (IllegalArgumentException | NullPointerException ignored) {
+                // No currency for this locale
+            }
+        }
+        LETTER_SYMBOLS.forEach((symbol, code) -> add(patterns, symbol, code));
+        EXTRA_SYMBOLS.forEach((symbol, codes) -> codes.forEach(code -> add(patterns, symbol, code)));
+
+        // English names ("Thai Baht") and their last word on its own ("baht"), with plurals
+        for (String code : current) {
+            String name = Currency.getInstance(code).getDisplayName(Locale.ENGLISH);
+            if (name.equals(code) || !name.chars().allMatch(c -> Character.isLetter(c) || c == ' ')) {
+                continue;
+            }
+            addWithPlural(patterns, name, code);
+            String lastWord = name.substring(name.lastIndexOf(' ') + 1);
+            if (!NAME_STOP_WORDS.contains(lastWord.toLowerCase())) {
+                addWithPlural(patterns, lastWord, code);
+            }
+        }
+
+        return new Automaton(patterns, upperCaseOnly);
+    }
+
+    private static boolean isSymbol(String symbol) {
+        for (int i = 0; i < symbol.length(); i++) {
+            char c = symbol.charAt(i);
+            if (c >= '0' && c <= '9') {
+                return false;
+            }
+        }
+        // Plain-letter symbols ("K", "den") are too noisy; curated ones come from LETTER_SYMBOLS
+        return !symbol.chars().allMatch(c -> (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'));
+    }
+
+    private static void addWithPlural(Map<String, Set<String>> patterns, String name, String code) {
+        add(patterns, name, code);
+        if (!name.endsWith("s")) {
+            add(patterns, name + "s", code);
+        }
+    }
+
+    private static void add(Map<String, Set<String>> patterns, String pattern, String code) {
+        patterns.computeIfAbsent(pattern.toLowerCase(), k -> new LinkedHashSet<>()).add(code);
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * Immutable Aho–Corasick automaton over case-folded patterns, stored as flat arrays.
+     */
+    private static final class Automaton {
+        // Per node: sorted outgoing labels and their target nodes
+        private final char[][] labels;
+        private final int[][] children;
+        private final int[] fail;
+        // Pattern ending at this node, or -1
+        private final int[] output;
+        // Nearest node on the failure chain that ends a pattern, or 0
+        private final int[] dictLink;
+
+        private final int[] patternLength;
+        private final String[] patternCurrency;
+        private final int[] patternSymbol;
+        private final boolean[] patternLetterStart;
+        private final boolean[] patternLetterEnd;
+        private final boolean[] patternUpperCaseOnly;
+
+        private final String[] symbols;
+        private final String[][] candidates;
+
+        private Automaton(Map<String, Set<String>> patterns, Set<String> upperCaseOnly) {
+            int count = patterns.size();
+            patternLength = new int[count];
+            patternCurrency = new String[count];
+            patternSymbol = new int[count];
+            patternLetterStart = new boolean[count];
+            patternLetterEnd = new boolean[count];
+            patternUpperCaseOnly = new boolean[count];
+
+            List<String> symbolList = new ArrayList<>();
+            List<String[]> candidateList = new ArrayList<>();
+            List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+            List<Integer> terminal = new ArrayList<>();
+            trie.add(new TreeMap<>());
+            terminal.add(-1);
+
+            int id = 0;
+            for (Map.Entry<String, Set<String>> entry : patterns.entrySet()) {
+                String pattern = entry.getKey();
+                String[] codes = entry.getValue().stream()
+                        .sorted(Comparator.comparingInt(CurrencyIndex::popularity).thenComparing(code -> code))
+                        .toArray(String[]::new);
+
+                patternLength[id] = pattern.length();
+                patternCurrency[id] = codes[0];
+                patternLetterStart[id] = Character.isLetter(pattern.charAt(0));
+                patternLetterEnd[id] = Character.isLetter(pattern.charAt(pattern.length() - 1));
+                patternUpperCaseOnly[id] = upperCaseOnly.contains(pattern);
+                if (codes.length > 1) {
+                    patternSymbol[id] = symbolList.size();
+                    symbolList.add(pattern);
+                    candidateList.add(codes);
+                } else {
+                    patternSymbol[id] = CurrencyMention.UNAMBIGUOUS;
+                }
+
+                int node = 0;
+                for (int i = 0; i < pattern.length(); i++) {
+                    Integer next = trie.get(node).get(pattern.charAt(i));
+                    if (next == null) {
+                        next = trie.size();
+                        trie.add(new TreeMap<>());
+                        terminal.add(-1);
+                        trie.get(node).put(pattern.charAt(i), next);
+                    }
+                    node = next;
+                }
+                terminal.set(node, id);
+                id++;
+            }
+            symbols = symbolList.toArray(new String[0]);
+            candidates = candidateList.toArray(new String[0][]);
+
+            int nodes = trie.size();
+            labels = new char[nodes][];
+            children = new int[nodes][];
+            output = new int[nodes];
+            for (int node = 0; node < nodes; node++) {
+                TreeMap<Character, Integer> edges = trie.get(node);
+                labels[node] = new char[edges.size()];
+                children[node] = new int[edges.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                    labels[node][i] = edge.getKey();
+                    children[node][i] = edge.getValue();
+                    i++;
+                }
+                output[node] = terminal.get(node);
+            }
+
+            // Breadth-first construction of failure and dictionary links
+            fail = new int[nodes];
+            dictLink = new int[nodes];
+            int[] queue = new int[nodes];
+            int head = 0;
+            int tail = 0;
+            for (int child : children[0]) {
+                queue[tail++] = child;
+            }
+            while (head < tail) {
+                int node = queue[head++];
+                for (int i = 0; i < labels[node].length; i++) {
+                    char c = labels[node][i];
+                    int child = children[node][i];
+                    int f = fail[node];
+                    while (f != 0 && next(f, c) < 0) {
+                        f = fail[f];
+                    }
+                    int target = next(f, c);
+                    fail[child] = target >= 0 && target != child ? target : 0;
+                    dictLink[child] = output[fail[child]] >= 0 ? fail[child] : dictLink[fail[child]];
+                    queue[tail++] = child;
+                }
+            }
+        }
+
+        private int next(int node, char c) {
+            char[] nodeLabels = labels[node];
+            int low = 0;
+            int high = nodeLabels.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (nodeLabels[mid] < c) {
+                    low = mid + 1;
+                } else if (nodeLabels[mid] > c) {
+                    high = mid - 1;
+                } else {
+                    return children[node][mid];
+                }
+            }
+            return -1;
+        }
+
+        private List<CurrencyMention> detect(String text, int length) {
+            // Currency matches and numbers as [start, end, pattern] / [start, end] triples in flat arrays
+            IntList matches = new IntList();
+            IntList numbers = new IntList();
+
+            int node = 0;
+            int numberStart = -1;
+            for (int i = 0; i < length; i++) {
+                char raw = text.charAt(i);
+
+                if (raw >= '0' && raw <= '9') {
+                    if (numberStart < 0) {
+                        numberStart = i;
+                    }
+                } else if (numberStart >= 0 && !((raw == ',' || raw == '.') && i + 1 < length && isDigit(text.charAt(i + 1)))) {
+                    numbers.add(numberStart, i);
+                    numberStart = -1;
+                }
+
+                char c = fold(raw);
+                int target = next(node, c);
+                while (target < 0 && node != 0) {
+                    node = fail[node];
+                    target = next(node, c);
+                }
+                node = target < 0 ? 0 : target;
+
+                for (int m = output[node] >= 0 ? node : dictLink[node]; m != 0; m = dictLink[m]) {
+                    int pattern = output[m];
+                    int start = i + 1 - patternLength[pattern];
+                    if (isValidMatch(text, length, pattern, start, i + 1)) {
+                        addMatch(matches, start, i + 1, pattern);
+                        break;
+                    }
+                }
+            }
+            if (numberStart >= 0) {
+                numbers.add(numberStart, length);
+            }
+
+            return pair(text, matches, numbers);
+        }
+
+        private boolean isValidMatch(String text, int length, int pattern, int start, int end) {
+            if (patternLetterStart[pattern] && start > 0 && Character.isLetter(text.charAt(start - 1))) {
+                return false;
+            }
+            if (patternLetterEnd[pattern] && end < length && Character.isLetter(text.charAt(end))) {
+                return false;
+            }
+            if (patternUpperCaseOnly[pattern]) {
+                for (int i = start; i < end; i++) {
+                    if (!Character.isUpperCase(text.charAt(i))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Adds a match, resolving overlaps in favour of the longer match.
+         * Matches arrive ordered by end position, so only the tail needs checking.
+         */
+        private static void addMatch(IntList matches, int start, int end, int pattern) {
+            while (matches.size() > 0 && matches.get(matches.size() - 2) > start) {
+                int lastStart = matches.get(matches.size() - 3);
+                int lastEnd = matches.get(matches.size() - 2);
+                if (end - start <= lastEnd - lastStart) {
+                    return;
+                }
+                matches.truncate(matches.size() - 3);
+            }
+            matches.add(start, end, pattern);
+        }
+
+        /**
+         * Pairs each currency match with an adjacent number. Symbols prefer the number after
+         * them ("$120"), codes and names the number before them ("350 baht").
+         */
+        private List<CurrencyMention> pair(String text, IntList matches, IntList numbers) {
+            List<CurrencyMention> mentions = new ArrayList<>();
+            boolean[] used = new boolean[numbers.size() / 2];
+            int n = 0;
+            for (int m = 0; m < matches.size() && mentions.size() < MAX_MENTIONS; m += 3) {
+                int start = matches.get(m);
+                int end = matches.get(m + 1);
+                int pattern = matches.get(m + 2);
+
+                // First number not ending before this match
+                while (n < used.length && numbers.get(n * 2 + 1) <= start) {
+                    n++;
+                }
+                int before = n > 0 && !used[n - 1] && isAdjacent(text, numbers.get((n - 1) * 2 + 1), start) ? n - 1 : -1;
+                int after = -1;
+                for (int k = n; k < used.length && numbers.get(k * 2) < end + 2; k++) {
+                    if (numbers.get(k * 2) >= end && !used[k] && isAdjacent(text, end, numbers.get(k * 2))) {
+                        after = k;
+                        break;
+                    }
+                }
+
+                int chosen = patternLetterStart[pattern] ? (before >= 0 ? before : after) : (after >= 0 ? after : before);
+                if (chosen < 0) {
+                    continue;
+                }
+                BigDecimal amount = parseNumber(text, numbers.get(chosen * 2), numbers.get(chosen * 2 + 1));
+                if (amount == null) {
+                    continue;
+                }
+                used[chosen] = true;
+                mentions.add(new CurrencyMention(amount, patternCurrency[pattern], patternSymbol[pattern]));
+            }
+            return mentions;
+        }
+    }
+
+    /**
+     * True if the gap between {@code end} and {@code start} is empty or a single whitespace character.
+     */
+    private static boolean isAdjacent(String text, int end, int start) {
+        return start == end || (start == end + 1 && Character.isWhitespace(text.charAt(end)));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Parses a number written with "," and/or "." separators, e.g. "4,000", "1.234,56" or "12.50".
+     * When both separators appear the last one is the decimal point; a lone "," followed by
+     * exactly three digits is a thousands separator.
+     */
+    static BigDecimal parseNumber(String text, int start, int end) {
+        int commas = 0;
+        int dots = 0;
+        int lastSeparator = -1;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == ',') {
+                commas++;
+                lastSeparator = i;
+            } else if (c == '.') {
+                dots++;
+                lastSeparator = i;
+            }
+        }
+
+        char decimal;
+        if (commas > 0 && dots > 0) {
+            decimal = text.charAt(lastSeparator);
+        } else if (commas == 1) {
+            decimal = end - lastSeparator - 1 == 3 ? 0 : ',';
+        } else if (dots == 1) {
+            decimal = '.';
+        } else {
+            decimal = 0;
+        }
+
+        StringBuilder digits = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                digits.append(c);
+            } else if (c == decimal) {
+                if (i != lastSeparator) {
+                    return null;
+                }
+                digits.append('.');
+            }
+        }
+
+        BigDecimal amount = new BigDecimal(digits.toString());
+        return amount.signum() > 0 ? amount : null;
+    }
+
+    /**
+     * Minimal growable int array, to keep the scan free of boxing.
+     */
+    private static final class IntList {
+        private int[] values = new int[48];
+        private int size;
+
+        void add(int a, int b) {
+            ensure(2);
+            values[size++] = a;
+            values[size++] = b;
+        }
+
+        void add(int a, int b, int c) {
+            ensure(3);
+            values[size++] = a;
+            values[size++] = b;
+            values[size++] = c;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void truncate(int newSize) {
+            size = newSize;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+        }
+    }
+}
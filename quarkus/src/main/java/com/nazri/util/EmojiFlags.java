@@ -0,0 +1,94 @@
+package com.nazri.util;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.util.Arrays;
+
+/**
+ * Emoji flags for currency codes, configured as {@code currency.{code}=🇸🇬} properties.
+ *
+ * All flags are read from configuration into an array indexed by {@link CurrencyId} while the
+ * application starts, so no update pays for it. Lookups made outside the application, e.g. in
+ * unit tests, build the array on first use instead.
+ */
+public final class EmojiFlags {
+
+    /** Flag used for currencies without a configured flag. */
+    public static final String DEFAULT_FLAG = "💰";
+
+    private static final String PROPERTY_PREFIX = "currency.";
+
+    private static volatile String[] flags;
+
+    private EmojiFlags() {}
+
+    /**
+     * @param currencyCode The currency code (case-insensitive)
+     * @return The configured flag, or {@link #DEFAULT_FLAG}
+     */
+    public static String get(String currencyCode) {
+        return get(CurrencyId.of(currencyCode));
+    }
+
+    /**
+     * @param currencyId The currency ID, see {@link CurrencyId}
+     * @return The configured flag, or {@link #DEFAULT_FLAG}
+     */
+    public static String get(int currencyId) {
+        if (currencyId < 0 || currencyId >= CurrencyId.COUNT) {
+            return DEFAULT_FLAG;
+        }
+        String[] current = flags;
+        if (current == null) {
+            current = load();
+        }
+        return current[currencyId];
+    }
+
+    /**
+     * Reads all flags from the given configuration and publishes them in a single volatile write.
+     *
+     * @param config The configuration holding the {@code currency.*} properties
+     */
+    static void load(Config config) {
+        flags = build(config);
+    }
+
+    private static synchronized String[] load() {
+        if (flags == null) {
+            flags = build(ConfigProvider.getConfig());
+        }
+        return flags;
+    }
+
+    private static String[] build(Config config) {
+        String[] table = new String[CurrencyId.COUNT];
+        Arrays.fill(table, DEFAULT_FLAG);
+        for (String name : config.getPropertyNames()) {
+            if (!name.startsWith(PROPERTY_PREFIX)) {
+                continue;
+            }
+            // Skips other currency.* settings such as currency.api.url
+            int id = CurrencyId.of(name.substring(PROPERTY_PREFIX.length()));
+            if (id != CurrencyId.NONE) {
+                config.getOptionalValue(name, String.class).ifPresent(flag -> table[id] = flag);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Builds the flags while the application starts (the Lambda init phase).
+     */
+    @ApplicationScoped
+    static class Loader {
+
+        void onStart(@Observes StartupEvent event) {
+            load(ConfigProvider.getConfig());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.nazri.util;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Compiled arithmetic expression produced by {@link ExpressionParser}.
+ *
+ * Nodes are immutable, so a compiled expression can be cached and evaluated
+ * any number of times from any thread. Addition, subtraction and multiplication
+ * are exact; division is rounded to {@link MathContext#DECIMAL64}.
+ */
+public abstract class Expression {
+
+    private static final MathContext DIVISION_CONTEXT = MathContext.DECIMAL64;
+
+    private Expression() {}
+
+    /**
+     * Evaluates the expression.
+     *
+     * @return the result, never in scientific notation (scale is never negative)
+     * @throws ArithmeticException on division by zero
+     */
+    public BigDecimal evaluate() {
+        BigDecimal result = compute();
+        return result.scale() < 0 ? result.setScale(0) : result;
+    }
+
+    abstract BigDecimal compute();
+
+    static Expression literal(BigDecimal value) {
+        return new Literal(value);
+    }
+
+    static Expression negate(Expression operand) {
+        return new Negate(operand);
+    }
+
+    static Expression binary(char operator, Expression left, Expression right) {
+        return new Binary(operator, left, right);
+    }
+
+    private static final class Literal extends Expression {
+        private final BigDecimal value;
+
+        private Literal(BigDecimal value) {
+            this.value = value;
+        }
+
+        @Override
+        BigDecimal compute() {
+            return value;
+        }
+    }
+
+    private static final class Negate extends Expression {
+        private final Expression operand;
+
+        private Negate(Expression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        BigDecimal compute() {
+            return operand.compute().negate();
+        }
+    }
+
+    private static final class Binary extends Expression {
+        private final char operator;
+        private final Expression left;
+        private final Expression right;
+
+        private Binary(char operator, Expression left, Expression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        BigDecimal compute() {
+            BigDecimal l = left.compute();
+            BigDecimal r = right.compute();
+            switch (operator) {
+                case '+':
+                    return l.add(r);
+                case '-':
+                    return l.subtract(r);
+                case '*':
+                    return l.multiply(r);
+                case '/':
+                    return l.divide(r, DIVISION_CONTEXT);
+                default:
+                    throw new IllegalStateException("Unknown operator: " + operator);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.nazri.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Pratt parser for the arithmetic amounts users can send, e.g. "12.5*3 + 4.20" or "(120-15)/4".
+ *
+ * Supports decimal literals, unary +/-, the binary operators + - * / (also written as x, ×, ÷)
+ * and parentheses. Input length and operation count are capped so a single message
+ * cannot make the Lambda do unbounded work.
+ */
+public final class ExpressionParser {
+
+    public static final int MAX_LENGTH = 64;
+    public static final int MAX_OPERATIONS = 16;
+
+    private static final int PRECEDENCE_ADDITIVE = 1;
+    private static final int PRECEDENCE_MULTIPLICATIVE = 2;
+    private static final int PRECEDENCE_PREFIX = 3;
+
+    private final String source;
+    private int position;
+    private int operations;
+
+    private ExpressionParser(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Compiles the given source into an {@link Expression}.
+     *
+     * @param source the expression text
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the source is empty, too long, too complex or malformed
+     */
+    public static Expression parse(String source) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Expression is empty");
+        }
+        if (source.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Expression exceeds " + MAX_LENGTH + " characters");
+        }
+
+        ExpressionParser parser = new ExpressionParser(source);
+        Expression expression = parser.parseExpression(0);
+        parser.skipWhitespace();
+        if (parser.position < source.length()) {
+            throw parser.error("Unexpected character");
+        }
+        return expression;
+    }
+
+    private Expression parseExpression(int minPrecedence) {
+        Expression left = parsePrefix();
+
+        while (true) {
+            skipWhitespace();
+            if (position >= source.length()) {
+                return left;
+            }
+            char operator = normalizeOperator(source.charAt(position));
+            int precedence = infixPrecedence(operator);
+            if (precedence <= minPrecedence) {
+                return left;
+            }
+            position++;
+            countOperation();
+            left = Expression.binary(operator, left, parseExpression(precedence));
+        }
+    }
+
+    private Expression parsePrefix() {
+        skipWhitespace();
+        if (position >= source.length()) {
+            throw error("Unexpected end of expression");
+        }
+
+        char c = source.charAt(position);
+        if (c == '-' || c == '+') {
+            position++;
+            countOperation();
+            Expression operand = parseExpression(PRECEDENCE_PREFIX);
+            return c == '-' ? Expression.negate(operand) : operand;
+        }
+        if (c == '(') {
+            position++;
+            Expression inner = parseExpression(0);
+            skipWhitespace();
+            if (position >= source.length() || source.charAt(position) != ')') {
+                throw error("Missing closing parenthesis");
+            }
+            position++;
+            return inner;
+        }
+        if (isDigit(c) || c == '.') {
+            return parseNumber();
+        }
+        throw error("Unexpected character");
+    }
+
+    private Expression parseNumber() {
+        int start = position;
+        boolean seenDot = false;
+        while (position < source.length()) {
+            char c = source.charAt(position);
+            if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else if (!isDigit(c)) {
+                break;
+            }
+            position++;
+        }
+        if (position - start == 1 && seenDot) {
+            throw error("Invalid number");
+        }
+        return Expression.literal(new BigDecimal(source.substring(start, position)));
+    }
+
+    private void countOperation() {
+        if (++operations > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("Expression exceeds " + MAX_OPERATIONS + " operations");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String reason) {
+        return new IllegalArgumentException(reason + " at position " + position + " in: " + source);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static char normalizeOperator(char c) {
+        switch (c) {
+            case 'x':
+            case 'X':
+            case '×':
+                return '*';
+            case '÷':
+                return '/';
+            default:
+                return c;
+        }
+    }
+
+    private static int infixPrecedence(char operator) {
+        switch (operator) {
+            case '+':
+            case '-':
+                return PRECEDENCE_ADDITIVE;
+            case '*':
+            case '/':
+                return PRECEDENCE_MULTIPLICATIVE;
+            default:
+                return -1;
+        }
+    }
+}
@@ -6,18 +6,47 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.InlineKe
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Utility class for creating Telegram inline keyboards with various button arrangements.
  * 
  * This class provides methods to generate keyboard layouts for currency selection,
  * amount selection, and multiplier operations in a Telegram bot interface.
+ *
+ * Keyboards are immutable and shared: each one is built once per distinct input and kept in
+ * a small LRU cache. The keyboards built from fixed configuration (top currencies, common
+ * amounts) are requested constantly and stay resident; user-specific currency lists and
+ * multiplier keyboards have their own cache so they cannot evict them. Cached keyboards are
+ * also pre-serialized for {@link TelegramJsonWriter}.
+ * Callers must not modify the returned keyboards.
  */
 @ApplicationScoped
 public class KeyboardUtil {
     
     private static final int MAX_BUTTONS_PER_ROW = 3;
+
+    private static final int MAX_SELECTION_KEYBOARDS = 128;
+    private static final int MAX_MULTIPLIER_KEYBOARDS = 256;
+
+    /** Currency and amount keyboards, keyed by type, command prefix and values. */
+    private static final Map<List<Object>, InlineKeyboardMarkup> SELECTION_KEYBOARDS = lruCache(MAX_SELECTION_KEYBOARDS);
+
+    /** Multiplier keyboards, keyed by amount, multipliers, symbols and command prefix. */
+    private static final Map<List<Object>, InlineKeyboardMarkup> MULTIPLIER_KEYBOARDS = lruCache(MAX_MULTIPLIER_KEYBOARDS);
+
+    /**
+     * Drops all cached keyboards, e.g. in tests that change the emoji flags shown on currency buttons.
+     */
+    public static void clearCache() {
+        SELECTION_KEYBOARDS.clear();
+        MULTIPLIER_KEYBOARDS.clear();
+        TelegramJsonWriter.clearKeyboards();
+    }
     
     /**
      * Creates an inline keyboard markup for currency selection.
@@ -30,6 +59,17 @@ public class KeyboardUtil {
      * @return InlineKeyboardMarkup with currency selection buttons
      */
     public static InlineKeyboardMarkup createCurrencyKeyboard(List<String> currencies, String commandPrefix) {
+        List<Object> key = List.of("currency", commandPrefix, currencies);
+        InlineKeyboardMarkup keyboard = SELECTION_KEYBOARDS.get(key);
+        if (keyboard == null) {
+            keyboard = buildCurrencyKeyboard(currencies, commandPrefix);
+            TelegramJsonWriter.registerKeyboard(keyboard);
+            SELECTION_KEYBOARDS.put(List.of("currency", commandPrefix, List.copyOf(currencies)), keyboard);
+        }
+        return keyboard;
+    }
+
+    private static InlineKeyboardMarkup buildCurrencyKeyboard(List<String> currencies, String commandPrefix) {
         InlineKeyboardMarkup markupInline = new InlineKeyboardMarkup();
         List<List<InlineKeyboardButton>> rowsInline = new ArrayList<>();
         List<InlineKeyboardButton> rowInline = new ArrayList<>();
@@ -42,7 +82,7 @@ public class KeyboardUtil {
         }
 
         rowsInline.add(rowInline);
-        markupInline.setKeyboard(rowsInline);
+        markupInline.setKeyboard(immutableRows(rowsInline));
         return markupInline;
     }
 
@@ -57,6 +97,17 @@ public class KeyboardUtil {
      * @return InlineKeyboardMarkup with amount selection buttons
      */
     public static InlineKeyboardMarkup createAmountKeyboard(List<String> amounts, String commandPrefix) {
+        List<Object> key = List.of("amount", commandPrefix, amounts);
+        InlineKeyboardMarkup keyboard = SELECTION_KEYBOARDS.get(key);
+        if (keyboard == null) {
+            keyboard = buildAmountKeyboard(amounts, commandPrefix);
+            TelegramJsonWriter.registerKeyboard(keyboard);
+            SELECTION_KEYBOARDS.put(List.of("amount", commandPrefix, List.copyOf(amounts)), keyboard);
+        }
+        return keyboard;
+    }
+
+    private static InlineKeyboardMarkup buildAmountKeyboard(List<String> amounts, String commandPrefix) {
         InlineKeyboardMarkup markupInline = new InlineKeyboardMarkup();
         List<List<InlineKeyboardButton>> rowsInline = new ArrayList<>();
         List<InlineKeyboardButton> rowInline = new ArrayList<>();
@@ -69,7 +120,7 @@ public class KeyboardUtil {
         }
 
         rowsInline.add(rowInline);
-        markupInline.setKeyboard(rowsInline);
+        markupInline.setKeyboard(immutableRows(rowsInline));
         return markupInline;
     }
 
@@ -94,7 +145,45 @@ public class KeyboardUtil {
             multiplierSymbols == null || multiplierList.size() != multiplierSymbols.size()) {
             return new InlineKeyboardMarkup();
         }
-        
+
+        List<Object> key = List.of(inputAmount, multiplierList, multiplierSymbols, commandPrefix);
+        InlineKeyboardMarkup keyboard = MULTIPLIER_KEYBOARDS.get(key);
+        if (keyboard == null) {
+            keyboard = buildMultiplierKeyboard(inputAmount, multiplierList, multiplierSymbols,
+                    value -> commandPrefix + ":" + value);
+            TelegramJsonWriter.registerKeyboard(keyboard);
+            MULTIPLIER_KEYBOARDS.put(List.of(inputAmount, List.copyOf(multiplierList), List.copyOf(multiplierSymbols), commandPrefix), keyboard);
+        }
+        return keyboard;
+    }
+
+    /**
+     * Creates a multiplier keyboard whose callback data is built by the caller, e.g. to carry
+     * more than the resulting value. The keyboard is not cached here; callers keep it with the
+     * reply it belongs to.
+     *
+     * @param inputAmount The base amount to multiply
+     * @param multiplierList List of multiplier values as strings
+     * @param multiplierSymbols List of symbols to display on buttons
+     * @param callbackData Builds a button's callback data from its resulting value
+     * @return InlineKeyboardMarkup with multiplier operation buttons
+     */
+    public static InlineKeyboardMarkup createMultiplierKeyboard(BigDecimal inputAmount, List<String> multiplierList,
+                                                               List<String> multiplierSymbols,
+                                                               Function<BigDecimal, String> callbackData) {
+        if (inputAmount == null || multiplierList == null || multiplierList.isEmpty() ||
+            multiplierSymbols == null || multiplierList.size() != multiplierSymbols.size()) {
+            return new InlineKeyboardMarkup();
+        }
+
+        InlineKeyboardMarkup keyboard = buildMultiplierKeyboard(inputAmount, multiplierList, multiplierSymbols, callbackData);
+        TelegramJsonWriter.registerKeyboard(keyboard);
+        return keyboard;
+    }
+
+    private static InlineKeyboardMarkup buildMultiplierKeyboard(BigDecimal inputAmount, List<String> multiplierList,
+                                                               List<String> multiplierSymbols,
+                                                               Function<BigDecimal, String> callbackData) {
         InlineKeyboardMarkup markupInline = new InlineKeyboardMarkup();
         List<List<InlineKeyboardButton>> rowsInline = new ArrayList<>();
         List<InlineKeyboardButton> rowInline = new ArrayList<>();
@@ -109,12 +198,29 @@ public class KeyboardUtil {
             button.setText(multiplierSymbols.get(i));
             BigDecimal multiplier = new BigDecimal(multiplierList.get(i));
             BigDecimal value = inputAmount.multiply(multiplier);
-            button.setCallbackData(commandPrefix + ":" + value);
+            button.setCallbackData(callbackData.apply(value));
             rowInline.add(button);
         }
 
         rowsInline.add(rowInline);
-        markupInline.setKeyboard(rowsInline);
+        markupInline.setKeyboard(immutableRows(rowsInline));
         return markupInline;
     }
+
+    private static List<List<InlineKeyboardButton>> immutableRows(List<List<InlineKeyboardButton>> rows) {
+        List<List<InlineKeyboardButton>> copy = new ArrayList<>(rows.size());
+        for (List<InlineKeyboardButton> row : rows) {
+            copy.add(List.copyOf(row));
+        }
+        return List.copyOf(copy);
+    }
+
+    private static <K, V> Map<K, V> lruCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
 }
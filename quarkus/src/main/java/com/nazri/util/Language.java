@@ -0,0 +1,75 @@
+package com.nazri.util;
+
+import java.util.Locale;
+
+/**
+ * Languages the bot replies in, selected from the Telegram {@code language_code} of the user.
+ *
+ * Each language has a message catalog ({@code messages_<code>.properties}, English being the
+ * default bundle) and the locale used to format money. The ordinal indexes the per-language
+ * tables in {@link com.nazri.service.MessageService} and {@link MoneyFormatter}.
+ */
+public enum Language {
+    /** English; money keeps the format of each currency's own locale. */
+    EN("en", null),
+    MS("ms", Locale.forLanguageTag("ms-MY")),
+    ID("id", Locale.forLanguageTag("id-ID"));
+
+    private static final Language[] VALUES = values();
+
+    private final String code;
+    private final Locale numberLocale;
+
+    Language(String code, Locale numberLocale) {
+        this.code = code;
+        this.numberLocale = numberLocale;
+    }
+
+    /**
+     * @return The ISO 639-1 language code, e.g. "ms"
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @return The locale used to format money, or null to use each currency's own locale
+     */
+    public Locale getNumberLocale() {
+        return numberLocale;
+    }
+
+    /**
+     * Selects the language for a Telegram language code.
+     *
+     * @param languageCode The IETF language tag sent by Telegram (e.g. "en", "ms", "id", "pt-br"), may be null
+     * @return The matching language, or {@link #EN} for unsupported languages
+     */
+    public static Language of(String languageCode) {
+        if (languageCode == null || languageCode.length() < 2) {
+            return EN;
+        }
+        if (languageCode.length() > 2 && languageCode.charAt(2) != '-' && languageCode.charAt(2) != '_') {
+            return EN;
+        }
+        char first = Character.toLowerCase(languageCode.charAt(0));
+        char second = Character.toLowerCase(languageCode.charAt(1));
+        // "in" is the legacy code for Indonesian
+        if (first == 'i' && (second == 'd' || second == 'n')) {
+            return ID;
+        }
+        for (Language language : VALUES) {
+            if (language.code.charAt(0) == first && language.code.charAt(1) == second) {
+                return language;
+            }
+        }
+        return EN;
+    }
+
+    /**
+     * @return The number of languages, the size of per-language tables
+     */
+    public static int count() {
+        return VALUES.length;
+    }
+}
@@ -0,0 +1,31 @@
+package com.nazri.util;
+
+/**
+ * The language of the update being processed on the current thread.
+ *
+ * Set by {@link com.nazri.service.TelegramBot} for the duration of each update so message
+ * rendering and money formatting can pick the user's language without passing it through
+ * every command.
+ */
+public final class LanguageContext {
+
+    private static final ThreadLocal<Language> CURRENT = new ThreadLocal<>();
+
+    private LanguageContext() {}
+
+    /**
+     * @return The current language, {@link Language#EN} outside of an update
+     */
+    public static Language get() {
+        Language language = CURRENT.get();
+        return language != null ? language : Language.EN;
+    }
+
+    public static void set(Language language) {
+        CURRENT.set(language);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
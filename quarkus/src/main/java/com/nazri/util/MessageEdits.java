@@ -0,0 +1,98 @@
+package com.nazri.util;
+
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageReplyMarkup;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboard;
+
+/**
+ * Turns a reply to a button press into an edit of the message holding the button.
+ *
+ * The message Telegram sends back with a callback query carries the rendered text, without
+ * Markdown, so the reply's text is compared once its Markdown is stripped.
+ */
+public final class MessageEdits {
+
+    private MessageEdits() {
+    }
+
+    /**
+     * Whether the message can be replaced by an edit of the original, i.e. it is a plain text
+     * message to the same chat with an inline keyboard or none.
+     */
+    public static boolean canEdit(Message original, SendMessage message) {
+        return original.getText() != null
+                && String.valueOf(original.getChatId()).equals(message.getChatId())
+                && (message.getReplyMarkup() == null || message.getReplyMarkup() instanceof InlineKeyboardMarkup)
+                && message.getEntities() == null
+                && message.getReplyToMessageId() == null
+                && message.getReplyParameters() == null;
+    }
+
+    /**
+     * @param original The message the button was pressed on
+     * @param message The reply, see {@link #canEdit}
+     * @return editMessageReplyMarkup if only the keyboard changes, editMessageText if the text
+     * changes, null if the original already shows the reply
+     */
+    public static BotApiMethod<?> toEdit(Message original, SendMessage message) {
+        InlineKeyboardMarkup keyboard = (InlineKeyboardMarkup) message.getReplyMarkup();
+        boolean sameKeyboard = sameKeyboard(original.getReplyMarkup(), keyboard);
+        if (plainText(message.getText(), message.getParseMode()).equals(original.getText().strip())) {
+            if (sameKeyboard) {
+                return null;
+            }
+            return new EditMessageReplyMarkup(message.getChatId(), original.getMessageId(), null, keyboard);
+        }
+
+        EditMessageText edit = new EditMessageText(message.getText());
+        edit.setChatId(message.getChatId());
+        edit.setMessageId(original.getMessageId());
+        edit.setParseMode(message.getParseMode());
+        edit.setDisableWebPagePreview(message.getDisableWebPagePreview());
+        edit.setReplyMarkup(keyboard);
+        return edit;
+    }
+
+    /**
+     * The text Telegram shows for a message: legacy Markdown markers and link targets are
+     * dropped and surrounding whitespace trimmed. Other parse modes are compared as sent.
+     */
+    static String plainText(String text, String parseMode) {
+        if (!Constant.MARKDOWN.equals(parseMode)) {
+            return text.strip();
+        }
+        StringBuilder plain = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length() && isMarker(text.charAt(i + 1))) {
+                plain.append(text.charAt(++i));
+            } else if (c == ']' && i + 1 < text.length() && text.charAt(i + 1) == '(') {
+                int close = text.indexOf(')', i);
+                i = close < 0 ? text.length() : close;
+            } else if (!isMarker(c)) {
+                plain.append(c);
+            }
+        }
+        return plain.toString().strip();
+    }
+
+    private static boolean isMarker(char c) {
+        return c == '*' || c == '_' || c == '`' || c == '[';
+    }
+
+    private static boolean sameKeyboard(InlineKeyboardMarkup original, ReplyKeyboard keyboard) {
+        if (isEmpty(original) || isEmpty(keyboard)) {
+            return isEmpty(original) && isEmpty(keyboard);
+        }
+        return original.getKeyboard().equals(((InlineKeyboardMarkup) keyboard).getKeyboard());
+    }
+
+    private static boolean isEmpty(ReplyKeyboard keyboard) {
+        return keyboard == null
+                || keyboard instanceof InlineKeyboardMarkup inline && (inline.getKeyboard() == null || inline.getKeyboard().isEmpty());
+    }
+}
@@ -0,0 +1,169 @@
+package com.nazri.util;
+
+import java.text.Format;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link MessageFormat} pattern compiled once into literal segments and argument slots.
+ *
+ * Rendering appends the literals and String arguments into a pre-sized buffer, producing
+ * the same text as {@code MessageFormat.format(pattern, params)}. Patterns without arguments
+ * render to a constant string. Templates are immutable and safe to share between threads.
+ *
+ * Arguments that need locale-aware formatting (numbers, dates, or patterns such as
+ * {@code {0,number}}) are delegated to a fresh {@link MessageFormat}.
+ */
+public final class MessageTemplate {
+
+    /** Marks argument slots while splitting; private use characters never appear in messages. */
+    private static final char SENTINEL_BASE = '\uE000';
+    private static final int MAX_ARGUMENTS = 0x100;
+    private static final int ESTIMATED_ARGUMENT_LENGTH = 16;
+
+    private final String pattern;
+    /** Literal text; {@code literals[i]} precedes {@code arguments[i]}, the last literal has no argument. */
+    private final String[] literals;
+    private final int[] arguments;
+    private final String constant;
+    private final boolean simple;
+    private final int literalLength;
+
+    private MessageTemplate(String pattern, String[] literals, int[] arguments, boolean simple) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.arguments = arguments;
+        this.simple = simple;
+        this.constant = simple && arguments.length == 0 ? literals[0] : null;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compiles a pattern.
+     *
+     * @param pattern The {@link MessageFormat} pattern
+     * @return The compiled template
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static MessageTemplate compile(String pattern) {
+        MessageFormat format = new MessageFormat(pattern);
+        int argumentCount = format.getFormatsByArgumentIndex().length;
+
+        boolean simple = argumentCount <= MAX_ARGUMENTS;
+        for (Format subformat : format.getFormats()) {
+            simple &= subformat == null;
+        }
+        for (int i = 0; simple && i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            simple = c < SENTINEL_BASE || c >= SENTINEL_BASE + MAX_ARGUMENTS;
+        }
+        if (!simple) {
+            return new MessageTemplate(pattern, new String[0], new int[0], false);
+        }
+
+        // Let MessageFormat handle quoting, then split its output at the sentinel arguments
+        Object[] sentinels = new Object[argumentCount];
+        for (int i = 0; i < argumentCount; i++) {
+            sentinels[i] = String.valueOf((char) (SENTINEL_BASE + i));
+        }
+        String rendered = format.format(sentinels);
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < rendered.length(); i++) {
+            char c = rendered.charAt(i);
+            if (c >= SENTINEL_BASE && c < SENTINEL_BASE + argumentCount) {
+                literals.add(rendered.substring(start, i));
+                arguments.add(c - SENTINEL_BASE);
+                start = i + 1;
+            }
+        }
+        literals.add(rendered.substring(start));
+
+        return new MessageTemplate(pattern, literals.toArray(new String[0]),
+                arguments.stream().mapToInt(Integer::intValue).toArray(), true);
+    }
+
+    /**
+     * Creates a template that always renders the same text.
+     *
+     * @param text The rendered text
+     * @return The template
+     */
+    public static MessageTemplate constant(String text) {
+        return new MessageTemplate(null, new String[]{text}, new int[0], true);
+    }
+
+    /**
+     * Creates a template from segments split at build time by the generated {@link Messages} catalog.
+     *
+     * @param pattern The original pattern, used for arguments that are not Strings
+     * @param literals The literal text around the arguments, one more than the arguments
+     * @param arguments The argument index of each slot
+     * @return The template
+     */
+    public static MessageTemplate of(String pattern, String[] literals, int[] arguments) {
+        if (literals.length != arguments.length + 1) {
+            throw new IllegalArgumentException("Expected " + (arguments.length + 1) + " literals but got " + literals.length);
+        }
+        return new MessageTemplate(pattern, literals.clone(), arguments.clone(), true);
+    }
+
+    /**
+     * @return The text every rendering returns, the same instance each time, or null if the
+     * template has arguments
+     */
+    public String constantText() {
+        return constant;
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param params The arguments
+     * @return The same text as {@code MessageFormat.format(pattern, params)}
+     */
+    public String format(Object... params) {
+        if (constant != null) {
+            return constant;
+        }
+        if (!simple || !allStrings(params)) {
+            return MessageFormat.format(pattern, params);
+        }
+
+        int length = literalLength;
+        for (int argument : arguments) {
+            length += params != null && argument < params.length ? ((String) params[argument]).length() : ESTIMATED_ARGUMENT_LENGTH;
+        }
+        StringBuilder out = new StringBuilder(length);
+        for (int i = 0; i < arguments.length; i++) {
+            out.append(literals[i]);
+            int argument = arguments[i];
+            if (params != null && argument < params.length) {
+                out.append((String) params[argument]);
+            } else {
+                // MessageFormat leaves missing arguments as their placeholder
+                out.append('{').append(argument).append('}');
+            }
+        }
+        return out.append(literals[arguments.length]).toString();
+    }
+
+    private boolean allStrings(Object[] params) {
+        if (params == null) {
+            return true;
+        }
+        for (int argument : arguments) {
+            if (argument < params.length && !(params[argument] instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
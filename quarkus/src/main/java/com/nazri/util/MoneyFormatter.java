@@ -0,0 +1,246 @@
+package com.nazri.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Table-driven money formatter producing exactly the output of
+ * {@code NumberFormat.getCurrencyInstance(locale)} (with the symbol replaced by the currency code)
+ * without creating a {@link NumberFormat} per call.
+ *
+ * Each currency's format is captured once per {@link Language} into a {@link Spec}: affixes,
+ * separators, grouping size and fraction digits. Specs live in arrays indexed by language and
+ * {@link CurrencyId}, and formatting writes digits straight into the caller's {@link StringBuilder}.
+ *
+ * English keeps the historical output, formatted like the currency's own locale; other languages
+ * use their own locale's separators and symbols.
+ */
+final class MoneyFormatter {
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /** First available locale using each currency, the locale the format is derived from. */
+    private static final Map<String, Locale> CURRENCY_LOCALES = buildCurrencyLocales();
+
+    /**
+     * Specs by language and currency ID, filled on first use. Specs are immutable with final
+     * fields, so a racing duplicate computation is harmless.
+     */
+    private static final Spec[][] SPECS = new Spec[Language.count()][CurrencyId.COUNT];
+
+    private MoneyFormatter() {}
+
+    /**
+     * Appends the amount formatted for English, e.g. "USD 1,234.56" or "1.234,56 EUR ".
+     *
+     * @throws IllegalArgumentException if the currency code is invalid
+     */
+    static StringBuilder append(StringBuilder out, BigDecimal amount, String currencyCode) {
+        return append(out, amount, currencyCode, Language.EN);
+    }
+
+    /**
+     * Appends the amount formatted for a language, e.g. "USD 1.234,56" for Indonesian.
+     *
+     * @throws IllegalArgumentException if the currency code is invalid
+     */
+    static StringBuilder append(StringBuilder out, BigDecimal amount, String currencyCode, Language language) {
+        int id = CurrencyId.of(currencyCode);
+        Spec[] specs = SPECS[language.ordinal()];
+        Spec spec = id == CurrencyId.NONE ? null : specs[id];
+        if (spec == null) {
+            spec = createSpec(currencyCode, language);
+            specs[id] = spec;
+        }
+        return spec.append(out, amount);
+    }
+
+    private static Spec createSpec(String currencyCode, Language language) {
+        Currency currency;
+        try {
+            currency = Currency.getInstance(currencyCode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid currency code: " + currencyCode);
+        }
+
+        Locale locale = language.getNumberLocale();
+        if (locale == null) {
+            locale = CURRENCY_LOCALES.getOrDefault(currency.getCurrencyCode(), Locale.US);
+        }
+        NumberFormat numberFormat = NumberFormat.getCurrencyInstance(locale);
+        numberFormat.setCurrency(currency);
+        if (!(numberFormat instanceof DecimalFormat)) {
+            throw new IllegalStateException("Unsupported currency format for " + locale);
+        }
+        if (language.getNumberLocale() != null && currency.getDefaultFractionDigits() >= 0) {
+            // setCurrency keeps the locale's fraction digits, e.g. two for JPY in ms-MY
+            numberFormat.setMinimumFractionDigits(currency.getDefaultFractionDigits());
+            numberFormat.setMaximumFractionDigits(currency.getDefaultFractionDigits());
+        }
+        return new Spec((DecimalFormat) numberFormat, currency.getSymbol(locale), currency.getCurrencyCode() + " ");
+    }
+
+    private static Map<String, Locale> buildCurrencyLocales() {
+        Map<String, Locale> locales = new HashMap<>();
+        for (Locale locale : Locale.getAvailableLocales()) {
+            try {
+                Currency currency = Currency.getInstance(locale);
+                if (currency != null) {
+                    locales.putIfAbsent(currency.getCurrencyCode(), locale);
+                }
+            } catch (IllegalArgumentException e) {
+                // Skip locales without currency information
+            }
+        }
+        return Map.copyOf(locales);
+    }
+
+    /**
+     * Immutable format description for one currency.
+     */
+    private static final class Spec {
+        private final String positivePrefix;
+        private final String positiveSuffix;
+        private final String negativePrefix;
+        private final String negativeSuffix;
+        private final char groupingSeparator;
+        private final int groupingSize;
+        private final char decimalSeparator;
+        private final char zeroDigit;
+        private final int minimumFractionDigits;
+        private final int maximumFractionDigits;
+        private final int minimumIntegerDigits;
+        private final RoundingMode roundingMode;
+
+        private Spec(DecimalFormat format, String symbol, String replacement) {
+            DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+            // The legacy output was format(...).trim().replace(symbol, replacement); digits are never
+            // blank and never contain the symbol, so both steps can be applied to the affixes up front
+            this.positivePrefix = stripLeading(format.getPositivePrefix()).replace(symbol, replacement);
+            this.positiveSuffix = stripTrailing(format.getPositiveSuffix()).replace(symbol, replacement);
+            this.negativePrefix = stripLeading(format.getNegativePrefix()).replace(symbol, replacement);
+            this.negativeSuffix = stripTrailing(format.getNegativeSuffix()).replace(symbol, replacement);
+            this.groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : 0;
+            this.groupingSeparator = symbols.getMonetaryGroupingSeparator();
+            this.decimalSeparator = symbols.getMonetaryDecimalSeparator();
+            this.zeroDigit = symbols.getZeroDigit();
+            this.minimumFractionDigits = format.getMinimumFractionDigits();
+            this.maximumFractionDigits = format.getMaximumFractionDigits();
+            this.minimumIntegerDigits = format.getMinimumIntegerDigits();
+            this.roundingMode = format.getRoundingMode();
+        }
+
+        StringBuilder append(StringBuilder out, BigDecimal amount) {
+            boolean negative = amount.signum() < 0;
+            out.append(negative ? negativePrefix : positivePrefix);
+
+            BigDecimal rounded = amount.abs().setScale(maximumFractionDigits, roundingMode);
+            BigInteger unscaled = rounded.unscaledValue();
+            if (unscaled.bitLength() < 63 && maximumFractionDigits < POWERS_OF_TEN.length) {
+                long value = unscaled.longValue();
+                long divisor = POWERS_OF_TEN[maximumFractionDigits];
+                appendInteger(out, value / divisor);
+                appendFraction(out, value % divisor);
+            } else {
+                appendLarge(out, rounded);
+            }
+
+            return out.append(negative ? negativeSuffix : positiveSuffix);
+        }
+
+        private void appendInteger(StringBuilder out, long value) {
+            int digits = 0;
+            while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+                digits++;
+            }
+            int length = Math.max(digits, minimumIntegerDigits);
+            for (int position = length - 1; position >= 0; position--) {
+                int digit = position >= digits ? 0 : (int) (value / POWERS_OF_TEN[position] % 10);
+                out.append((char) (zeroDigit + digit));
+                if (groupingSize > 0 && position > 0 && position % groupingSize == 0) {
+                    out.append(groupingSeparator);
+                }
+            }
+        }
+
+        private void appendFraction(StringBuilder out, long fraction) {
+            int length = maximumFractionDigits;
+            while (length > minimumFractionDigits && fraction % 10 == 0) {
+                fraction /= 10;
+                length--;
+            }
+            if (length == 0) {
+                return;
+            }
+            out.append(decimalSeparator);
+            for (int position = length - 1; position >= 0; position--) {
+                out.append((char) (zeroDigit + (int) (fraction / POWERS_OF_TEN[position] % 10)));
+            }
+        }
+
+        /**
+         * Slow path for amounts whose digits do not fit in a long.
+         */
+        private void appendLarge(StringBuilder out, BigDecimal rounded) {
+            String plain = rounded.toPlainString();
+            int point = plain.indexOf('.');
+            String integer = point < 0 ? plain : plain.substring(0, point);
+            String fraction = point < 0 ? "" : plain.substring(point + 1);
+
+            if (integer.equals("0")) {
+                integer = "";
+            }
+            int length = Math.max(integer.length(), minimumIntegerDigits);
+            for (int position = length - 1; position >= 0; position--) {
+                int index = integer.length() - 1 - position;
+                int digit = index < 0 ? 0 : integer.charAt(index) - '0';
+                out.append((char) (zeroDigit + digit));
+                if (groupingSize > 0 && position > 0 && position % groupingSize == 0) {
+                    out.append(groupingSeparator);
+                }
+            }
+
+            int fractionLength = fraction.length();
+            while (fractionLength > minimumFractionDigits && fraction.charAt(fractionLength - 1) == '0') {
+                fractionLength--;
+            }
+            if (fractionLength > 0) {
+                out.append(decimalSeparator);
+                for (int i = 0; i < fractionLength; i++) {
+                    out.append((char) (zeroDigit + fraction.charAt(i) - '0'));
+                }
+            }
+        }
+
+        private static String stripLeading(String value) {
+            int start = 0;
+            while (start < value.length() && value.charAt(start) <= ' ') {
+                start++;
+            }
+            return value.substring(start);
+        }
+
+        private static String stripTrailing(String value) {
+            int end = value.length();
+            while (end > 0 && value.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            return value.substring(0, end);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.nazri.util;
+
+import com.nazri.model.CurrencyMention;
+
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-user resolution of ambiguous currency symbols and names ("$", "¥", "dollar", ...).
+ *
+ * For every ambiguous symbol known to {@link CurrencyMentionDetector}, the candidate currencies
+ * are ranked once using the user's input currency, output currencies and Telegram language,
+ * falling back to global popularity. Resolving a mention is then a single array read.
+ */
+public final class SymbolTable {
+
+    private static final int INPUT_CURRENCY_SCORE = 1000;
+    private static final int OUTPUT_CURRENCY_SCORE = 500;
+    private static final int LANGUAGE_SCORE = 250;
+
+    /** Default currency for languages spoken in several currency areas. */
+    private static final Map<String, String> LANGUAGE_DEFAULTS = Map.of(
+            "zh", "CNY", "ms", "MYR", "pt", "BRL", "es", "MXN", "ar", "SAR", "de", "EUR", "fr", "EUR", "nl", "EUR");
+
+    /** Languages whose locales all use a single currency, e.g. "ja" -> JPY. */
+    private static final Map<String, String> LANGUAGE_CURRENCIES = buildLanguageCurrencies();
+
+    private static final SymbolTable DEFAULT = build(null, List.of(), null);
+
+    private final String[] resolved;
+
+    private SymbolTable(String[] resolved) {
+        this.resolved = resolved;
+    }
+
+    /**
+     * @return The table using global popularity only, for users without a profile
+     */
+    public static SymbolTable defaultTable() {
+        return DEFAULT;
+    }
+
+    /**
+     * Ranks the candidates of every ambiguous symbol for one user.
+     *
+     * @param inputCurrency The user's input currency, may be null
+     * @param outputCurrencies The user's output currencies, most recently added last
+     * @param languageCode The Telegram language code (e.g. "en", "pt-br"), may be null
+     * @return The user's symbol table
+     */
+    public static SymbolTable build(String inputCurrency, List<String> outputCurrencies, String languageCode) {
+        String languageCurrency = languageCurrency(languageCode);
+        String[] resolved = new String[CurrencyMentionDetector.symbolCount()];
+
+        for (int symbolId = 0; symbolId < resolved.length; symbolId++) {
+            List<String> candidates = CurrencyMentionDetector.candidates(symbolId);
+            String best = candidates.get(0);
+            int bestScore = -1;
+            // Candidates are ordered by popularity, so the first one wins ties
+            for (String candidate : candidates) {
+                int score = 0;
+                if (candidate.equals(inputCurrency)) {
+                    score += INPUT_CURRENCY_SCORE;
+                }
+                int outputIndex = outputCurrencies == null ? -1 : outputCurrencies.indexOf(candidate);
+                if (outputIndex >= 0) {
+                    score += OUTPUT_CURRENCY_SCORE + outputIndex;
+                }
+                if (candidate.equals(languageCurrency)) {
+                    score += LANGUAGE_SCORE;
+                }
+                if (score > bestScore) {
+                    best = candidate;
+                    bestScore = score;
+                }
+            }
+            resolved[symbolId] = best;
+        }
+        return new SymbolTable(resolved);
+    }
+
+    /**
+     * Resolves the currency of a detected mention.
+     *
+     * @param mention The mention
+     * @return The currency code, taking the user's preferences into account for ambiguous symbols
+     */
+    public String resolve(CurrencyMention mention) {
+        return mention.isAmbiguous() ? resolved[mention.getSymbolId()] : mention.getCurrencyCode();
+    }
+
+    /**
+     * Currency most associated with a Telegram language code: the region's currency for tags such
+     * as "pt-br", otherwise the currency all locales of the language share, otherwise a default.
+     */
+    static String languageCurrency(String languageCode) {
+        if (languageCode == null || languageCode.isBlank()) {
+            return null;
+        }
+        Locale locale = Locale.forLanguageTag(languageCode.replace('_', '-'));
+        if (!locale.getCountry().isEmpty()) {
+            try {
+                Currency currency = Currency.getInstance(locale);
+                if (currency != null) {
+                    return currency.getCurrencyCode();
+                }
+            } catch (IllegalArgumentException ignored) {
+                // Unknown region, fall back to the language
+            }
+        }
+        String language = locale.getLanguage();
+        String currency = LANGUAGE_CURRENCIES.get(language);
+        return currency != null ? currency : LANGUAGE_DEFAULTS.get(language);
+    }
+
+    private static Map<String, String> buildLanguageCurrencies() {
+        Map<String, Set<String>> currencies = new HashMap<>();
+        for (Locale locale : Locale.getAvailableLocales()) {
+            if (locale.getCountry().isEmpty()) {
+                continue;
+            }
+            try {
+                Currency currency = Currency.getInstance(locale);
+                if (currency != null) {
+                    currencies.computeIfAbsent(locale.getLanguage(), k -> new HashSet<>()).add(currency.getCurrencyCode());
+                }
+            } catch (IllegalArgumentException ignored) {
+                // No currency for this locale
+            }
+        }
+
+        Map<String, String> unique = new HashMap<>();
+        currencies.forEach((language, codes) -> {
+            if (codes.size() == 1) {
+                unique.put(language, codes.iterator().next());
+            }
+        });
+        return Map.copyOf(unique);
+    }
+}
@@ -0,0 +1,427 @@
+package com.nazri.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.telegram.telegrambots.meta.api.methods.AnswerCallbackQuery;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageReplyMarkup;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboard;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.InlineKeyboardButton;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the Telegram methods the bot sends on every update (sendMessage, editMessageText and
+ * answerCallbackQuery) straight into UTF-8 bytes, byte for byte what the library sends for them
+ * (Jackson's JSON string, encoded as UTF-8).
+ *
+ * Each thread renders into its own reusable buffer. Shared keyboards from {@link KeyboardUtil}
+ * and constant message texts are serialized once and spliced in as pre-encoded fragments.
+ * Methods using anything the writer does not know (entities, link previews, reply keyboards,
+ * other method types) are serialized by Jackson instead.
+ */
+public final class TelegramJsonWriter {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    /** Buffers grown past this by an unusually long message are dropped after use. */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final int MAX_KEYBOARD_FRAGMENTS = 512;
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final ThreadLocal<TelegramJsonWriter> WRITERS = ThreadLocal.withInitial(TelegramJsonWriter::new);
+
+    /** Serialized shared keyboards, by identity: only keyboards that are never modified are registered. */
+    private static final Map<IdentityKey, byte[]> KEYBOARD_FRAGMENTS = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<IdentityKey, byte[]> eldest) {
+                    return size() > MAX_KEYBOARD_FRAGMENTS;
+                }
+            });
+
+    /** Quoted and escaped constant texts, by identity. Registered once at startup, so copied on write. */
+    private static volatile Map<String, byte[]> textFragments = new IdentityHashMap<>();
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    private TelegramJsonWriter() {}
+
+    /**
+     * Serializes a method to its JSON request body.
+     *
+     * @param method The method to send
+     * @return The UTF-8 JSON, identical to Jackson's
+     * @throws JsonProcessingException if Jackson fails to serialize an unsupported method
+     */
+    public static byte[] toJson(BotApiMethod<?> method) throws JsonProcessingException {
+        TelegramJsonWriter writer = WRITERS.get();
+        writer.size = 0;
+        try {
+            if (!writer.write(method)) {
+                // Same encoding as the library, which also writes emoji as raw UTF-8
+                return MAPPER.writeValueAsString(method).getBytes(StandardCharsets.UTF_8);
+            }
+            return Arrays.copyOf(writer.buffer, writer.size);
+        } finally {
+            if (writer.buffer.length > MAX_RETAINED_CAPACITY) {
+                writer.buffer = new byte[INITIAL_CAPACITY];
+            }
+        }
+    }
+
+    /**
+     * @return Whether the method is written without Jackson
+     */
+    public static boolean supports(BotApiMethod<?> method) {
+        if (method instanceof SendMessage message) {
+            return message.getEntities() == null && message.getLinkPreviewOptions() == null
+                    && message.getReplyParameters() == null && supports(message.getReplyMarkup());
+        }
+        if (method instanceof EditMessageText edit) {
+            return edit.getEntities() == null && edit.getLinkPreviewOptions() == null
+                    && supports(edit.getReplyMarkup());
+        }
+        if (method instanceof EditMessageReplyMarkup edit) {
+            return supports(edit.getReplyMarkup());
+        }
+        return method instanceof AnswerCallbackQuery;
+    }
+
+    /**
+     * Pre-serializes a keyboard that will never be modified, so that sending it copies bytes.
+     */
+    static void registerKeyboard(InlineKeyboardMarkup keyboard) {
+        if (!supports(keyboard)) {
+            return;
+        }
+        TelegramJsonWriter writer = new TelegramJsonWriter();
+        writer.writeKeyboard(keyboard);
+        KEYBOARD_FRAGMENTS.put(new IdentityKey(keyboard), Arrays.copyOf(writer.buffer, writer.size));
+    }
+
+    /**
+     * Pre-encodes constant texts, e.g. messages without arguments. Only the same String instances
+     * are sent as the pre-encoded bytes.
+     */
+    public static synchronized void registerTexts(Collection<String> texts) {
+        Map<String, byte[]> fragments = new IdentityHashMap<>(textFragments);
+        TelegramJsonWriter writer = new TelegramJsonWriter();
+        for (String text : texts) {
+            writer.size = 0;
+            writer.writeString(text);
+            fragments.put(text, Arrays.copyOf(writer.buffer, writer.size));
+        }
+        textFragments = fragments;
+    }
+
+    static void clearKeyboards() {
+        KEYBOARD_FRAGMENTS.clear();
+    }
+
+    private boolean write(BotApiMethod<?> method) {
+        if (!supports(method)) {
+            return false;
+        }
+        if (method instanceof SendMessage message) {
+            writeSendMessage(message);
+        } else if (method instanceof EditMessageText edit) {
+            writeEditMessageText(edit);
+        } else if (method instanceof EditMessageReplyMarkup edit) {
+            writeEditMessageReplyMarkup(edit);
+        } else {
+            writeAnswerCallbackQuery((AnswerCallbackQuery) method);
+        }
+        return true;
+    }
+
+    private void writeSendMessage(SendMessage message) {
+        writeByte('{');
+        boolean first = field("chat_id", message.getChatId(), true);
+        first = field("message_thread_id", message.getMessageThreadId(), first);
+        first = field("text", message.getText(), first);
+        first = field("parse_mode", message.getParseMode(), first);
+        first = field("disable_web_page_preview", message.getDisableWebPagePreview(), first);
+        first = field("disable_notification", message.getDisableNotification(), first);
+        first = field("reply_to_message_id", message.getReplyToMessageId(), first);
+        first = keyboardField(message.getReplyMarkup(), first);
+        first = field("allow_sending_without_reply", message.getAllowSendingWithoutReply(), first);
+        first = field("protect_content", message.getProtectContent(), first);
+        field("method", message.getMethod(), first);
+        writeByte('}');
+    }
+
+    private void writeEditMessageText(EditMessageText edit) {
+        writeByte('{');
+        boolean first = field("chat_id", edit.getChatId(), true);
+        first = field("message_id", edit.getMessageId(), first);
+        first = field("inline_message_id", edit.getInlineMessageId(), first);
+        first = field("text", edit.getText(), first);
+        first = field("parse_mode", edit.getParseMode(), first);
+        first = field("disable_web_page_preview", edit.getDisableWebPagePreview(), first);
+        first = keyboardField(edit.getReplyMarkup(), first);
+        field("method", edit.getMethod(), first);
+        writeByte('}');
+    }
+
+    private void writeEditMessageReplyMarkup(EditMessageReplyMarkup edit) {
+        writeByte('{');
+        boolean first = field("chat_id", edit.getChatId(), true);
+        first = field("message_id", edit.getMessageId(), first);
+        first = field("inline_message_id", edit.getInlineMessageId(), first);
+        first = keyboardField(edit.getReplyMarkup(), first);
+        field("method", edit.getMethod(), first);
+        writeByte('}');
+    }
+
+    private void writeAnswerCallbackQuery(AnswerCallbackQuery answer) {
+        writeByte('{');
+        boolean first = field("callback_query_id", answer.getCallbackQueryId(), true);
+        first = field("text", answer.getText(), first);
+        first = field("show_alert", answer.getShowAlert(), first);
+        first = field("url", answer.getUrl(), first);
+        first = field("cache_time", answer.getCacheTime(), first);
+        field("method", answer.getMethod(), first);
+        writeByte('}');
+    }
+
+    private static boolean supports(ReplyKeyboard markup) {
+        if (markup == null) {
+            return true;
+        }
+        if (!(markup instanceof InlineKeyboardMarkup keyboard)) {
+            return false;
+        }
+        if (keyboard.getKeyboard() == null) {
+            return true;
+        }
+        for (List<InlineKeyboardButton> row : keyboard.getKeyboard()) {
+            for (InlineKeyboardButton button : row) {
+                if (button.getCallbackGame() != null || button.getLoginUrl() != null || button.getWebApp() != null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean keyboardField(ReplyKeyboard markup, boolean first) {
+        if (markup == null) {
+            return first;
+        }
+        name("reply_markup", first);
+        byte[] fragment = KEYBOARD_FRAGMENTS.get(new IdentityKey(markup));
+        if (fragment != null) {
+            writeBytes(fragment);
+        } else {
+            writeKeyboard((InlineKeyboardMarkup) markup);
+        }
+        return false;
+    }
+
+    private void writeKeyboard(InlineKeyboardMarkup keyboard) {
+        writeByte('{');
+        if (keyboard.getKeyboard() != null) {
+            name("inline_keyboard", true);
+            writeByte('[');
+            boolean firstRow = true;
+            for (List<InlineKeyboardButton> row : keyboard.getKeyboard()) {
+                if (!firstRow) {
+                    writeByte(',');
+                }
+                firstRow = false;
+                writeByte('[');
+                boolean firstButton = true;
+                for (InlineKeyboardButton button : row) {
+                    if (!firstButton) {
+                        writeByte(',');
+                    }
+                    firstButton = false;
+                    writeButton(button);
+                }
+                writeByte(']');
+            }
+            writeByte(']');
+        }
+        writeByte('}');
+    }
+
+    private void writeButton(InlineKeyboardButton button) {
+        writeByte('{');
+        boolean first = field("text", button.getText(), true);
+        first = field("url", button.getUrl(), first);
+        first = field("callback_data", button.getCallbackData(), first);
+        first = field("switch_inline_query", button.getSwitchInlineQuery(), first);
+        first = field("switch_inline_query_current_chat", button.getSwitchInlineQueryCurrentChat(), first);
+        field("pay", button.getPay(), first);
+        writeByte('}');
+    }
+
+    private boolean field(String name, String value, boolean first) {
+        if (value == null) {
+            return first;
+        }
+        name(name, first);
+        byte[] fragment = textFragments.get(value);
+        if (fragment != null) {
+            writeBytes(fragment);
+        } else {
+            writeString(value);
+        }
+        return false;
+    }
+
+    private boolean field(String name, Integer value, boolean first) {
+        if (value == null) {
+            return first;
+        }
+        name(name, first);
+        writeAscii(Integer.toString(value));
+        return false;
+    }
+
+    private boolean field(String name, Boolean value, boolean first) {
+        if (value == null) {
+            return first;
+        }
+        name(name, first);
+        writeAscii(value ? "true" : "false");
+        return false;
+    }
+
+    private void name(String name, boolean first) {
+        ensureCapacity(name.length() + 4);
+        if (!first) {
+            buffer[size++] = ',';
+        }
+        buffer[size++] = '"';
+        for (int i = 0; i < name.length(); i++) {
+            buffer[size++] = (byte) name.charAt(i);
+        }
+        buffer[size++] = '"';
+        buffer[size++] = ':';
+    }
+
+    /**
+     * Writes a quoted string escaped like Jackson: short escapes for quotes, backslashes, backspace,
+     * tab, newline, form feed and carriage return, unicode escapes for other control characters,
+     * everything else as raw UTF-8.
+     */
+    private void writeString(String value) {
+        // Worst case is six bytes per char for an escape
+        ensureCapacity(value.length() * 6 + 2);
+        byte[] out = buffer;
+        int position = size;
+        out[position++] = '"';
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    out[position++] = (byte) c;
+                } else {
+                    position = writeEscape(out, position, c);
+                }
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | (c >> 6));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Encoding the JSON string as UTF-8 replaces unpaired surrogates
+                out[position++] = '?';
+            } else {
+                out[position++] = (byte) (0xE0 | (c >> 12));
+                out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        out[position++] = '"';
+        size = position;
+    }
+
+    private static int writeEscape(byte[] out, int position, char c) {
+        byte shortEscape = switch (c) {
+            case '"' -> '"';
+            case '\\' -> '\\';
+            case '\b' -> 'b';
+            case '\t' -> 't';
+            case '\n' -> 'n';
+            case '\f' -> 'f';
+            case '\r' -> 'r';
+            default -> 0;
+        };
+        if (shortEscape == 0) {
+            return writeUnicodeEscape(out, position, c);
+        }
+        out[position++] = '\\';
+        out[position++] = shortEscape;
+        return position;
+    }
+
+    private static int writeUnicodeEscape(byte[] out, int position, char c) {
+        out[position++] = '\\';
+        out[position++] = 'u';
+        out[position++] = HEX[(c >> 12) & 0xF];
+        out[position++] = HEX[(c >> 8) & 0xF];
+        out[position++] = HEX[(c >> 4) & 0xF];
+        out[position++] = HEX[c & 0xF];
+        return position;
+    }
+
+    private void writeAscii(String value) {
+        ensureCapacity(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer[size++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void writeByte(char c) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) c;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+
+    /**
+     * Compares keyboards by identity; their own equals walks every button.
+     */
+    private record IdentityKey(Object value) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof IdentityKey key && key.value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(value);
+        }
+    }
+}
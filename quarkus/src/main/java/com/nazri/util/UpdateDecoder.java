@@ -0,0 +1,241 @@
+package com.nazri.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.telegram.telegrambots.meta.api.objects.CallbackQuery;
+import org.telegram.telegrambots.meta.api.objects.Chat;
+import org.telegram.telegrambots.meta.api.objects.Location;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.Update;
+import org.telegram.telegrambots.meta.api.objects.User;
+import org.telegram.telegrambots.meta.api.objects.inlinequery.InlineQuery;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.InlineKeyboardButton;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a webhook update from its JSON, filling in only the fields the bot uses: the text,
+ * chat, sender and location of messages, callback queries with the message holding the button
+ * and its keyboard, and inline queries. Everything else is skipped without being bound.
+ *
+ * The update is read with the streaming parser and the objects are filled in by their setters,
+ * so no reflection is involved and the native image does not need the Bot API object model
+ * registered for it.
+ */
+public final class UpdateDecoder {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private UpdateDecoder() {
+    }
+
+    /**
+     * @param json The update as sent by Telegram
+     * @return The update with the fields the bot uses
+     * @throws IOException if the JSON is malformed or a field has the wrong type
+     */
+    public static Update decode(byte[] json) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            startObject(parser, parser.nextToken());
+            Update update = new Update();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "update_id" -> update.setUpdateId(parser.getIntValue());
+                    case "message" -> update.setMessage(message(parser, value));
+                    case "callback_query" -> update.setCallbackQuery(callbackQuery(parser, value));
+                    case "inline_query" -> update.setInlineQuery(inlineQuery(parser, value));
+                    default -> parser.skipChildren();
+                }
+            }
+            return update;
+        }
+    }
+
+    private static Message message(JsonParser parser, JsonToken token) throws IOException {
+        startObject(parser, token);
+        Message message = new Message();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "message_id" -> message.setMessageId(parser.getIntValue());
+                case "date" -> message.setDate(parser.getIntValue());
+                case "text" -> message.setText(parser.getText());
+                case "chat" -> message.setChat(chat(parser, value));
+                case "from" -> message.setFrom(user(parser, value));
+                case "location" -> message.setLocation(location(parser, value));
+                case "reply_markup" -> message.setReplyMarkup(keyboard(parser, value));
+                default -> parser.skipChildren();
+            }
+        }
+        return message;
+    }
+
+    private static Chat chat(JsonParser parser, JsonToken token) throws IOException {
+        startObject(parser, token);
+        Chat chat = new Chat();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> chat.setId(parser.getLongValue());
+                case "type" -> chat.setType(parser.getText());
+                case "title" -> chat.setTitle(parser.getText());
+                case "username" -> chat.setUserName(parser.getText());
+                case "first_name" -> chat.setFirstName(parser.getText());
+                default -> parser.skipChildren();
+            }
+        }
+        return chat;
+    }
+
+    private static User user(JsonParser parser, JsonToken token) throws IOException {
+        startObject(parser, token);
+        User user = new User();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> user.setId(parser.getLongValue());
+                case "is_bot" -> user.setIsBot(parser.getBooleanValue());
+                case "first_name" -> user.setFirstName(parser.getText());
+                case "username" -> user.setUserName(parser.getText());
+                case "language_code" -> user.setLanguageCode(parser.getText());
+                default -> parser.skipChildren();
+            }
+        }
+        return user;
+    }
+
+    private static Location location(JsonParser parser, JsonToken token) throws IOException {
+        startObject(parser, token);
+        Location location = new Location();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "latitude" -> location.setLatitude(parser.getDoubleValue());
+                case "longitude" -> location.setLongitude(parser.getDoubleValue());
+                default -> parser.skipChildren();
+            }
+        }
+        return location;
+    }
+
+    /**
+     * The inline keyboard of a message, compared with a reply's keyboard before editing it.
+     */
+    private static InlineKeyboardMarkup keyboard(JsonParser parser, JsonToken token) throws IOException {
+        startObject(parser, token);
+        InlineKeyboardMarkup keyboard = new InlineKeyboardMarkup();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("inline_keyboard".equals(field) && value == JsonToken.START_ARRAY) {
+                List<List<InlineKeyboardButton>> rows = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.START_ARRAY) {
+                    List<InlineKeyboardButton> row = new ArrayList<>();
+                    JsonToken button;
+                    while ((button = parser.nextToken()) != JsonToken.END_ARRAY) {
+                        row.add(button(parser, button));
+                    }
+                    rows.add(row);
+                }
+                keyboard.setKeyboard(rows);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return keyboard;
+    }
+
+    private static InlineKeyboardButton button(JsonParser parser, JsonToken token) throws IOException {
+        startObject(parser, token);
+        InlineKeyboardButton button = new InlineKeyboardButton();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "text" -> button.setText(parser.getText());
+                case "callback_data" -> button.setCallbackData(parser.getText());
+                case "url" -> button.setUrl(parser.getText());
+                default -> parser.skipChildren();
+            }
+        }
+        return button;
+    }
+
+    private static CallbackQuery callbackQuery(JsonParser parser, JsonToken token) throws IOException {
+        startObject(parser, token);
+        CallbackQuery callbackQuery = new CallbackQuery();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> callbackQuery.setId(parser.getText());
+                case "from" -> callbackQuery.setFrom(user(parser, value));
+                case "message" -> callbackQuery.setMessage(message(parser, value));
+                case "inline_message_id" -> callbackQuery.setInlineMessageId(parser.getText());
+                case "chat_instance" -> callbackQuery.setChatInstance(parser.getText());
+                case "data" -> callbackQuery.setData(parser.getText());
+                default -> parser.skipChildren();
+            }
+        }
+        return callbackQuery;
+    }
+
+    private static InlineQuery inlineQuery(JsonParser parser, JsonToken token) throws IOException {
+        startObject(parser, token);
+        InlineQuery inlineQuery = new InlineQuery();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> inlineQuery.setId(parser.getText());
+                case "from" -> inlineQuery.setFrom(user(parser, value));
+                case "query" -> inlineQuery.setQuery(parser.getText());
+                case "offset" -> inlineQuery.setOffset(parser.getText());
+                case "chat_type" -> inlineQuery.setChatType(parser.getText());
+                default -> parser.skipChildren();
+            }
+        }
+        return inlineQuery;
+    }
+
+    private static void startObject(JsonParser parser, JsonToken token) throws JsonParseException {
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected an object but found " + token);
+        }
+    }
+}
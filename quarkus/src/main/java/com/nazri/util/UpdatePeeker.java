@@ -0,0 +1,122 @@
+package com.nazri.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the type of a Telegram update ("message", "callback_query", ...) from its raw JSON,
+ * without binding it: the type is the update's only top-level field besides "update_id".
+ *
+ * Nested objects and strings are skipped by scanning for their end, so peeking costs one pass
+ * over at most the bytes before the type field.
+ */
+public final class UpdatePeeker {
+
+    private static final byte[] UPDATE_ID = "update_id".getBytes(StandardCharsets.US_ASCII);
+
+    private UpdatePeeker() {
+    }
+
+    /**
+     * @param json The update as sent by Telegram
+     * @return The update type, or null if the JSON is not an object with a type field
+     */
+    public static String type(byte[] json) {
+        int i = skipWhitespace(json, 0);
+        if (i >= json.length || json[i] != '{') {
+            return null;
+        }
+        i++;
+        while (true) {
+            i = skipWhitespace(json, i);
+            if (i >= json.length || json[i] != '"') {
+                return null;
+            }
+            int keyStart = i + 1;
+            int keyEnd = skipString(json, i);
+            if (keyEnd < 0) {
+                return null;
+            }
+            i = skipWhitespace(json, keyEnd + 1);
+            if (i >= json.length || json[i] != ':') {
+                return null;
+            }
+            if (!equals(json, keyStart, keyEnd, UPDATE_ID)) {
+                return new String(json, keyStart, keyEnd - keyStart, StandardCharsets.UTF_8);
+            }
+            i = skipValue(json, skipWhitespace(json, i + 1));
+            if (i < 0) {
+                return null;
+            }
+            i = skipWhitespace(json, i);
+            if (i >= json.length || json[i] != ',') {
+                return null;
+            }
+            i++;
+        }
+    }
+
+    private static boolean equals(byte[] json, int start, int end, byte[] expected) {
+        if (end - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (json[start + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(byte[] json, int i) {
+        while (i < json.length && (json[i] == ' ' || json[i] == '\n' || json[i] == '\r' || json[i] == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @param i The index of the opening quote
+     * @return The index of the closing quote, -1 if the string does not end
+     */
+    private static int skipString(byte[] json, int i) {
+        for (i++; i < json.length; i++) {
+            if (json[i] == '\\') {
+                i++;
+            } else if (json[i] == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The index after the value starting at i, -1 if it does not end
+     */
+    private static int skipValue(byte[] json, int i) {
+        int depth = 0;
+        for (; i < json.length; i++) {
+            byte b = json[i];
+            if (b == '"') {
+                i = skipString(json, i);
+                if (i < 0) {
+                    return -1;
+                }
+                if (depth == 0) {
+                    return i + 1;
+                }
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                if (depth == 0) {
+                    return i;
+                }
+                if (--depth == 0) {
+                    return i + 1;
+                }
+            } else if (depth == 0 && (b == ',' || b == ' ' || b == '\n' || b == '\r' || b == '\t')) {
+                return i;
+            }
+        }
+        return depth == 0 ? i : -1;
+    }
+}
@@ -1,21 +1,15 @@
 package com.nazri.util;
 
-import org.eclipse.microprofile.config.ConfigProvider;
-
 import java.math.BigDecimal;
-import java.text.NumberFormat;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.Currency;
-import java.util.Locale;
 
 /**
  * Utility class providing helper methods for currency conversion operations.
  * 
- * This class offers methods for formatting money values, validating numeric input,
- * and finding appropriate locales for currency formatting. It also provides
- * functionality for retrieving emoji flags for currency codes.
+ * This class offers methods for formatting money values and validating numeric input.
+ * It also provides functionality for retrieving emoji flags for currency codes.
  */
 public class Util {
 
@@ -55,71 +49,46 @@ public class Util {
      * @throws IllegalArgumentException if currency code is invalid
      */
     public static String formatMoney(BigDecimal amount, String currencyCode) {
-        // Validate currency code
-        Currency currency;
-        try {
-            currency = Currency.getInstance(currencyCode);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid currency code: " + currencyCode);
-        }
-
-        // Find the most appropriate locale for this currency
-        Locale locale = findLocaleForCurrency(currency);
-
-        // Create formatter with the determined locale
-        NumberFormat formatter = NumberFormat.getCurrencyInstance(locale);
-        formatter.setCurrency(currency);
-
-        // Format the amount
-        String formatted = formatter.format(amount).trim();
-
-        // Replace the currency symbol with the currency code
-        return formatted.replace(currency.getSymbol(locale), currencyCode + " ");
+        return appendMoney(new StringBuilder(24), amount, currencyCode).toString();
     }
 
     /**
-     * Finds the most appropriate locale for a given currency.
-     * First tries to find a locale where this is the primary currency,
-     * falls back to US locale if none found.
+     * Appends a formatted money string to an existing buffer, without intermediate strings.
      *
-     * @param currency The Currency to find a locale for
-     * @return The most appropriate Locale
+     * The output is identical to {@link #formatMoney(BigDecimal, String)}: the amount is formatted
+     * like the currency's primary locale (US as fallback), with the symbol replaced by the code.
+     * Users with another {@link Language} get their own locale's separators instead.
+     *
+     * @param out          The buffer to append to.
+     * @param amount       The monetary value to format.
+     * @param currencyCode The ISO 4217 currency code (e.g., "SGD", "USD").
+     * @return The same buffer, for chaining.
+     * @throws IllegalArgumentException if currency code is invalid
      */
-    private static Locale findLocaleForCurrency(Currency currency) {
-        // Get all available locales
-        Locale[] allLocales = Locale.getAvailableLocales();
-
-        // First try: Find a locale where this is the primary currency
-        for (Locale locale : allLocales) {
-            try {
-                if (Currency.getInstance(locale).getCurrencyCode()
-                        .equals(currency.getCurrencyCode())) {
-                    return locale;
-                }
-            } catch (IllegalArgumentException e) {
-                // Skip locales without currency information
-                continue;
-            }
-        }
+    public static StringBuilder appendMoney(StringBuilder out, BigDecimal amount, String currencyCode) {
+        return MoneyFormatter.append(out, amount, currencyCode, LanguageContext.get());
+    }
 
-        // Fallback to US locale if no matching locale found
-        return Locale.US;
+    /**
+     * Appends a formatted money string for the given language rather than the current update's.
+     *
+     * @see #appendMoney(StringBuilder, BigDecimal, String)
+     */
+    public static StringBuilder appendMoney(StringBuilder out, BigDecimal amount, String currencyCode, Language language) {
+        return MoneyFormatter.append(out, amount, currencyCode, language);
     }
 
     /**
      * Retrieves the emoji flag for a given currency code from configuration.
      * 
-     * Looks up the emoji flag using the configuration property "currency.{currencyCode}"
-     * (case insensitive). Returns a default money bag emoji "💰" if no configuration
+     * Looks up the emoji flag configured as "currency.{currencyCode}" (case insensitive),
+     * see {@link EmojiFlags}. Returns a default money bag emoji "💰" if no configuration
      * is found for the currency code.
      * 
      * @param currencyCode The currency code to get emoji flag for (e.g., "USD", "EUR")
      * @return The emoji flag for the currency code or default money bag emoji
      */
     public static String getEmojiFlag(String currencyCode) {
-        String propertyName = "currency." + currencyCode.toLowerCase();
-        return ConfigProvider.getConfig()
-                .getOptionalValue(propertyName, String.class)
-                .orElse("💰");
+        return EmojiFlags.get(currencyCode);
     }
 }
@@ -0,0 +1,103 @@
+package com.nazri.benchmark;
+
+import com.nazri.client.FakeTelegramServer;
+import com.nazri.client.TelegramApiClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.telegram.telegrambots.bots.DefaultAbsSender;
+import org.telegram.telegrambots.bots.DefaultBotOptions;
+import org.telegram.telegrambots.meta.api.methods.AnswerCallbackQuery;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a callback update's two sends (answerCallbackQuery and sendMessage) against a local
+ * stand-in Telegram API with a fixed latency: sent one after the other through the library's
+ * sender, as the callback handlers used to, and concurrently through {@link TelegramApiClient}.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.nazri.benchmark.TelegramClientBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TelegramClientBenchmark {
+
+    private static final String TOKEN = "123:token";
+
+    @Param({"20"})
+    long latencyMillis;
+
+    private FakeTelegramServer server;
+    private DefaultAbsSender librarySender;
+    private TelegramApiClient client;
+
+    private SendMessage message;
+    private AnswerCallbackQuery answer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = new FakeTelegramServer().delay(latencyMillis);
+
+        DefaultBotOptions options = new DefaultBotOptions();
+        options.setBaseUrl(server.getApiUrl());
+        librarySender = new DefaultAbsSender(options, TOKEN) {};
+
+        // Limits well above the benchmark's rate, it measures the transport
+        client = server.newClient(FakeTelegramServer.newRateLimiter(100_000, 100_000, 100_000, 1000));
+        client.warmUp();
+
+        message = new SendMessage("1", "*Coinverted Currencies*\n\n*From*\n🇺🇸 USD 100.00\n\n*To*\n🇸🇬 SGD 134.52");
+        answer = new AnswerCallbackQuery("4382bfdwdsb323b2d9");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public Object librarySequential() throws TelegramApiException {
+        librarySender.execute(answer);
+        return librarySender.execute(message);
+    }
+
+    @Benchmark
+    public Object clientSequential() throws TelegramApiException {
+        client.execute(answer);
+        return client.execute(message);
+    }
+
+    @Benchmark
+    public Object clientConcurrent() {
+        CompletableFuture<Boolean> answered = client.executeAsync(answer);
+        CompletableFuture<?> sent = client.executeAsync(message);
+        return CompletableFuture.allOf(answered, sent).join();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TelegramClientBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
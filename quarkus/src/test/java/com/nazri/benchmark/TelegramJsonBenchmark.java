@@ -0,0 +1,96 @@
+package com.nazri.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nazri.util.Constant;
+import com.nazri.util.KeyboardUtil;
+import com.nazri.util.Messages;
+import com.nazri.util.TelegramJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.telegram.telegrambots.meta.api.methods.AnswerCallbackQuery;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link TelegramJsonWriter} with the Jackson serialization the library uses.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.nazri.benchmark.TelegramJsonBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TelegramJsonBenchmark {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private SendMessage conversion;
+    private SendMessage help;
+    private AnswerCallbackQuery answer;
+
+    @Setup
+    public void setUp() {
+        conversion = new SendMessage("123456789", Messages.convertResult("🇺🇸 USD 100", "🇸🇬 SGD 134.52\n🇯🇵 JPY 15,012"));
+        conversion.setParseMode(Constant.MARKDOWN);
+        conversion.setReplyMarkup(KeyboardUtil.createCurrencyKeyboard(List.of("SGD", "USD", "JPY", "EUR", "GBP"), "to"));
+
+        help = new SendMessage("123456789", Messages.templates().get(Messages.HELP_CONTENT).format());
+        help.setParseMode(Constant.MARKDOWN);
+
+        answer = new AnswerCallbackQuery("4382bfdwdsb323b2d9");
+        answer.setText("Saved ✅");
+    }
+
+    @Benchmark
+    public byte[] jacksonConversion() throws Exception {
+        return mapper.writeValueAsString(conversion).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writerConversion() throws Exception {
+        return TelegramJsonWriter.toJson(conversion);
+    }
+
+    @Benchmark
+    public byte[] jacksonHelp() throws Exception {
+        return mapper.writeValueAsString(help).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writerHelp() throws Exception {
+        return TelegramJsonWriter.toJson(help);
+    }
+
+    @Benchmark
+    public byte[] jacksonAnswer() throws Exception {
+        return mapper.writeValueAsString(answer).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writerAnswer() throws Exception {
+        return TelegramJsonWriter.toJson(answer);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TelegramJsonBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,138 @@
+package com.nazri.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Local stand-in for the Telegram Bot API, answering {@code POST /bot<token>/<method>} after a
+ * configurable delay. Records every request and the highest number handled at once.
+ */
+public class FakeTelegramServer implements AutoCloseable {
+
+    /** Successful result for methods returning a Message, e.g. sendMessage. */
+    public static final String MESSAGE_RESULT =
+            "{\"ok\":true,\"result\":{\"message_id\":1,\"date\":0,\"chat\":{\"id\":1,\"type\":\"private\"}}}";
+    /** Successful result for methods returning true, e.g. answerCallbackQuery. */
+    public static final String TRUE_RESULT = "{\"ok\":true,\"result\":true}";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Queue<Request> requests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long delayMillis;
+    private volatile Function<Request, Response> responder = FakeTelegramServer::defaultResponse;
+
+    public record Request(String method, String body) {}
+
+    public record Response(int status, String body) {}
+
+    public FakeTelegramServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * @return The base URL to configure as telegram.api.url
+     */
+    public String getApiUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/bot";
+    }
+
+    /**
+     * @return A client sending to this server, rate limited with the default limits
+     */
+    public TelegramApiClient newClient() {
+        return newClient(newRateLimiter(30, 1, 3, 1000));
+    }
+
+    public TelegramApiClient newClient(TelegramRateLimiter rateLimiter) {
+        TelegramApiClient client = new TelegramApiClient();
+        client.apiUrl = getApiUrl();
+        client.botToken = "123:token";
+        client.timeout = Duration.ofSeconds(5);
+        client.prewarmTimeout = Duration.ofSeconds(2);
+        client.rateLimiter = rateLimiter;
+        return client;
+    }
+
+    public static TelegramRateLimiter newRateLimiter(double globalPerSecond, double chatPerSecond, int chatBurst, int queueCapacity) {
+        TelegramRateLimiter rateLimiter = new TelegramRateLimiter();
+        rateLimiter.globalPerSecond = globalPerSecond;
+        rateLimiter.chatPerSecond = chatPerSecond;
+        rateLimiter.chatBurst = chatBurst;
+        rateLimiter.queueCapacity = queueCapacity;
+        rateLimiter.maxRetries = 2;
+        return rateLimiter;
+    }
+
+    public FakeTelegramServer delay(long millis) {
+        this.delayMillis = millis;
+        return this;
+    }
+
+    public FakeTelegramServer respond(Function<Request, Response> responder) {
+        this.responder = responder;
+        return this;
+    }
+
+    public List<Request> getRequests() {
+        return List.copyOf(requests);
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            String path = exchange.getRequestURI().getPath();
+            Request request = new Request(path.substring(path.lastIndexOf('/') + 1),
+                    new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            requests.add(request);
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+
+            Response response = responder.apply(request);
+            byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private static Response defaultResponse(Request request) {
+        return new Response(200, request.method().startsWith("send") ? MESSAGE_RESULT : TRUE_RESULT);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,158 @@
+package com.nazri.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.meta.api.methods.AnswerCallbackQuery;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updates.GetUpdates;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.Update;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiValidationException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelegramApiClientTest {
+
+    private FakeTelegramServer server;
+
+    private TelegramApiClient telegramApiClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeTelegramServer();
+        telegramApiClient = server.newClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void execute_ShouldPostMethodAndReturnResult() throws Exception {
+        // Given
+        SendMessage message = new SendMessage("1", "Hello");
+
+        // When
+        Message result = telegramApiClient.execute(message);
+
+        // Then
+        assertEquals(1, result.getMessageId());
+        assertEquals(List.of(new FakeTelegramServer.Request("sendmessage",
+                "{\"chat_id\":\"1\",\"text\":\"Hello\",\"method\":\"sendmessage\"}")), server.getRequests());
+    }
+
+    @Test
+    void executeAsync_ShouldSendIndependentMethodsConcurrently() throws Exception {
+        // Given
+        server.delay(200);
+        SendMessage message = new SendMessage("1", "Converted");
+        AnswerCallbackQuery answer = new AnswerCallbackQuery("cbid");
+
+        // When
+        CompletableFuture<Message> sent = telegramApiClient.executeAsync(message);
+        CompletableFuture<Boolean> answered = telegramApiClient.executeAsync(answer);
+
+        // Then
+        assertNotNull(sent.get());
+        assertTrue(answered.get());
+        assertEquals(2, server.getMaxInFlight());
+    }
+
+    @Test
+    void execute_ShouldThrowRequestException_WhenTelegramRejectsMethod() {
+        // Given
+        server.respond(request -> new FakeTelegramServer.Response(400,
+                "{\"ok\":false,\"error_code\":400,\"description\":\"Bad Request: chat not found\"}"));
+
+        // When & Then
+        TelegramApiRequestException exception = assertThrows(TelegramApiRequestException.class,
+                () -> telegramApiClient.execute(new SendMessage("1", "Hello")));
+        assertEquals(400, exception.getErrorCode());
+    }
+
+    @Test
+    void executeAsync_ShouldFailWithoutRequest_WhenMethodIsInvalid() {
+        // When
+        CompletableFuture<Message> sent = telegramApiClient.executeAsync(new SendMessage("1", ""));
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, sent::get);
+        assertInstanceOf(TelegramApiValidationException.class, exception.getCause());
+        assertTrue(server.getRequests().isEmpty());
+    }
+
+    @Test
+    void execute_ShouldRetryAfterDelay_WhenTelegramAnswersTooManyRequests() throws Exception {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        server.respond(request -> attempts.incrementAndGet() == 1
+                ? tooManyRequests(1)
+                : new FakeTelegramServer.Response(200, FakeTelegramServer.MESSAGE_RESULT));
+        long start = System.nanoTime();
+
+        // When
+        Message result = telegramApiClient.execute(new SendMessage("1", "Hello"));
+
+        // Then
+        assertEquals(1, result.getMessageId());
+        assertEquals(2, server.getRequests().size());
+        assertTrue(System.nanoTime() - start >= 1_000_000_000L);
+    }
+
+    @Test
+    void execute_ShouldThrowRateLimitException_WhenRetriesRunOut() {
+        // Given
+        server.respond(request -> tooManyRequests(0));
+
+        // When & Then
+        assertThrows(TelegramApiRateLimitException.class, () -> telegramApiClient.execute(new SendMessage("1", "Hello")));
+        assertEquals(3, server.getRequests().size());
+    }
+
+    @Test
+    void warmUp_ShouldOpenConnectionWithGetMe() {
+        // When
+        telegramApiClient.warmUp();
+
+        // Then
+        assertEquals("getMe", server.getRequests().get(0).method());
+    }
+
+    @Test
+    void getUpdates_ShouldPollWithOffset_AndBypassRateLimiter() throws Exception {
+        // Given
+        telegramApiClient = server.newClient(FakeTelegramServer.newRateLimiter(1, 1, 1, 0));
+        server.respond(request -> new FakeTelegramServer.Response(200, "{\"ok\":true,\"result\":["
+                + "{\"update_id\":7,\"message\":{\"message_id\":1,\"date\":0,\"chat\":{\"id\":1,\"type\":\"private\"},\"text\":\"hi\"}},"
+                + "{\"update_id\":8}]}"));
+        GetUpdates getUpdates = new GetUpdates();
+        getUpdates.setOffset(7);
+        getUpdates.setLimit(100);
+        getUpdates.setTimeout(0);
+
+        // When
+        List<Update> updates = telegramApiClient.getUpdates(getUpdates);
+
+        // Then
+        assertEquals(List.of(7, 8), updates.stream().map(Update::getUpdateId).toList());
+        assertEquals("hi", updates.get(0).getMessage().getText());
+        FakeTelegramServer.Request request = server.getRequests().get(0);
+        assertEquals("getupdates", request.method());
+        assertTrue(request.body().contains("\"offset\":7"));
+    }
+
+    private static FakeTelegramServer.Response tooManyRequests(int retryAfter) {
+        return new FakeTelegramServer.Response(429, "{\"ok\":false,\"error_code\":429,"
+                + "\"description\":\"Too Many Requests: retry after " + retryAfter + "\","
+                + "\"parameters\":{\"retry_after\":" + retryAfter + "}}");
+    }
+}
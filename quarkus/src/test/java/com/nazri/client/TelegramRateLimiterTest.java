@@ -0,0 +1,131 @@
+package com.nazri.client;
+
+import com.nazri.client.TelegramRateLimiter.Priority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.meta.api.methods.AnswerCallbackQuery;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelegramRateLimiterTest {
+
+    private TelegramRateLimiter rateLimiter;
+
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (rateLimiter != null) {
+            rateLimiter.shutdown();
+        }
+    }
+
+    @Test
+    void submit_ShouldSendImmediately_WhenWithinLimits() {
+        // Given
+        rateLimiter = FakeTelegramServer.newRateLimiter(30, 1, 3, 10);
+
+        // When
+        CompletableFuture<String> result = rateLimiter.submit("1", Priority.REPLY, send("a"));
+
+        // Then
+        assertTrue(result.isDone());
+        assertEquals(List.of("a"), sent);
+    }
+
+    @Test
+    void submit_ShouldWaitForGlobalToken_WhenGlobalLimitReached() throws Exception {
+        // Given
+        rateLimiter = FakeTelegramServer.newRateLimiter(2, 100, 100, 10);
+
+        // When
+        rateLimiter.submit("1", Priority.REPLY, send("a"));
+        rateLimiter.submit("2", Priority.REPLY, send("b"));
+        CompletableFuture<String> third = rateLimiter.submit("3", Priority.REPLY, send("c"));
+
+        // Then
+        assertFalse(third.isDone());
+        assertEquals("c", third.get(2, TimeUnit.SECONDS));
+        assertEquals(List.of("a", "b", "c"), sent);
+    }
+
+    @Test
+    void submit_ShouldNotHoldBackOtherChats_WhenOneChatIsLimited() throws Exception {
+        // Given
+        rateLimiter = FakeTelegramServer.newRateLimiter(30, 1, 1, 10);
+
+        // When
+        rateLimiter.submit("1", Priority.REPLY, send("a1"));
+        CompletableFuture<String> second = rateLimiter.submit("1", Priority.REPLY, send("a2"));
+        CompletableFuture<String> other = rateLimiter.submit("2", Priority.REPLY, send("b1"));
+
+        // Then
+        assertTrue(other.isDone());
+        assertFalse(second.isDone());
+        assertEquals("a2", second.get(3, TimeUnit.SECONDS));
+        assertEquals(List.of("a1", "b1", "a2"), sent);
+    }
+
+    @Test
+    void submit_ShouldSendAnswersBeforeBulk_WhenBothAreQueued() throws Exception {
+        // Given
+        rateLimiter = FakeTelegramServer.newRateLimiter(2, 100, 100, 10);
+        rateLimiter.submit("1", Priority.BULK, send("bulk1"));
+        rateLimiter.submit("2", Priority.BULK, send("bulk2"));
+
+        // When
+        CompletableFuture<String> bulk = rateLimiter.submit("3", Priority.BULK, send("bulk3"));
+        CompletableFuture<String> answer = rateLimiter.submit(null, Priority.ANSWER, send("answer"));
+
+        // Then
+        bulk.get(3, TimeUnit.SECONDS);
+        answer.get(3, TimeUnit.SECONDS);
+        assertEquals(List.of("bulk1", "bulk2", "answer", "bulk3"), sent);
+    }
+
+    @Test
+    void submit_ShouldRejectWithRetryAfter_WhenQueueIsFull() {
+        // Given
+        rateLimiter = FakeTelegramServer.newRateLimiter(1, 100, 100, 1);
+        rateLimiter.submit("1", Priority.BULK, send("a"));
+        rateLimiter.submit("2", Priority.BULK, send("b"));
+
+        // When
+        CompletableFuture<String> rejected = rateLimiter.submit("3", Priority.BULK, send("c"));
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, rejected::get);
+        TelegramApiRateLimitException rateLimitException =
+                assertInstanceOf(TelegramApiRateLimitException.class, exception.getCause());
+        assertTrue(rateLimitException.getRetryAfter().toMillis() > 0);
+        assertEquals(0, rateLimiter.remainingCapacity());
+    }
+
+    @Test
+    void chatId_ShouldReturnChatOfMessages_AndNullForAnswers() {
+        // Given
+        EditMessageText edit = new EditMessageText("Edited");
+        edit.setChatId("42");
+
+        // When & Then
+        assertEquals("7", TelegramRateLimiter.chatId(new SendMessage("7", "Hello")));
+        assertEquals("42", TelegramRateLimiter.chatId(edit));
+        assertNull(TelegramRateLimiter.chatId(new AnswerCallbackQuery("cbid")));
+    }
+
+    private Supplier<CompletableFuture<String>> send(String name) {
+        return () -> {
+            sent.add(name);
+            return CompletableFuture.completedFuture(name);
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.nazri.controller;
+
+import com.nazri.model.BroadcastResult;
+import com.nazri.service.BroadcastFailedException;
+import com.nazri.service.BroadcastService;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BroadcastControllerTest {
+
+    @Mock
+    private BroadcastService broadcastService;
+
+    private BroadcastController broadcastController;
+
+    @BeforeEach
+    void setUp() {
+        broadcastController = new BroadcastController();
+        broadcastController.broadcastService = broadcastService;
+        broadcastController.token = Optional.of("s3cret");
+    }
+
+    @Test
+    void broadcast_ShouldRunBroadcast_AndReturnCounts() {
+        // Given
+        BroadcastResult result = new BroadcastResult("release-2", 10, 1, false);
+        when(broadcastService.broadcast("release-2", "Hello")).thenReturn(result);
+
+        // When
+        Response response = broadcastController.broadcast("release-2", "Hello", "s3cret");
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertSame(result, response.getEntity());
+    }
+
+    @Test
+    void broadcast_ShouldRejectRequest_WhenTokenIsWrongOrUnset() {
+        // When
+        Response wrong = broadcastController.broadcast("release-2", "Hello", "guess");
+        broadcastController.token = Optional.empty();
+        Response disabled = broadcastController.broadcast("release-2", "Hello", "s3cret");
+
+        // Then
+        assertEquals(401, wrong.getStatus());
+        assertEquals(404, disabled.getStatus());
+        verifyNoInteractions(broadcastService);
+    }
+
+    @Test
+    void broadcast_ShouldAnswerConflict_WhenRunningElsewhere() {
+        // Given
+        when(broadcastService.broadcast(any(), any()))
+                .thenThrow(new IllegalStateException("Broadcast release-2 is already running"));
+
+        // When
+        Response response = broadcastController.broadcast("release-2", "Hello", "s3cret");
+
+        // Then
+        assertEquals(409, response.getStatus());
+    }
+
+    @Test
+    void broadcast_ShouldAnswerServerError_WhenRunFails() {
+        // Given
+        when(broadcastService.broadcast(any(), any()))
+                .thenThrow(new BroadcastFailedException("Broadcast release-2 failed", new RuntimeException("throttled")));
+
+        // When
+        Response response = broadcastController.broadcast("release-2", "Hello", "s3cret");
+
+        // Then
+        assertEquals(500, response.getStatus());
+    }
+}
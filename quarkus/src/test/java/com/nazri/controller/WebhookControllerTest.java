@@ -0,0 +1,131 @@
+package com.nazri.controller;
+
+import com.nazri.service.TelegramBot;
+import com.nazri.service.UpdateDeduplicator;
+import com.nazri.service.UpdateExecutor;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookControllerTest {
+
+    private static final String MESSAGE_UPDATE = "{\"update_id\":7,\"message\":{\"message_id\":1,\"date\":0,"
+            + "\"chat\":{\"id\":123,\"type\":\"private\"},\"text\":\"/help\"}}";
+
+    @Mock
+    private TelegramBot telegramBot;
+
+    @Mock
+    private UpdateDeduplicator updateDeduplicator;
+
+    @Mock
+    private UpdateExecutor updateExecutor;
+
+    private WebhookController webhookController;
+
+    @BeforeEach
+    void setUp() {
+        webhookController = new WebhookController();
+        webhookController.telegramBot = telegramBot;
+        webhookController.updateDeduplicator = updateDeduplicator;
+        webhookController.updateExecutor = updateExecutor;
+        webhookController.secretToken = Optional.of("s3cret");
+        webhookController.decoder = "slim";
+        webhookController.logEvery = 100;
+    }
+
+    @Test
+    void updates_ShouldBindAndProcessHandledUpdate_AndAnswerWithReply() {
+        // Given
+        when(telegramBot.onWebhookUpdateReceived(any())).thenAnswer(invocation -> new SendMessage("123", "Help"));
+
+        // When
+        Response response = webhookController.updates(bytes(MESSAGE_UPDATE), "s3cret");
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertTrue(new String((byte[]) response.getEntity(), StandardCharsets.UTF_8).contains("\"method\":\"sendmessage\""));
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(telegramBot).onWebhookUpdateReceived(captor.capture());
+        assertEquals(7, captor.getValue().getUpdateId());
+        assertEquals("/help", captor.getValue().getMessage().getText());
+    }
+
+    @Test
+    void updates_ShouldRejectRequest_WhenSecretTokenIsWrong() {
+        // When
+        Response missing = webhookController.updates(bytes(MESSAGE_UPDATE), null);
+        Response wrong = webhookController.updates(bytes(MESSAGE_UPDATE), "guess");
+
+        // Then
+        assertEquals(401, missing.getStatus());
+        assertEquals(401, wrong.getStatus());
+        verifyNoInteractions(telegramBot, updateDeduplicator);
+    }
+
+    @Test
+    void updates_ShouldAcknowledgeIgnoredTypes_WithoutProcessing() {
+        // When
+        Response response = webhookController.updates(
+                bytes("{\"update_id\":8,\"channel_post\":{\"message_id\":1,\"chat\":{\"id\":-100}}}"), "s3cret");
+
+        // Then
+        assertEquals(200, response.getStatus());
+        verifyNoInteractions(telegramBot, updateDeduplicator, updateExecutor);
+    }
+
+    @Test
+    void updates_ShouldAcceptAnyRequest_WhenNoSecretTokenIsConfigured() {
+        // Given
+        webhookController.secretToken = Optional.empty();
+
+        // When
+        Response response = webhookController.updates(bytes(MESSAGE_UPDATE), null);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        verify(telegramBot).onWebhookUpdateReceived(any());
+    }
+
+    @Test
+    void updates_ShouldReturnBadRequest_ForMalformedUpdate() {
+        // When
+        Response response = webhookController.updates(bytes("{\"update_id\":1,\"message\":{\"chat\":"), "s3cret");
+
+        // Then
+        assertEquals(400, response.getStatus());
+        verifyNoInteractions(telegramBot);
+    }
+
+    @Test
+    void updates_ShouldLogDuplicatesWithCounters_EveryLogEveryRequests() {
+        // Given
+        webhookController.logEvery = 2;
+
+        // When
+        webhookController.updates(bytes("{\"update_id\":1,\"poll\":{}}"), "s3cret");
+        webhookController.updates(bytes("{\"update_id\":2,\"poll\":{}}"), "s3cret");
+
+        // Then
+        verify(updateDeduplicator).getDuplicates();
+        verifyNoMoreInteractions(updateDeduplicator);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,88 @@
+package com.nazri.repository;
+
+import com.nazri.model.Lease;
+import com.nazri.util.Constant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaseRepositoryTest {
+
+    @Mock
+    private DynamoDbEnhancedClient dynamoDbEnhancedClient;
+
+    @Mock
+    private DynamoDbTable<Lease> leaseDynamoDbTable;
+
+    private LeaseRepository leaseRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(dynamoDbEnhancedClient.table(eq(Constant.LEASE_TABLE), any(TableSchema.class)))
+                .thenReturn(leaseDynamoDbTable);
+        leaseRepository = new LeaseRepository(dynamoDbEnhancedClient);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void acquire_ShouldPutLeaseUnlessHeldByAnotherOwner() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        boolean acquired = leaseRepository.acquire("telegram-polling", "instance-1", Duration.ofMinutes(1));
+
+        // Then
+        assertTrue(acquired);
+        ArgumentCaptor<PutItemEnhancedRequest<Lease>> captor = ArgumentCaptor.forClass(PutItemEnhancedRequest.class);
+        verify(leaseDynamoDbTable).putItem(captor.capture());
+        Lease lease = captor.getValue().item();
+        assertEquals("telegram-polling", lease.getName());
+        assertEquals("instance-1", lease.getOwner());
+        assertTrue(lease.getExpiresAt() >= before + 60_000);
+        assertEquals("attribute_not_exists(#name) OR #owner = :owner OR #expiresAt < :now",
+                captor.getValue().conditionExpression().expression());
+        assertEquals("instance-1", captor.getValue().conditionExpression().expressionValues().get(":owner").s());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void acquire_ShouldReturnFalse_WhenConditionFails() {
+        // Given
+        doThrow(ConditionalCheckFailedException.builder().message("held").build())
+                .when(leaseDynamoDbTable).putItem(any(PutItemEnhancedRequest.class));
+
+        // When & Then
+        assertFalse(leaseRepository.acquire("telegram-polling", "instance-2", Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void release_ShouldDeleteOnlyOwnLease() {
+        // Given
+        doThrow(ConditionalCheckFailedException.builder().message("taken over").build())
+                .when(leaseDynamoDbTable).deleteItem(any(DeleteItemEnhancedRequest.class));
+
+        // When & Then
+        assertDoesNotThrow(() -> leaseRepository.release("telegram-polling", "instance-1"));
+        ArgumentCaptor<DeleteItemEnhancedRequest> captor = ArgumentCaptor.forClass(DeleteItemEnhancedRequest.class);
+        verify(leaseDynamoDbTable).deleteItem(captor.capture());
+        assertEquals("#owner = :owner", captor.getValue().conditionExpression().expression());
+    }
+}
@@ -0,0 +1,75 @@
+package com.nazri.repository;
+
+import com.nazri.model.ProcessedUpdate;
+import com.nazri.util.Constant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessedUpdateRepositoryTest {
+
+    @Mock
+    private DynamoDbEnhancedClient dynamoDbEnhancedClient;
+
+    @Mock
+    private DynamoDbTable<ProcessedUpdate> updateDynamoDbTable;
+
+    private ProcessedUpdateRepository processedUpdateRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(dynamoDbEnhancedClient.table(eq(Constant.UPDATE_TABLE), any(TableSchema.class)))
+                .thenReturn(updateDynamoDbTable);
+        processedUpdateRepository = new ProcessedUpdateRepository(dynamoDbEnhancedClient);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void markReceived_ShouldPutUpdateIfAbsent_WithExpiry() {
+        // Given
+        long now = System.currentTimeMillis() / 1000;
+
+        // When
+        boolean first = processedUpdateRepository.markReceived(1000, Duration.ofHours(1));
+
+        // Then
+        assertTrue(first);
+        ArgumentCaptor<PutItemEnhancedRequest<ProcessedUpdate>> captor = ArgumentCaptor.forClass(PutItemEnhancedRequest.class);
+        verify(updateDynamoDbTable).putItem(captor.capture());
+        assertEquals(1000, captor.getValue().item().getUpdateId());
+        assertTrue(captor.getValue().item().getExpiresAt() >= now + 3600);
+        assertEquals("attribute_not_exists(updateId)", captor.getValue().conditionExpression().expression());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void markReceived_ShouldReturnFalse_WhenAlreadyRecorded_AndThrowOnOtherErrors() {
+        // Given
+        doThrow(ConditionalCheckFailedException.builder().message("exists").build())
+                .doThrow(DynamoDbException.builder().message("DynamoDB error").build())
+                .when(updateDynamoDbTable).putItem(any(PutItemEnhancedRequest.class));
+
+        // When & Then
+        assertFalse(processedUpdateRepository.markReceived(1000, Duration.ofHours(1)));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> processedUpdateRepository.markReceived(1001, Duration.ofHours(1)));
+        assertEquals("DynamoDB error", exception.getMessage());
+    }
+}
@@ -5,17 +5,23 @@ import com.nazri.util.Constant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
 import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
 
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -194,6 +200,29 @@ class UserRepositoryTest {
         verify(userDynamoDbTable).updateItem(any(UpdateItemEnhancedRequest.class));
     }
 
+    @Test
+    void scanSegment_ShouldReadOnePageOfChatIds_FromLastChat() {
+        // Given
+        Page<User> page = Page.create(List.of(createTestUser()));
+        when(userDynamoDbTable.scan(any(ScanEnhancedRequest.class)))
+                .thenReturn(PageIterable.create(() -> List.of(page).iterator()));
+
+        // When
+        Page<User> result = userRepository.scanSegment(2, 4, 12000L, 25);
+
+        // Then
+        assertSame(page, result);
+        ArgumentCaptor<ScanEnhancedRequest> captor = ArgumentCaptor.forClass(ScanEnhancedRequest.class);
+        verify(userDynamoDbTable).scan(captor.capture());
+        ScanEnhancedRequest request = captor.getValue();
+        assertEquals(2, request.segment());
+        assertEquals(4, request.totalSegments());
+        assertEquals(25, request.limit());
+        assertEquals(List.of("chatId"), request.attributesToProject());
+        assertEquals("12000", request.exclusiveStartKey().get("chatId").n());
+        assertEquals(ReturnConsumedCapacity.TOTAL, request.returnConsumedCapacity());
+    }
+
     private User createTestUser() {
         User user = new User();
         user.setChatId(12345L);
@@ -0,0 +1,291 @@
+package com.nazri.service;
+
+import com.nazri.client.FakeTelegramServer;
+import com.nazri.client.TelegramApiClient;
+import com.nazri.client.TelegramRateLimiter;
+import com.nazri.model.BroadcastCheckpoint;
+import com.nazri.model.BroadcastResult;
+import com.nazri.model.User;
+import com.nazri.repository.BroadcastCheckpointRepository;
+import com.nazri.repository.LeaseRepository;
+import com.nazri.repository.UserRepository;
+import com.nazri.util.Constant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs broadcasts against {@link FakeTelegramServer} and an in-memory stand-in for the user and
+ * broadcast tables, mocked at {@link DynamoDbTable} like the repository tests. DynamoDB Local is
+ * not a dependency of this project, and these tests need no Docker or native SQLite libraries.
+ * The stand-in splits users into scan segments, honours the exclusive start key and page limit,
+ * and stores checkpoints by segment. It does not report consumed capacity, so the scan pacing
+ * is covered by the {@link BroadcastService.ScanPacer} test instead.
+ */
+@ExtendWith(MockitoExtension.class)
+class BroadcastServiceTest {
+
+    private static final Pattern CHAT_ID = Pattern.compile("\"chat_id\":\"(-?\\d+)\"");
+    private static final String BLOCKED =
+            "{\"ok\":false,\"error_code\":403,\"description\":\"Forbidden: bot was blocked by the user\"}";
+
+    @Mock
+    private DynamoDbEnhancedClient dynamoDbEnhancedClient;
+
+    @Mock
+    private DynamoDbTable<User> userDynamoDbTable;
+
+    @Mock
+    private DynamoDbTable<BroadcastCheckpoint> checkpointDynamoDbTable;
+
+    @Mock
+    private LeaseRepository leaseRepository;
+
+    private final List<Long> chatIds = LongStream.rangeClosed(1, 60).boxed().toList();
+    private final Map<Integer, BroadcastCheckpoint> checkpoints = new ConcurrentHashMap<>();
+    private FakeTelegramServer server;
+    private BroadcastService broadcastService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        // In-memory stand-in for the user and broadcast tables
+        when(dynamoDbEnhancedClient.table(eq(Constant.USER_TABLE), any(TableSchema.class)))
+                .thenReturn(userDynamoDbTable);
+        when(dynamoDbEnhancedClient.table(eq(Constant.BROADCAST_TABLE), any(TableSchema.class)))
+                .thenReturn(checkpointDynamoDbTable);
+        lenient().when(userDynamoDbTable.scan(any(ScanEnhancedRequest.class)))
+                .thenAnswer(invocation -> scan(invocation.getArgument(0)));
+        lenient().when(checkpointDynamoDbTable.getItem(any(GetItemEnhancedRequest.class)))
+                .thenAnswer(invocation -> {
+                    GetItemEnhancedRequest request = invocation.getArgument(0);
+                    BroadcastCheckpoint checkpoint = checkpoints.get(
+                            Integer.parseInt(request.key().sortKeyValue().orElseThrow().n()));
+                    return checkpoint != null ? copy(checkpoint) : null;
+                });
+        lenient().doAnswer(invocation -> {
+            BroadcastCheckpoint checkpoint = ((PutItemEnhancedRequest<BroadcastCheckpoint>) invocation.getArgument(0)).item();
+            checkpoints.put(checkpoint.getSegment(), copy(checkpoint));
+            return null;
+        }).when(checkpointDynamoDbTable).putItem(any(PutItemEnhancedRequest.class));
+        lenient().when(leaseRepository.acquire(any(), any(), any())).thenReturn(true);
+
+        server = new FakeTelegramServer().respond(request -> chatId(request) % 10 == 0
+                ? new FakeTelegramServer.Response(403, BLOCKED)
+                : new FakeTelegramServer.Response(200, FakeTelegramServer.MESSAGE_RESULT));
+        TelegramRateLimiter rateLimiter = FakeTelegramServer.newRateLimiter(1000, 100, 10, 1000);
+        TelegramApiClient telegramApiClient = server.newClient(rateLimiter);
+
+        broadcastService = new BroadcastService();
+        broadcastService.userRepository = new UserRepository(dynamoDbEnhancedClient);
+        broadcastService.checkpointRepository = new BroadcastCheckpointRepository(dynamoDbEnhancedClient);
+        broadcastService.leaseRepository = leaseRepository;
+        broadcastService.telegramApiClient = telegramApiClient;
+        broadcastService.rateLimiter = rateLimiter;
+        broadcastService.segments = 3;
+        broadcastService.pageSize = 7;
+        broadcastService.readUnitsPerSecond = 1000;
+        broadcastService.queueHeadroom = 100;
+        broadcastService.timeBudget = Duration.ofSeconds(10);
+        broadcastService.drainTimeout = Duration.ofSeconds(5);
+        broadcastService.capacityPoll = Duration.ofMillis(5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void broadcast_ShouldSendToEveryUserOnce_AndCountBlockedUsersAsFailed() {
+        // When
+        BroadcastResult result = broadcastService.broadcast("release-2", "New: inline mode!");
+
+        // Then
+        assertTrue(result.isComplete());
+        assertEquals(54, result.getDelivered());
+        assertEquals(6, result.getFailed());
+        assertEquals(chatIds, sentChatIds());
+        assertTrue(server.getRequests().stream().allMatch(request -> request.body().contains("New: inline mode!")));
+        assertEquals(3, checkpoints.size());
+        assertTrue(checkpoints.values().stream().allMatch(BroadcastCheckpoint::isDone));
+        verify(leaseRepository).release("broadcast-release-2", broadcastService.instanceId);
+    }
+
+    @Test
+    void broadcast_ShouldResumeFromCheckpoints_WhenTimeBudgetRunsOut() {
+        // Given
+        server.delay(50);
+        broadcastService.pageSize = 2;
+        broadcastService.timeBudget = Duration.ofMillis(150);
+
+        // When
+        BroadcastResult first = broadcastService.broadcast("release-2", "Hello");
+        broadcastService.timeBudget = Duration.ofSeconds(10);
+        BroadcastResult second = broadcastService.broadcast("release-2", "Hello");
+
+        // Then
+        assertFalse(first.isComplete());
+        assertTrue(first.getDelivered() + first.getFailed() < chatIds.size());
+        assertTrue(second.isComplete());
+        assertEquals(54, second.getDelivered());
+        assertEquals(6, second.getFailed());
+        // Nobody is sent to twice
+        assertEquals(chatIds, sentChatIds());
+    }
+
+    @Test
+    void broadcast_ShouldStopWaitingAtDrainTimeout_AndSendUnfinishedAgainOnResume() {
+        // Given
+        server.delay(1000);
+        broadcastService.pageSize = 20;
+        broadcastService.timeBudget = Duration.ofMillis(100);
+        broadcastService.drainTimeout = Duration.ofMillis(50);
+
+        // When
+        long start = System.nanoTime();
+        BroadcastResult first = broadcastService.broadcast("release-2", "Hello");
+        long elapsed = System.nanoTime() - start;
+        server.delay(0);
+        broadcastService.timeBudget = Duration.ofSeconds(10);
+        BroadcastResult second = broadcastService.broadcast("release-2", "Hello");
+
+        // Then
+        assertTrue(elapsed < Duration.ofMillis(1000).toNanos(), "waited for the sends in flight");
+        assertFalse(first.isComplete());
+        assertEquals(0, first.getDelivered() + first.getFailed());
+        assertTrue(second.isComplete());
+        assertEquals(54, second.getDelivered());
+        assertEquals(6, second.getFailed());
+        assertEquals(chatIds, sentChatIds().stream().distinct().toList());
+    }
+
+    @Test
+    void broadcast_ShouldThrowFailure_WhenSegmentFails() {
+        // Given
+        when(userDynamoDbTable.scan(any(ScanEnhancedRequest.class))).thenThrow(new RuntimeException("throttled"));
+
+        // When & Then
+        BroadcastFailedException e = assertThrows(BroadcastFailedException.class,
+                () -> broadcastService.broadcast("release-2", "Hello"));
+        assertEquals("throttled", e.getCause().getMessage());
+        verify(leaseRepository).release("broadcast-release-2", broadcastService.instanceId);
+    }
+
+    @Test
+    void broadcast_ShouldKeepHeadroomInOutboundQueue() {
+        // Given
+        TelegramRateLimiter rateLimiter = FakeTelegramServer.newRateLimiter(200, 100, 10, 10);
+        broadcastService.rateLimiter = rateLimiter;
+        broadcastService.telegramApiClient = server.newClient(rateLimiter);
+        broadcastService.queueHeadroom = 8;
+
+        // When
+        BroadcastResult result = broadcastService.broadcast("release-2", "Hello");
+
+        // Then
+        assertTrue(result.isComplete());
+        assertEquals(60, result.getDelivered() + result.getFailed());
+        assertEquals(6, result.getFailed());
+        assertEquals(10, rateLimiter.remainingCapacity());
+    }
+
+    @Test
+    void broadcast_ShouldThrow_WhenRunningElsewhere() {
+        // Given
+        when(leaseRepository.acquire(any(), any(), any())).thenReturn(false);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> broadcastService.broadcast("release-2", "Hello"));
+        verifyNoInteractions(userDynamoDbTable);
+        assertTrue(server.getRequests().isEmpty());
+    }
+
+    @Test
+    void scanPacer_ShouldSpaceOutPagesByConsumedCapacity() throws InterruptedException {
+        // Given
+        BroadcastService.ScanPacer pacer = new BroadcastService.ScanPacer(20);
+        long start = System.nanoTime();
+
+        // When
+        pacer.await();
+        pacer.consumed(1);
+        pacer.await();
+        pacer.consumed(1);
+        pacer.await();
+
+        // Then
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(90).toNanos());
+    }
+
+    /**
+     * Splits the users into segments by chat id and pages through each segment in chat id order.
+     */
+    private PageIterable<User> scan(ScanEnhancedRequest request) {
+        Map<String, AttributeValue> startKey = request.exclusiveStartKey();
+        long after = startKey != null ? Long.parseLong(startKey.get("chatId").n()) : Long.MIN_VALUE;
+        List<Long> remaining = chatIds.stream()
+                .filter(chatId -> chatId % request.totalSegments() == request.segment() && chatId > after)
+                .toList();
+        List<User> items = remaining.stream().limit(request.limit()).map(chatId -> {
+            User user = new User();
+            user.setChatId(chatId);
+            return user;
+        }).toList();
+        Map<String, AttributeValue> lastKey = remaining.size() > items.size()
+                ? Map.of("chatId", AttributeValue.fromN(String.valueOf(items.get(items.size() - 1).getChatId())))
+                : null;
+        return PageIterable.create(() -> List.of(Page.create(items, lastKey)).iterator());
+    }
+
+    private List<Long> sentChatIds() {
+        return server.getRequests().stream()
+                .map(BroadcastServiceTest::chatId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static long chatId(FakeTelegramServer.Request request) {
+        Matcher matcher = CHAT_ID.matcher(request.body());
+        assertTrue(matcher.find(), request.body());
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static BroadcastCheckpoint copy(BroadcastCheckpoint checkpoint) {
+        BroadcastCheckpoint copy = new BroadcastCheckpoint();
+        copy.setBroadcastId(checkpoint.getBroadcastId());
+        copy.setSegment(checkpoint.getSegment());
+        copy.setLastChatId(checkpoint.getLastChatId());
+        copy.setDone(checkpoint.isDone());
+        copy.setDelivered(checkpoint.getDelivered());
+        copy.setFailed(checkpoint.getFailed());
+        copy.setUpdatedAt(checkpoint.getUpdatedAt());
+        return copy;
+    }
+}
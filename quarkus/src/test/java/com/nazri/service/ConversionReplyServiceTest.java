@@ -0,0 +1,151 @@
+package com.nazri.service;
+
+import com.nazri.model.ConversionCallback;
+import com.nazri.util.ConversionCallbackCodec;
+import com.nazri.util.Language;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CompositeCacheKey;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.WebApplicationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConversionReplyServiceTest {
+
+    @Mock
+    private CurrencyService currencyService;
+
+    @Mock
+    private Cache replies;
+
+    private ConversionReplyService conversionReplyService;
+
+    @BeforeEach
+    void setUp() {
+        MessageService messageService = new MessageService();
+        messageService.messageBundle = "messages";
+
+        conversionReplyService = new ConversionReplyService();
+        conversionReplyService.currencyService = currencyService;
+        conversionReplyService.messageService = messageService;
+        conversionReplyService.replies = replies;
+        conversionReplyService.multiplierList = List.of("0.5", "2", "5", "10");
+        conversionReplyService.multiplierSymbols = List.of("½", "2×", "5×", "10×");
+        conversionReplyService.rateCacheSize = 100;
+        conversionReplyService.rateCacheExpiry = Duration.ofMinutes(15);
+        conversionReplyService.init();
+    }
+
+    @Test
+    void getReply_ShouldRenderResultWithMultiplierKeyboard_WhenPrefixGiven() {
+        // Given
+        BigDecimal amount = new BigDecimal("100");
+        when(currencyService.getRateVersion("USD", List.of("SGD", "JPY"))).thenReturn(1L);
+        when(currencyService.convertCurrency(amount, "USD", List.of("SGD", "JPY")))
+                .thenReturn(Map.of("SGD", new BigDecimal("134.52"), "JPY", new BigDecimal("15012.00")));
+
+        // When
+        SendMessage message = conversionReplyService.getReply(amount, "USD", List.of("SGD", "JPY"), "convert").toMessage(1L);
+
+        // Then
+        assertTrue(message.getText().startsWith("*Coinverted Currencies*\n\n*From*\n🇺🇸 USD 100.00\n\n*To*\n🇸🇬SGD"));
+        assertTrue(message.getText().endsWith("134.52\n🇯🇵JPY 15,012\n"));
+        InlineKeyboardMarkup keyboard = (InlineKeyboardMarkup) message.getReplyMarkup();
+        String callbackData = keyboard.getKeyboard().get(0).get(0).getCallbackData();
+        assertTrue(callbackData.startsWith("convert:"));
+        ConversionCallback callback = ConversionCallbackCodec.decode(callbackData.substring("convert:".length()));
+        assertEquals(new BigDecimal("50.0"), callback.getAmount());
+        assertEquals("USD", callback.getFromCurrency());
+        assertEquals(List.of("SGD", "JPY"), callback.getToCurrencies());
+        verifyNoInteractions(replies);
+    }
+
+    @Test
+    void getReply_ShouldRenderWithoutKeyboard_WhenPrefixIsNull() {
+        // Given
+        BigDecimal amount = new BigDecimal("5");
+        when(currencyService.getRateVersion("EUR", List.of("GBP"))).thenReturn(3L);
+        when(currencyService.convertCurrency(amount, "EUR", List.of("GBP"))).thenReturn(Map.of("GBP", new BigDecimal("4.25")));
+
+        // When
+        SendMessage message = conversionReplyService.getReply(amount, "EUR", List.of("GBP"), null).toMessage(1L);
+
+        // Then
+        assertTrue(message.getText().contains("GBP 4.25"));
+        assertNull(message.getReplyMarkup());
+    }
+
+    @Test
+    void getReply_ShouldEvictOlderReplies_WhenNewRatesArePublished() {
+        // Given
+        BigDecimal amount = new BigDecimal("100");
+        when(currencyService.getRateVersion("USD", List.of("SGD"))).thenReturn(1L, 1L, 2L);
+        when(currencyService.convertCurrency(amount, "USD", List.of("SGD"))).thenReturn(Map.of("SGD", new BigDecimal("134.52")));
+        when(replies.invalidateIf(any())).thenReturn(Uni.createFrom().voidItem());
+
+        // When
+        conversionReplyService.getReply(amount, "USD", List.of("SGD"), "convert");
+        conversionReplyService.getReply(amount, "USD", List.of("SGD"), "convert");
+        conversionReplyService.getReply(amount, "USD", List.of("SGD"), "convert");
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Predicate<Object>> evicted = ArgumentCaptor.forClass(Predicate.class);
+        verify(replies, times(1)).invalidateIf(evicted.capture());
+        assertTrue(evicted.getValue().test(key("USD", 1L)));
+        assertFalse(evicted.getValue().test(key("USD", 2L)));
+        assertFalse(evicted.getValue().test(key("SGD", 1L)));
+        assertFalse(evicted.getValue().test(
+                new CompositeCacheKey(Language.EN, "USD", BigDecimal.ONE, List.of("SGD", "JPY"), "convert", 1L)));
+    }
+
+    @Test
+    void getReply_ShouldNormalizeCurrencyAndAmount_SoEqualRequestsShareAnEntry() {
+        // Given
+        BigDecimal amount = new BigDecimal("100");
+        when(currencyService.getRateVersion("USD", List.of("SGD"))).thenReturn(1L);
+        when(currencyService.convertCurrency(amount, "USD", List.of("SGD"))).thenReturn(Map.of("SGD", new BigDecimal("134.52")));
+
+        // When
+        conversionReplyService.getReply(new BigDecimal("100.00"), "usd", List.of("SGD"), null);
+        conversionReplyService.getReply(new BigDecimal("1E+2"), "USD", List.of("SGD"), null);
+
+        // Then
+        verify(currencyService, times(2)).convertCurrency(amount, "USD", List.of("SGD"));
+        verifyNoInteractions(replies);
+    }
+
+    @Test
+    void getReply_ShouldNotLookUpRates_WhenAmountIsInvalid() {
+        // Given
+        BigDecimal amount = BigDecimal.ZERO;
+        when(currencyService.convertCurrency(amount, "USD", List.of("SGD")))
+                .thenThrow(new WebApplicationException("Amount must be positive"));
+
+        // When & Then
+        assertThrows(WebApplicationException.class,
+                () -> conversionReplyService.getReply(amount, "USD", List.of("SGD"), "convert"));
+        verify(currencyService, never()).getRateVersion(any(), any());
+    }
+
+    private static CompositeCacheKey key(String fromCurrency, long rateVersion) {
+        return new CompositeCacheKey(Language.EN, fromCurrency, BigDecimal.ONE, List.of("SGD"), "convert", rateVersion);
+    }
+}
@@ -193,7 +193,7 @@ class CurrencyServiceTest {
         when(currencyApiClient.getExchangeRates("usd")).thenReturn(apiResponse);
 
         // When
-        Map<String, BigDecimal> result = currencyService.fetchExchangeRates(fromCurrency, toCurrencies);
+        Map<String, BigDecimal> result = currencyService.fetchExchangeRates(fromCurrency, toCurrencies).rates();
 
         // Then
         assertNotNull(result);
@@ -344,6 +344,36 @@ class CurrencyServiceTest {
         assertEquals(new BigDecimal("12.35"), result.get("EUR"));
     }
 
+    @Test
+    void getRateVersion_ShouldChange_WhenNewRatesAreFetched() {
+        // Given
+        when(currencyApiClient.getExchangeRates("usd"))
+                .thenReturn(createMockApiResponse("usd", Map.of("eur", 0.85)))
+                .thenReturn(createMockApiResponse("usd", Map.of("eur", 0.86)));
+        when(currencyApiClient.getExchangeRates("sgd"))
+                .thenReturn(createMockApiResponse("sgd", Map.of("eur", 0.68)));
+
+        // When
+        long first = currencyService.getRateVersion("USD", List.of("EUR"));
+        long sgd = currencyService.getRateVersion("SGD", List.of("EUR"));
+        long second = currencyService.getRateVersion("usd", List.of("EUR"));
+
+        // Then
+        assertTrue(first > 0);
+        assertTrue(second > first);
+        assertNotEquals(sgd, second);
+        verify(currencyApiClient, times(2)).getExchangeRates("usd");
+    }
+
+    @Test
+    void getRateVersion_ShouldThrowBadRequest_WhenFromCurrencyIsInvalid() {
+        // When & Then
+        WebApplicationException exception = assertThrows(WebApplicationException.class,
+                () -> currencyService.getRateVersion("INVALID", List.of("EUR")));
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), exception.getResponse().getStatus());
+        verifyNoInteractions(currencyApiClient);
+    }
+
     private Map<String, Object> createMockApiResponse(String fromCurrency, Map<String, Object> rates) {
         Map<String, Object> response = new HashMap<>();
         response.put(fromCurrency.toLowerCase(), rates);
@@ -0,0 +1,35 @@
+package com.nazri.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionServiceTest {
+
+    private ExpressionService expressionService;
+
+    @BeforeEach
+    void setUp() {
+        expressionService = new ExpressionService();
+    }
+
+    @Test
+    void evaluate_ShouldReturnAmount_WhenExpressionIsValid() {
+        assertEquals(new BigDecimal("26.25"), expressionService.evaluate(" (120-15)/4 "));
+    }
+
+    @Test
+    void evaluate_ShouldReturnNull_WhenExpressionIsInvalid() {
+        assertNull(expressionService.evaluate("hello"));
+        assertNull(expressionService.evaluate(""));
+        assertNull(expressionService.evaluate(null));
+    }
+
+    @Test
+    void evaluate_ShouldReturnNull_WhenDividingByZero() {
+        assertNull(expressionService.evaluate("5/0"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.nazri.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.telegrambots.meta.api.methods.AnswerInlineQuery;
+import org.telegram.telegrambots.meta.api.objects.inlinequery.InlineQuery;
+import org.telegram.telegrambots.meta.api.objects.inlinequery.inputmessagecontent.InputTextMessageContent;
+import org.telegram.telegrambots.meta.api.objects.inlinequery.result.InlineQueryResultArticle;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InlineQueryServiceTest {
+
+    @Mock
+    private CurrencyService currencyService;
+
+    private InlineQueryService inlineQueryService;
+
+    @BeforeEach
+    void setUp() {
+        inlineQueryService = new InlineQueryService();
+        inlineQueryService.currencyService = currencyService;
+        inlineQueryService.outputCurrencies = List.of("SGD", "USD", "EUR");
+        inlineQueryService.cacheTime = 300;
+        inlineQueryService.timeBudget = Duration.ofSeconds(1);
+        inlineQueryService.fetchThreads = 2;
+        inlineQueryService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inlineQueryService.shutdown();
+    }
+
+    @Test
+    void answer_ShouldReturnArticlePerTarget_AndOneWithAll() throws Exception {
+        // Given
+        BigDecimal amount = new BigDecimal("100");
+        when(currencyService.getRateVersion("USD", List.of("SGD", "EUR"))).thenReturn(3L);
+        when(currencyService.convertCurrency(amount, "USD", List.of("SGD", "EUR")))
+                .thenReturn(Map.of("SGD", new BigDecimal("134.52"), "EUR", new BigDecimal("92.10")));
+
+        // When
+        AnswerInlineQuery answer = inlineQueryService.answer(inlineQuery("100 usd"));
+
+        // Then
+        answer.validate();
+        assertEquals("qid", answer.getInlineQueryId());
+        assertEquals(300, answer.getCacheTime());
+        assertFalse(answer.getIsPersonal());
+        assertEquals(3, answer.getResults().size());
+        InlineQueryResultArticle all = (InlineQueryResultArticle) answer.getResults().get(0);
+        assertEquals("all", all.getId());
+        String allText = ((InputTextMessageContent) all.getInputMessageContent()).getMessageText();
+        assertTrue(allText.startsWith("🇺🇸 USD 100.00\n= "));
+        assertTrue(allText.contains("134.52"));
+        assertTrue(allText.contains("92,10"));
+        InlineQueryResultArticle sgd = (InlineQueryResultArticle) answer.getResults().get(1);
+        assertEquals("SGD", sgd.getId());
+        assertTrue(sgd.getTitle().contains("134.52"));
+        String sgdText = ((InputTextMessageContent) sgd.getInputMessageContent()).getMessageText();
+        assertTrue(sgdText.startsWith("🇺🇸 USD 100.00 = 🇸🇬"));
+        assertEquals("EUR", ((InlineQueryResultArticle) answer.getResults().get(2)).getId());
+    }
+
+    @Test
+    void answer_ShouldReturnNoResults_WhenQueryIsNotAConversion() {
+        // When
+        AnswerInlineQuery answer = inlineQueryService.answer(inlineQuery("hello"));
+
+        // Then
+        assertTrue(answer.getResults().isEmpty());
+        assertEquals(300, answer.getCacheTime());
+        verifyNoInteractions(currencyService);
+    }
+
+    @Test
+    void answer_ShouldReturnUncachedEmptyAnswer_WhenRatesAreNotReadyInTime() {
+        // Given
+        inlineQueryService.timeBudget = Duration.ofMillis(10);
+        lenient().when(currencyService.getRateVersion("USD", List.of("SGD"))).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return 1L;
+        });
+
+        // When
+        AnswerInlineQuery answer = inlineQueryService.answer(inlineQuery("100 usd to sgd"));
+
+        // Then
+        assertTrue(answer.getResults().isEmpty());
+        assertEquals(0, answer.getCacheTime());
+    }
+
+    @Test
+    void answer_ShouldLoadRatesOnItsOwnPool() {
+        // Given
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(currencyService.getRateVersion("USD", List.of("SGD"))).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return 1L;
+        });
+        when(currencyService.convertCurrency(new BigDecimal("100"), "USD", List.of("SGD")))
+                .thenReturn(Map.of("SGD", new BigDecimal("134.52")));
+
+        // When
+        AnswerInlineQuery answer = inlineQueryService.answer(inlineQuery("100 usd to sgd"));
+
+        // Then
+        assertEquals(1, answer.getResults().size());
+        assertTrue(thread.get().startsWith("inline-rates-"));
+    }
+
+    private static InlineQuery inlineQuery(String query) {
+        InlineQuery inlineQuery = new InlineQuery();
+        inlineQuery.setId("qid");
+        inlineQuery.setQuery(query);
+        return inlineQuery;
+    }
+}
@@ -1,6 +1,9 @@
 package com.nazri.service;
 
 import com.nazri.model.TelegramResponse;
+import com.nazri.util.Language;
+import com.nazri.util.LanguageContext;
+import com.nazri.util.Messages;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -96,6 +99,60 @@ class MessageServiceTest {
         assertNotNull(result);
     }
 
+    @Test
+    void getMessage_ShouldFormatParameters_WhenKeyExists() {
+        // When
+        String result = messageService.getMessage("from.currency.set", "🇸🇬", "SGD");
+
+        // Then
+        assertTrue(result.contains("🇸🇬"));
+        assertTrue(result.contains("SGD"));
+        assertFalse(result.contains("{0}"));
+    }
+
+    @Test
+    void getMessage_ShouldReturnSameInstance_WhenMessageHasNoParameters() {
+        // When
+        String first = messageService.getMessage("start.welcome");
+        String second = messageService.getMessage("start.welcome");
+
+        // Then
+        assertFalse(first.endsWith("(message not found)"));
+        assertSame(first, second);
+    }
+
+    @Test
+    void getMessage_ShouldReloadCatalog_WhenBundleChanges() {
+        // Given
+        messageService.getMessage("start.welcome");
+        messageService.messageBundle = "nonexistent-bundle";
+
+        // When
+        String result = messageService.getMessage("start.welcome");
+
+        // Then
+        assertEquals("start.welcome (message not found)", result);
+    }
+
+    @Test
+    void getMessage_ShouldRenderInCurrentLanguage() {
+        // Given
+        LanguageContext.set(Language.MS);
+
+        // When
+        String result;
+        try {
+            result = messageService.getMessage(Messages.DELETE_CURRENCY_SUCCESS, "🇸🇬", "SGD");
+        } finally {
+            LanguageContext.clear();
+        }
+
+        // Then
+        assertEquals("Mata wang 🇸🇬*SGD* telah dipadam ✅.", result);
+        assertEquals("The currency 🇸🇬*SGD* has been deleted ✅.",
+                messageService.getMessage(Messages.DELETE_CURRENCY_SUCCESS, "🇸🇬", "SGD"));
+    }
+
     @Test
     void messageService_ShouldHaveDefaultMessageBundle() {
         // Given & When
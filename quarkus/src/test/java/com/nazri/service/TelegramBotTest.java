@@ -0,0 +1,297 @@
+package com.nazri.service;
+
+import com.nazri.client.TelegramApiClient;
+import com.nazri.command.Command;
+import com.nazri.command.CommandRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.telegrambots.meta.api.methods.AnswerCallbackQuery;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+import org.telegram.telegrambots.meta.api.objects.CallbackQuery;
+import org.telegram.telegrambots.meta.api.objects.Chat;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.Update;
+import org.telegram.telegrambots.meta.api.objects.User;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiValidationException;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramBotTest {
+
+    @Mock
+    private CommandRegistry commandRegistry;
+
+    @Mock
+    private TelegramApiClient telegramApiClient;
+
+    @Mock
+    private Command command;
+
+    private TelegramBot telegramBot;
+
+    @BeforeEach
+    void setUp() {
+        telegramBot = new TelegramBot();
+        telegramBot.commandRegistry = commandRegistry;
+        telegramBot.telegramApiClient = telegramApiClient;
+        telegramBot.messageService = new MessageService();
+        telegramBot.messageService.messageBundle = "messages";
+    }
+
+    @Test
+    void onWebhookUpdateReceived_ShouldReturnReply_InsteadOfSendingIt() throws TelegramApiException {
+        // Given
+        SendMessage reply = new SendMessage("123", "Welcome");
+        when(commandRegistry.getCommand("start")).thenReturn(command);
+        doAnswer(invocation -> telegramBot.execute(reply)).when(command).execute(any(), anyString());
+
+        // When
+        BotApiMethod<?> result = telegramBot.onWebhookUpdateReceived(update("/start"));
+
+        // Then
+        assertSame(reply, result);
+        verifyNoInteractions(telegramApiClient);
+    }
+
+    @Test
+    void onWebhookUpdateReceived_ShouldSendEarlierMethods_AndReturnLastOne() throws TelegramApiException {
+        // Given
+        AnswerCallbackQuery answer = new AnswerCallbackQuery("cbid");
+        SendMessage reply = new SendMessage("123", "Converted");
+        when(commandRegistry.getCommand("start")).thenReturn(command);
+        when(telegramApiClient.executeAsync(answer)).thenReturn(CompletableFuture.completedFuture(true));
+        doAnswer(invocation -> {
+            telegramBot.execute(answer);
+            return telegramBot.execute(reply);
+        }).when(command).execute(any(), anyString());
+
+        // When
+        BotApiMethod<?> result = telegramBot.onWebhookUpdateReceived(update("/start"));
+
+        // Then
+        assertSame(reply, result);
+        verify(telegramApiClient).executeAsync(answer);
+        verifyNoMoreInteractions(telegramApiClient);
+    }
+
+    @Test
+    void onWebhookUpdateReceived_ShouldSendMessagesInOrder_AndAnswersConcurrently() throws TelegramApiException {
+        // Given
+        SendMessage first = new SendMessage("123", "First");
+        SendMessage second = new SendMessage("123", "Second");
+        AnswerCallbackQuery answer = new AnswerCallbackQuery("cbid");
+        SendMessage reply = new SendMessage("123", "Reply");
+        CompletableFuture<Message> firstSent = new CompletableFuture<>();
+        when(commandRegistry.getCommand("start")).thenReturn(command);
+        when(telegramApiClient.executeAsync(first)).thenReturn(firstSent);
+        when(telegramApiClient.executeAsync(second)).thenReturn(CompletableFuture.completedFuture(new Message()));
+        when(telegramApiClient.executeAsync(answer)).thenReturn(CompletableFuture.completedFuture(true));
+        doAnswer(invocation -> {
+            telegramBot.execute(first);
+            telegramBot.execute(second);
+            telegramBot.execute(answer);
+            telegramBot.execute(reply);
+
+            // The second message waits for the first, the answer does not
+            verify(telegramApiClient, never()).executeAsync(second);
+            verify(telegramApiClient).executeAsync(answer);
+            firstSent.complete(new Message());
+            return null;
+        }).when(command).execute(any(), anyString());
+
+        // When
+        BotApiMethod<?> result = telegramBot.onWebhookUpdateReceived(update("/start"));
+
+        // Then
+        assertSame(reply, result);
+        verify(telegramApiClient).executeAsync(second);
+    }
+
+    @Test
+    void onWebhookUpdateReceived_ShouldStillReply_WhenEarlierSendFails() throws TelegramApiException {
+        // Given
+        SendMessage first = new SendMessage("123", "First");
+        SendMessage reply = new SendMessage("123", "Reply");
+        when(commandRegistry.getCommand("start")).thenReturn(command);
+        when(telegramApiClient.executeAsync(first)).thenReturn(CompletableFuture.failedFuture(new TelegramApiException("Bad Request")));
+        doAnswer(invocation -> {
+            telegramBot.execute(first);
+            return telegramBot.execute(reply);
+        }).when(command).execute(any(), anyString());
+
+        // When
+        BotApiMethod<?> result = telegramBot.onWebhookUpdateReceived(update("/start"));
+
+        // Then
+        assertSame(reply, result);
+    }
+
+    @Test
+    void onWebhookUpdateReceived_ShouldReturnNull_WhenNothingIsSent() {
+        // Given
+        when(commandRegistry.getCommand("start")).thenReturn(command);
+
+        // When
+        BotApiMethod<?> result = telegramBot.onWebhookUpdateReceived(update("/start"));
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void execute_ShouldSendImmediately_OutsideWebhookProcessing() throws TelegramApiException {
+        // Given
+        SendMessage message = new SendMessage("123", "Hello");
+
+        // When
+        telegramBot.execute(message);
+
+        // Then
+        verify(telegramApiClient).execute(message);
+    }
+
+    @Test
+    void execute_ShouldValidateHeldBackReply() {
+        // Given
+        when(commandRegistry.getCommand("start")).thenReturn(command);
+        doAnswer(invocation -> {
+            assertThrows(TelegramApiValidationException.class, () -> telegramBot.execute(new SendMessage("123", "")));
+            return null;
+        }).when(command).execute(any(), anyString());
+
+        // When
+        BotApiMethod<?> result = telegramBot.onWebhookUpdateReceived(update("/start"));
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void onWebhookUpdateReceived_ShouldEditPressedMessage_AndSendAnswer() throws TelegramApiException {
+        // Given
+        AnswerCallbackQuery answer = new AnswerCallbackQuery("cbid");
+        SendMessage reply = new SendMessage("123", "USD 200.00");
+        when(commandRegistry.getCommand("convert")).thenReturn(command);
+        when(telegramApiClient.executeAsync(answer)).thenReturn(CompletableFuture.completedFuture(true));
+        doAnswer(invocation -> {
+            telegramBot.execute(answer);
+            return telegramBot.execute(reply);
+        }).when(command).handleCallback(any(), anyString());
+
+        // When
+        BotApiMethod<?> result = telegramBot.onWebhookUpdateReceived(callback("convert:200", "USD 100.00"));
+
+        // Then
+        EditMessageText edit = assertInstanceOf(EditMessageText.class, result);
+        assertEquals(7, edit.getMessageId());
+        assertEquals("USD 200.00", edit.getText());
+        verify(telegramApiClient).executeAsync(answer);
+        verifyNoMoreInteractions(telegramApiClient);
+    }
+
+    @Test
+    void onWebhookUpdateReceived_ShouldOnlyAnswer_WhenPressedMessageIsUnchanged() throws TelegramApiException {
+        // Given
+        AnswerCallbackQuery answer = new AnswerCallbackQuery("cbid");
+        when(commandRegistry.getCommand("convert")).thenReturn(command);
+        doAnswer(invocation -> {
+            telegramBot.execute(answer);
+            return telegramBot.execute(new SendMessage("123", "USD 100.00"));
+        }).when(command).handleCallback(any(), anyString());
+
+        // When
+        BotApiMethod<?> result = telegramBot.onWebhookUpdateReceived(callback("convert:100", "USD 100.00"));
+
+        // Then
+        assertSame(answer, result);
+        verifyNoInteractions(telegramApiClient);
+    }
+
+    @Test
+    void onWebhookUpdateReceived_ShouldSendErrorAsNewMessage_AndKeepPressedMessage() throws TelegramApiException {
+        // Given
+        when(commandRegistry.getCommand("convert")).thenReturn(command);
+        doThrow(new IllegalStateException("Rates unavailable")).when(command).handleCallback(any(), anyString());
+
+        // When
+        BotApiMethod<?> result = telegramBot.onWebhookUpdateReceived(callback("convert:200", "USD 100.00"));
+
+        // Then
+        SendMessage error = assertInstanceOf(SendMessage.class, result);
+        assertEquals("123", error.getChatId());
+        assertTrue(error.getText().contains("Rates unavailable"));
+        verifyNoInteractions(telegramApiClient);
+    }
+
+    @Test
+    void onWebhookUpdateReceived_ShouldSendErrorsInUserLanguage() {
+        // Given
+        when(commandRegistry.getCommand("convert")).thenReturn(command);
+        doThrow(new IllegalStateException("Rates unavailable")).when(command).handleCallback(any(), anyString());
+        Update update = callback("convert:200", "USD 100.00");
+        update.getCallbackQuery().setFrom(user("ms"));
+
+        // When
+        BotApiMethod<?> result = telegramBot.onWebhookUpdateReceived(update);
+
+        // Then
+        SendMessage error = assertInstanceOf(SendMessage.class, result);
+        assertTrue(error.getText().startsWith("Alamak"), error.getText());
+        assertTrue(error.getText().endsWith("Rates unavailable"), error.getText());
+    }
+
+    @Test
+    void onWebhookUpdateReceived_ShouldSendUnknownCommandInUserLanguage() {
+        // Given
+        Update update = update("/nope");
+        update.getMessage().setFrom(user("id"));
+
+        // When
+        BotApiMethod<?> result = telegramBot.onWebhookUpdateReceived(update);
+
+        // Then
+        SendMessage reply = assertInstanceOf(SendMessage.class, result);
+        assertTrue(reply.getText().startsWith("Hmm, saya kurang paham"), reply.getText());
+    }
+
+    private static User user(String languageCode) {
+        User user = new User(42L, "Nazri", false);
+        user.setLanguageCode(languageCode);
+        return user;
+    }
+
+    private static Update callback(String data, String text) {
+        Message message = new Message();
+        message.setMessageId(7);
+        message.setChat(new Chat(123L, "private"));
+        message.setText(text);
+        CallbackQuery callbackQuery = new CallbackQuery();
+        callbackQuery.setId("cbid");
+        callbackQuery.setData(data);
+        callbackQuery.setMessage(message);
+        Update update = new Update();
+        update.setCallbackQuery(callbackQuery);
+        return update;
+    }
+
+    private static Update update(String text) {
+        Message message = new Message();
+        message.setChat(new Chat(123L, "private"));
+        message.setText(text);
+        Update update = new Update();
+        update.setMessage(message);
+        return update;
+    }
+}
@@ -0,0 +1,97 @@
+package com.nazri.service;
+
+import com.nazri.repository.ProcessedUpdateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpdateDeduplicatorTest {
+
+    @Mock
+    private ProcessedUpdateRepository processedUpdateRepository;
+
+    private UpdateDeduplicator updateDeduplicator;
+
+    @BeforeEach
+    void setUp() {
+        updateDeduplicator = new UpdateDeduplicator();
+        updateDeduplicator.processedUpdateRepository = processedUpdateRepository;
+        updateDeduplicator.mode = UpdateDeduplicator.MODE_MEMORY;
+        updateDeduplicator.window = 128;
+        updateDeduplicator.retention = Duration.ofHours(24);
+        updateDeduplicator.init();
+    }
+
+    @Test
+    void isDuplicate_ShouldDropRedeliveries_AndCountThem() {
+        // When & Then
+        assertFalse(updateDeduplicator.isDuplicate(update(1000)));
+        assertFalse(updateDeduplicator.isDuplicate(update(1002)));
+        assertTrue(updateDeduplicator.isDuplicate(update(1000)));
+        assertFalse(updateDeduplicator.isDuplicate(update(1001)));
+        assertTrue(updateDeduplicator.isDuplicate(update(1001)));
+        assertTrue(updateDeduplicator.isDuplicate(update(1002)));
+        assertEquals(3, updateDeduplicator.getDuplicates());
+        verifyNoInteractions(processedUpdateRepository);
+    }
+
+    @Test
+    void isDuplicate_ShouldForgetIds_OnceTheWindowSlidesPast() {
+        // Given
+        assertFalse(updateDeduplicator.isDuplicate(update(1000)));
+        assertFalse(updateDeduplicator.isDuplicate(update(1001)));
+
+        // When
+        assertFalse(updateDeduplicator.isDuplicate(update(1000 + 128)));
+
+        // Then
+        assertFalse(updateDeduplicator.isDuplicate(update(1000)));
+        assertTrue(updateDeduplicator.isDuplicate(update(1001)));
+        assertFalse(updateDeduplicator.isDuplicate(update(1001 + 128)));
+        assertTrue(updateDeduplicator.isDuplicate(update(1001 + 128)));
+        assertFalse(updateDeduplicator.isDuplicate(update(5000)));
+        assertFalse(updateDeduplicator.isDuplicate(update(1001 + 128)));
+    }
+
+    @Test
+    void isDuplicate_ShouldAskDynamoDb_WhenNotSeenLocally() {
+        // Given
+        updateDeduplicator.mode = UpdateDeduplicator.MODE_DYNAMODB;
+        when(processedUpdateRepository.markReceived(1000, Duration.ofHours(24))).thenReturn(true);
+        when(processedUpdateRepository.markReceived(1001, Duration.ofHours(24))).thenReturn(false);
+
+        // When & Then
+        assertFalse(updateDeduplicator.isDuplicate(update(1000)));
+        assertTrue(updateDeduplicator.isDuplicate(update(1001)));
+        assertTrue(updateDeduplicator.isDuplicate(update(1000)));
+        verify(processedUpdateRepository, times(2)).markReceived(anyInt(), any());
+        assertEquals(2, updateDeduplicator.getDuplicates());
+    }
+
+    @Test
+    void isDuplicate_ShouldProcessUpdate_WhenDynamoDbFails() {
+        // Given
+        updateDeduplicator.mode = UpdateDeduplicator.MODE_DYNAMODB;
+        when(processedUpdateRepository.markReceived(anyInt(), any()))
+                .thenThrow(new IllegalArgumentException("Throughput exceeded"));
+
+        // When & Then
+        assertFalse(updateDeduplicator.isDuplicate(update(1000)));
+        assertEquals(0, updateDeduplicator.getDuplicates());
+    }
+
+    private static Update update(int updateId) {
+        Update update = new Update();
+        update.setUpdateId(updateId);
+        return update;
+    }
+}
@@ -0,0 +1,160 @@
+package com.nazri.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.telegrambots.meta.api.objects.Chat;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpdateExecutorTest {
+
+    @Mock
+    private TelegramBot telegramBot;
+
+    private UpdateExecutor updateExecutor;
+
+    private final List<Integer> processed = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        updateExecutor = new UpdateExecutor();
+        updateExecutor.telegramBot = telegramBot;
+        updateExecutor.updateDeduplicator = new UpdateDeduplicator();
+        updateExecutor.updateDeduplicator.mode = UpdateDeduplicator.MODE_MEMORY;
+        updateExecutor.updateDeduplicator.window = 4096;
+        updateExecutor.updateDeduplicator.init();
+        updateExecutor.enabled = true;
+        updateExecutor.laneCount = 4;
+        updateExecutor.queueCapacity = 16;
+        updateExecutor.drainTimeout = Duration.ofSeconds(5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        updateExecutor.shutdown();
+    }
+
+    @Test
+    void submit_ShouldKeepChatOrder_WhileOtherChatsRunInParallel() throws Exception {
+        // Given
+        long slowChat = 1;
+        long otherChat = chatOnOtherLane(slowChat);
+        CountDownLatch otherChatDone = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            Update update = invocation.getArgument(0);
+            if (update.getUpdateId() == 1) {
+                // Only finishes once the other chat has been served meanwhile
+                assertTrue(otherChatDone.await(5, TimeUnit.SECONDS));
+            }
+            processed.add(update.getUpdateId());
+            if (update.getUpdateId() == 3) {
+                otherChatDone.countDown();
+            }
+            return null;
+        }).when(telegramBot).onUpdateReceived(any());
+        updateExecutor.start();
+
+        // When
+        assertTrue(updateExecutor.submit(update(1, slowChat)));
+        assertTrue(updateExecutor.submit(update(2, slowChat)));
+        assertTrue(updateExecutor.submit(update(3, otherChat)));
+        updateExecutor.shutdown();
+
+        // Then
+        assertEquals(List.of(3, 1, 2), processed);
+    }
+
+    @Test
+    void submit_ShouldRefuseUpdate_WhenLaneIsFull() throws Exception {
+        // Given
+        updateExecutor.laneCount = 1;
+        updateExecutor.queueCapacity = 1;
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(telegramBot).onUpdateReceived(any());
+        updateExecutor.start();
+
+        // When
+        assertTrue(updateExecutor.submit(update(1, 1)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(updateExecutor.submit(update(2, 1)));
+        boolean accepted = updateExecutor.submit(update(3, 2));
+        release.countDown();
+
+        // Then
+        assertFalse(accepted);
+    }
+
+    @Test
+    void shutdown_ShouldDrainQueuedUpdates_AndRefuseNewOnes() {
+        // Given
+        doAnswer(invocation -> {
+            Thread.sleep(20);
+            processed.add(((Update) invocation.getArgument(0)).getUpdateId());
+            return null;
+        }).when(telegramBot).onUpdateReceived(any());
+        updateExecutor.start();
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(updateExecutor.submit(update(i, 1)));
+        }
+
+        // When
+        updateExecutor.shutdown();
+
+        // Then
+        assertEquals(List.of(1, 2, 3, 4, 5), processed);
+        assertFalse(updateExecutor.submit(update(6, 1)));
+    }
+
+    @Test
+    void submit_ShouldDropRedeliveredUpdates() {
+        // Given
+        updateExecutor.start();
+        Update update = update(1, 1);
+
+        // When
+        updateExecutor.submit(update);
+        updateExecutor.submit(update);
+        updateExecutor.shutdown();
+
+        // Then
+        verify(telegramBot, times(1)).onUpdateReceived(update);
+    }
+
+    private long chatOnOtherLane(long chatId) {
+        long other = chatId + 1;
+        while (UpdateExecutor.laneIndex(other, updateExecutor.laneCount)
+                == UpdateExecutor.laneIndex(chatId, updateExecutor.laneCount)) {
+            other++;
+        }
+        return other;
+    }
+
+    private static Update update(int updateId, long chatId) {
+        Message message = new Message();
+        message.setChat(new Chat(chatId, "private"));
+        Update update = new Update();
+        update.setUpdateId(updateId);
+        update.setMessage(message);
+        return update;
+    }
+}
@@ -0,0 +1,184 @@
+package com.nazri.service;
+
+import com.nazri.client.TelegramApiClient;
+import com.nazri.repository.LeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.telegrambots.meta.api.methods.updates.GetUpdates;
+import org.telegram.telegrambots.meta.api.objects.Update;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpdatePollerTest {
+
+    @Mock
+    private TelegramBot telegramBot;
+
+    @Mock
+    private TelegramApiClient telegramApiClient;
+
+    @Mock
+    private LeaseRepository leaseRepository;
+
+    private UpdatePoller updatePoller;
+
+    @BeforeEach
+    void setUp() {
+        updatePoller = new UpdatePoller();
+        updatePoller.telegramBot = telegramBot;
+        updatePoller.telegramApiClient = telegramApiClient;
+        updatePoller.leaseRepository = leaseRepository;
+        updatePoller.updateDeduplicator = new UpdateDeduplicator();
+        updatePoller.updateDeduplicator.mode = UpdateDeduplicator.MODE_MEMORY;
+        updatePoller.updateDeduplicator.window = 4096;
+        updatePoller.updateDeduplicator.init();
+        updatePoller.limit = 100;
+        updatePoller.timeout = Duration.ofSeconds(25);
+        updatePoller.leaseDuration = Duration.ofMinutes(1);
+        updatePoller.retryDelay = Duration.ofMillis(10);
+    }
+
+    @Test
+    void pollOnce_ShouldProcessBatchInOrder_ThenAcknowledgeWithNextPoll() throws Exception {
+        // Given
+        Update first = update(7);
+        Update second = update(8);
+        when(leaseRepository.acquire(UpdatePoller.LEASE_NAME, updatePoller.instanceId, Duration.ofMinutes(1)))
+                .thenReturn(true);
+        when(telegramApiClient.getUpdates(any())).thenReturn(List.of(first, second), List.of());
+        updatePoller.running = true;
+
+        // When
+        assertTrue(updatePoller.pollOnce());
+        assertTrue(updatePoller.pollOnce());
+
+        // Then
+        InOrder inOrder = inOrder(telegramBot);
+        inOrder.verify(telegramBot).onUpdateReceived(first);
+        inOrder.verify(telegramBot).onUpdateReceived(second);
+        ArgumentCaptor<GetUpdates> polls = ArgumentCaptor.forClass(GetUpdates.class);
+        verify(telegramApiClient, times(2)).getUpdates(polls.capture());
+        assertEquals(0, polls.getAllValues().get(0).getOffset());
+        assertEquals(100, polls.getAllValues().get(0).getLimit());
+        assertEquals(25, polls.getAllValues().get(0).getTimeout());
+        assertEquals(9, polls.getAllValues().get(1).getOffset());
+    }
+
+    @Test
+    void pollOnce_ShouldNotPoll_WhenLeaseIsHeldElsewhere() throws Exception {
+        // Given
+        when(leaseRepository.acquire(any(), any(), any())).thenReturn(false);
+
+        // When
+        boolean polled = updatePoller.pollOnce();
+
+        // Then
+        assertFalse(polled);
+        verifyNoInteractions(telegramApiClient, telegramBot);
+    }
+
+    @Test
+    void pollOnce_ShouldSkipFailingUpdate_AndKeepProcessingBatch() throws Exception {
+        // Given
+        Update failing = update(7);
+        Update next = update(8);
+        when(leaseRepository.acquire(any(), any(), any())).thenReturn(true);
+        when(telegramApiClient.getUpdates(any())).thenReturn(List.of(failing, next));
+        doThrow(new IllegalStateException("boom")).when(telegramBot).onUpdateReceived(failing);
+        updatePoller.running = true;
+
+        // When
+        boolean polled = updatePoller.pollOnce();
+
+        // Then
+        assertTrue(polled);
+        verify(telegramBot).onUpdateReceived(next);
+    }
+
+    @Test
+    void pollOnce_ShouldExtendLeaseDuringBatch_AndStop_WhenItIsLost() throws Exception {
+        // Given
+        Update first = update(7);
+        Update second = update(8);
+        updatePoller.leaseDuration = Duration.ZERO;
+        when(leaseRepository.acquire(any(), any(), any())).thenReturn(true, true, false);
+        when(telegramApiClient.getUpdates(any())).thenReturn(List.of(first, second));
+        updatePoller.running = true;
+
+        // When
+        boolean polled = updatePoller.pollOnce();
+
+        // Then
+        assertFalse(polled);
+        verify(telegramBot).onUpdateReceived(first);
+        verify(telegramBot, never()).onUpdateReceived(second);
+        verify(leaseRepository, times(3)).acquire(any(), any(), any());
+    }
+
+    @Test
+    void start_ShouldWaitRetryDelay_WhenPollingThrows() throws Exception {
+        // Given
+        updatePoller.retryDelay = Duration.ofMillis(200);
+        when(leaseRepository.acquire(any(), any(), any())).thenThrow(new IllegalArgumentException("DynamoDB down"));
+
+        // When
+        updatePoller.start();
+        Thread.sleep(500);
+        updatePoller.stop();
+
+        // Then
+        verify(leaseRepository, atMost(4)).acquire(any(), any(), any());
+        verifyNoInteractions(telegramApiClient);
+    }
+
+    @Test
+    void stop_ShouldInterruptWaitingPoll_AcknowledgeAndReleaseLease() throws Exception {
+        // Given
+        CountDownLatch polling = new CountDownLatch(1);
+        when(leaseRepository.acquire(any(), any(), any())).thenReturn(true);
+        when(telegramApiClient.getUpdates(any()))
+                .thenReturn(List.of(update(7)))
+                .thenAnswer(invocation -> {
+                    GetUpdates getUpdates = invocation.getArgument(0);
+                    if (getUpdates.getTimeout() == 0) {
+                        return List.of();
+                    }
+                    polling.countDown();
+                    Thread.sleep(10_000);
+                    throw new TelegramApiException("Not interrupted");
+                });
+
+        // When
+        updatePoller.start();
+        assertTrue(polling.await(5, TimeUnit.SECONDS));
+        updatePoller.stop();
+
+        // Then
+        ArgumentCaptor<GetUpdates> polls = ArgumentCaptor.forClass(GetUpdates.class);
+        verify(telegramApiClient, times(3)).getUpdates(polls.capture());
+        GetUpdates acknowledgement = polls.getAllValues().get(2);
+        assertEquals(8, acknowledgement.getOffset());
+        assertEquals(0, acknowledgement.getTimeout());
+        verify(leaseRepository).release(UpdatePoller.LEASE_NAME, updatePoller.instanceId);
+    }
+
+    private static Update update(int updateId) {
+        Update update = new Update();
+        update.setUpdateId(updateId);
+        return update;
+    }
+}
@@ -0,0 +1,92 @@
+package com.nazri.util;
+
+import com.nazri.model.ConversionCallback;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionCallbackCodecTest {
+
+    @Test
+    void decode_ShouldReturnEncodedConversion() {
+        // Given
+        ConversionCallback callback = new ConversionCallback(new BigDecimal("1234.50"), "USD",
+                List.of("SGD", "JPY", "EUR"));
+
+        // When
+        String data = ConversionCallbackCodec.encode("convert", callback);
+        ConversionCallback decoded = ConversionCallbackCodec.decode(data.substring("convert:".length()));
+
+        // Then
+        assertEquals(new BigDecimal("1234.50"), decoded.getAmount());
+        assertEquals("USD", decoded.getFromCurrency());
+        assertEquals(List.of("SGD", "JPY", "EUR"), decoded.getToCurrencies());
+    }
+
+    @Test
+    void encode_ShouldFitTelegramLimit_ForLargestConversion() {
+        // Given
+        ConversionCallback callback = new ConversionCallback(new BigDecimal(Long.MAX_VALUE).movePointLeft(127),
+                "XAU", List.of("ZWL", "ZMW", "ZAR", "YER"));
+
+        // When
+        String data = ConversionCallbackCodec.encode("convert", callback);
+
+        // Then
+        assertNotNull(data);
+        assertTrue(data.getBytes(StandardCharsets.UTF_8).length <= ConversionCallbackCodec.MAX_CALLBACK_DATA);
+        assertEquals(callback.getAmount(),
+                ConversionCallbackCodec.decode(data.substring("convert:".length())).getAmount());
+    }
+
+    @Test
+    void encode_ShouldReturnNull_WhenConversionCannotBeEncoded() {
+        // When & Then
+        assertNull(ConversionCallbackCodec.encode("convert",
+                new ConversionCallback(new BigDecimal("1e40").setScale(0), "USD", List.of("SGD"))));
+        assertNull(ConversionCallbackCodec.encode("convert",
+                new ConversionCallback(BigDecimal.ONE, "US", List.of("SGD"))));
+        assertNull(ConversionCallbackCodec.encode("convert",
+                new ConversionCallback(BigDecimal.ONE, "USD", List.of())));
+        assertNull(ConversionCallbackCodec.encode("convert",
+                new ConversionCallback(BigDecimal.ONE, "USD", List.of("SGD", "JPY", "EUR", "GBP", "MYR"))));
+    }
+
+    @Test
+    void decode_ShouldReturnNull_ForPlainAmountsAndCorruptPayloads() {
+        // Given
+        String data = ConversionCallbackCodec.encode("convert",
+                new ConversionCallback(BigDecimal.TEN, "USD", List.of("SGD")));
+        String payload = data.substring("convert:".length());
+
+        // When & Then
+        assertNull(ConversionCallbackCodec.decode("25"));
+        assertNull(ConversionCallbackCodec.decode("50.0"));
+        assertNull(ConversionCallbackCodec.decode(""));
+        assertNull(ConversionCallbackCodec.decode("A!!"));
+        assertNull(ConversionCallbackCodec.decode(payload.substring(0, payload.length() - 2)));
+        assertNull(ConversionCallbackCodec.decode(payload + "AA"));
+    }
+
+    @Test
+    void decode_ShouldIgnoreRateVersion_OfFirstFormatPayloads() {
+        // Given
+        int usd = CurrencyId.of("USD");
+        int sgd = CurrencyId.of("SGD");
+        byte[] bytes = {1, 0, 10, (byte) (usd >>> 8), (byte) usd, 1, (byte) (sgd >>> 8), (byte) sgd, 42};
+        String payload = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        // When
+        ConversionCallback decoded = ConversionCallbackCodec.decode(payload);
+
+        // Then
+        assertEquals(BigDecimal.TEN, decoded.getAmount());
+        assertEquals("USD", decoded.getFromCurrency());
+        assertEquals(List.of("SGD"), decoded.getToCurrencies());
+    }
+}
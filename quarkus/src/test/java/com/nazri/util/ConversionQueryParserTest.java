@@ -0,0 +1,106 @@
+package com.nazri.util;
+
+import com.nazri.model.ConversionQuery;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionQueryParserTest {
+
+    @Test
+    void parse_ShouldRecognizeSingleTarget() {
+        ConversionQuery query = ConversionQueryParser.parse("100 usd to sgd");
+
+        assertNotNull(query);
+        assertEquals(new BigDecimal("100"), query.getAmount());
+        assertEquals("USD", query.getFromCurrency());
+        assertEquals(List.of("SGD"), query.getToCurrencies());
+    }
+
+    @Test
+    void parse_ShouldRecognizeMultipleTargetsInOrder() {
+        ConversionQuery query = ConversionQueryParser.parse("100 usd to sgd, myr,jpy");
+
+        assertNotNull(query);
+        assertEquals(List.of("SGD", "MYR", "JPY"), query.getToCurrencies());
+    }
+
+    @Test
+    void parse_ShouldAcceptInKeywordAndCountryNames() {
+        ConversionQuery query = ConversionQueryParser.parse("2,500.50 Japan IN south korea, Singapore");
+
+        assertNotNull(query);
+        assertEquals(new BigDecimal("2500.50"), query.getAmount());
+        assertEquals("JPY", query.getFromCurrency());
+        assertEquals(List.of("KRW", "SGD"), query.getToCurrencies());
+    }
+
+    @Test
+    void parse_ShouldAcceptAmountAttachedToCurrency() {
+        ConversionQuery query = ConversionQueryParser.parse("50eur to gb");
+
+        assertNotNull(query);
+        assertEquals(new BigDecimal("50"), query.getAmount());
+        assertEquals("EUR", query.getFromCurrency());
+        assertEquals(List.of("GBP"), query.getToCurrencies());
+    }
+
+    @Test
+    void parse_ShouldRemoveDuplicateTargets() {
+        ConversionQuery query = ConversionQueryParser.parse("1 usd to sgd, singapore, SG");
+
+        assertNotNull(query);
+        assertEquals(List.of("SGD"), query.getToCurrencies());
+    }
+
+    @Test
+    void parse_ShouldReturnNull_WhenTextIsNotAQuery() {
+        assertNull(ConversionQueryParser.parse(null));
+        assertNull(ConversionQueryParser.parse(""));
+        assertNull(ConversionQueryParser.parse("100"));
+        assertNull(ConversionQueryParser.parse("hello there"));
+        assertNull(ConversionQueryParser.parse("100 usd"));
+        assertNull(ConversionQueryParser.parse("100 usd to"));
+        assertNull(ConversionQueryParser.parse("100 usd to sgd,"));
+        assertNull(ConversionQueryParser.parse("usd 100 to sgd"));
+    }
+
+    @Test
+    void parse_ShouldReturnNull_WhenCurrencyIsUnknown() {
+        assertNull(ConversionQueryParser.parse("100 abc to sgd"));
+        assertNull(ConversionQueryParser.parse("100 usd to sgd, narnia"));
+    }
+
+    @Test
+    void parse_ShouldReturnNull_WhenAmountIsInvalid() {
+        assertNull(ConversionQueryParser.parse("0 usd to sgd"));
+        assertNull(ConversionQueryParser.parse("1,00 usd to sgd"));
+        assertNull(ConversionQueryParser.parse("1.2.3 usd to sgd"));
+    }
+
+    @Test
+    void parse_ShouldUseDefaultTargets_WhenQueryHasNone() {
+        ConversionQuery query = ConversionQueryParser.parse("100 usd", List.of("SGD", "USD", "EUR"));
+
+        assertNotNull(query);
+        assertEquals("USD", query.getFromCurrency());
+        assertEquals(List.of("SGD", "EUR"), query.getToCurrencies());
+        assertNull(ConversionQueryParser.parse("100 usd"));
+        assertNull(ConversionQueryParser.parse("100 qqq", List.of("SGD")));
+    }
+
+    @Test
+    void parse_ShouldCompletePartialCurrency_WhenTargetsAreOptional() {
+        ConversionQuery from = ConversionQueryParser.parse("100 mala", List.of("SGD"));
+        ConversionQuery to = ConversionQueryParser.parse("100 usd to sgd, jap", List.of("SGD"));
+
+        assertEquals("MYR", from.getFromCurrency());
+        assertEquals(List.of("SGD"), from.getToCurrencies());
+        assertEquals(List.of("SGD", "JPY"), to.getToCurrencies());
+        assertNull(ConversionQueryParser.parse("100 mala"));
+        assertNull(ConversionQueryParser.parse("100 usd to jap"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.nazri.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrencyCompletionsTest {
+
+    @Test
+    void complete_ShouldRankMatchesByPopularity() {
+        // When
+        List<String> completions = CurrencyCompletions.complete("mala");
+
+        // Then
+        assertEquals("MYR", completions.get(0));
+        assertTrue(completions.contains("MWK"));
+        assertTrue(completions.size() <= CurrencyCompletions.MAX_COMPLETIONS);
+    }
+
+    @Test
+    void complete_ShouldMatchCodesNamesAndAliases() {
+        // When & Then
+        assertEquals(List.of("SGD"), CurrencyCompletions.complete(" Sg "));
+        assertEquals("JPY", CurrencyCompletions.complete("jap").get(0));
+        assertEquals("THB", CurrencyCompletions.complete("bah").get(0));
+        assertEquals("USD", CurrencyCompletions.complete("doll").get(0));
+        assertEquals("USD", CurrencyCompletions.complete("$").get(0));
+        assertEquals("GBP", CurrencyCompletions.complete("united k").get(0));
+    }
+
+    @Test
+    void complete_ShouldReturnMostPopular_ForEmptyPrefix_AndNothingForNull() {
+        // When & Then
+        assertEquals(List.of("USD", "EUR", "JPY", "GBP", "CNY"), CurrencyCompletions.complete(""));
+        assertTrue(CurrencyCompletions.complete(null).isEmpty());
+    }
+
+    @Test
+    void complete_ShouldReturnSharedList_AndEmptyForUnknownPrefix() {
+        // When & Then
+        assertSame(CurrencyCompletions.complete("mala"), CurrencyCompletions.complete("MALA"));
+        assertTrue(CurrencyCompletions.complete("qqq").isEmpty());
+        assertTrue(CurrencyCompletions.complete("malax").isEmpty());
+    }
+}
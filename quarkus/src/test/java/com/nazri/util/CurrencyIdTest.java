@@ -0,0 +1,49 @@
+package com.nazri.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrencyIdTest {
+
+    @Test
+    void of_ShouldBeCaseInsensitive() {
+        // When & Then
+        assertEquals(CurrencyId.of("SGD"), CurrencyId.of("sgd"));
+        assertEquals(CurrencyId.of("SGD"), CurrencyId.of("SgD"));
+    }
+
+    @Test
+    void of_ShouldCoverFullRange() {
+        // When & Then
+        assertEquals(0, CurrencyId.of("AAA"));
+        assertEquals(CurrencyId.COUNT - 1, CurrencyId.of("ZZZ"));
+    }
+
+    @Test
+    void of_ShouldReturnNone_WhenInputIsNotThreeLetters() {
+        // When & Then
+        assertEquals(CurrencyId.NONE, CurrencyId.of(null));
+        assertEquals(CurrencyId.NONE, CurrencyId.of(""));
+        assertEquals(CurrencyId.NONE, CurrencyId.of("US"));
+        assertEquals(CurrencyId.NONE, CurrencyId.of("USDT"));
+        assertEquals(CurrencyId.NONE, CurrencyId.of("U1D"));
+        assertEquals(CurrencyId.NONE, CurrencyId.of("ÜSD"));
+    }
+
+    @Test
+    void toCode_ShouldRoundTrip() {
+        // When & Then
+        for (int id = 0; id < CurrencyId.COUNT; id++) {
+            assertEquals(id, CurrencyId.of(CurrencyId.toCode(id)));
+        }
+        assertEquals("USD", CurrencyId.toCode(CurrencyId.of("usd")));
+    }
+
+    @Test
+    void toCode_ShouldThrow_WhenIdIsOutOfRange() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> CurrencyId.toCode(CurrencyId.NONE));
+        assertThrows(IllegalArgumentException.class, () -> CurrencyId.toCode(CurrencyId.COUNT));
+    }
+}
@@ -0,0 +1,93 @@
+package com.nazri.util;
+
+import com.nazri.model.CurrencyMention;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrencyMentionDetectorTest {
+
+    @Test
+    void detect_ShouldExtractEveryAmountFromPriceList() {
+        List<CurrencyMention> mentions = CurrencyMentionDetector.detect("Hotel $120, taxi ฿350, dinner ¥4,000");
+
+        assertEquals(3, mentions.size());
+        assertMention(mentions.get(0), "120", "USD");
+        assertTrue(mentions.get(0).isAmbiguous());
+        assertMention(mentions.get(1), "350", "THB");
+        assertFalse(mentions.get(1).isAmbiguous());
+        assertMention(mentions.get(2), "4000", "JPY");
+        assertTrue(mentions.get(2).isAmbiguous());
+    }
+
+    @Test
+    void detect_ShouldMatchCodesAndNamesOnEitherSide() {
+        List<CurrencyMention> mentions = CurrencyMentionDetector.detect("lunch 25 sgd, USD 10.50 and 3 Thai Baht plus 12 euros");
+
+        assertEquals(4, mentions.size());
+        assertMention(mentions.get(0), "25", "SGD");
+        assertMention(mentions.get(1), "10.50", "USD");
+        assertMention(mentions.get(2), "3", "THB");
+        assertMention(mentions.get(3), "12", "EUR");
+    }
+
+    @Test
+    void detect_ShouldPreferLongestSymbol() {
+        List<CurrencyMention> mentions = CurrencyMentionDetector.detect("S$15 and RM 20");
+
+        assertEquals(2, mentions.size());
+        assertMention(mentions.get(0), "15", "SGD");
+        assertFalse(mentions.get(0).isAmbiguous());
+        assertMention(mentions.get(1), "20", "MYR");
+    }
+
+    @Test
+    void detect_ShouldIgnoreCodesInsideWords() {
+        assertTrue(CurrencyMentionDetector.detect("thousand 5 husdon").isEmpty());
+        assertTrue(CurrencyMentionDetector.detect("try all 3 of them").isEmpty());
+        assertEquals(1, CurrencyMentionDetector.detect("3 TRY").size());
+    }
+
+    @Test
+    void detect_ShouldIgnoreCurrenciesWithoutAmount() {
+        assertTrue(CurrencyMentionDetector.detect("how much is a dollar in yen?").isEmpty());
+        assertTrue(CurrencyMentionDetector.detect(null).isEmpty());
+        assertTrue(CurrencyMentionDetector.detect("").isEmpty());
+    }
+
+    @Test
+    void detect_ShouldCapMentions() {
+        String text = "$1 ".repeat(CurrencyMentionDetector.MAX_MENTIONS + 5);
+        assertEquals(CurrencyMentionDetector.MAX_MENTIONS, CurrencyMentionDetector.detect(text).size());
+    }
+
+    @Test
+    void candidates_ShouldListAmbiguousSymbolsMostPopularFirst() {
+        CurrencyMention mention = CurrencyMentionDetector.detect("¥500").get(0);
+
+        assertEquals("¥", CurrencyMentionDetector.symbol(mention.getSymbolId()));
+        assertEquals(List.of("JPY", "CNY"), CurrencyMentionDetector.candidates(mention.getSymbolId()));
+    }
+
+    @Test
+    void parseNumber_ShouldHandleSeparators() {
+        assertEquals(new BigDecimal("4000"), parse("4,000"));
+        assertEquals(new BigDecimal("1234.56"), parse("1,234.56"));
+        assertEquals(new BigDecimal("1234.56"), parse("1.234,56"));
+        assertEquals(new BigDecimal("12.5"), parse("12,5"));
+        assertEquals(new BigDecimal("1000000"), parse("1,000,000"));
+        assertNull(parse("0"));
+    }
+
+    private static BigDecimal parse(String number) {
+        return CurrencyMentionDetector.parseNumber(number, 0, number.length());
+    }
+
+    private static void assertMention(CurrencyMention mention, String amount, String currencyCode) {
+        assertEquals(new BigDecimal(amount), mention.getAmount());
+        assertEquals(currencyCode, mention.getCurrencyCode());
+    }
+}
@@ -0,0 +1,60 @@
+package com.nazri.util;
+
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmojiFlagsTest {
+
+    @AfterEach
+    void tearDown() {
+        EmojiFlags.load(ConfigProvider.getConfig());
+        // Keyboards built with the swapped flags
+        KeyboardUtil.clearCache();
+    }
+
+    @Test
+    void get_ShouldReturnConfiguredFlag() {
+        // When & Then
+        assertEquals("🇸🇬", EmojiFlags.get("SGD"));
+        assertEquals("🇸🇬", EmojiFlags.get("sgd"));
+        assertEquals("🇸🇬", EmojiFlags.get(CurrencyId.of("SGD")));
+    }
+
+    @Test
+    void get_ShouldReturnDefault_WhenCurrencyIsUnknown() {
+        // When & Then
+        assertEquals(EmojiFlags.DEFAULT_FLAG, EmojiFlags.get("XYZ"));
+        assertEquals(EmojiFlags.DEFAULT_FLAG, EmojiFlags.get("SGDX"));
+        assertEquals(EmojiFlags.DEFAULT_FLAG, EmojiFlags.get((String) null));
+        assertEquals(EmojiFlags.DEFAULT_FLAG, EmojiFlags.get(CurrencyId.NONE));
+    }
+
+    @Test
+    void get_ShouldIgnoreNonFlagCurrencyProperties() {
+        // When & Then
+        assertEquals(EmojiFlags.DEFAULT_FLAG, EmojiFlags.get("API"));
+    }
+
+    @Test
+    void load_ShouldSwapFlags() {
+        // Given
+        Config config = new SmallRyeConfigBuilder()
+                .withSources(new PropertiesConfigSource(Map.of("currency.sgd", "🦁", "currency.api.url", "http://localhost"), "test", 100))
+                .build();
+
+        // When
+        EmojiFlags.load(config);
+
+        // Then
+        assertEquals("🦁", EmojiFlags.get("SGD"));
+        assertEquals(EmojiFlags.DEFAULT_FLAG, EmojiFlags.get("USD"));
+    }
+}
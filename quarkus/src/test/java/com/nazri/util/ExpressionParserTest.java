@@ -0,0 +1,80 @@
+package com.nazri.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionParserTest {
+
+    @Test
+    void parse_ShouldEvaluateOperatorPrecedence() {
+        assertEquals(new BigDecimal("41.70"), ExpressionParser.parse("12.5*3 + 4.20").evaluate());
+        assertEquals(new BigDecimal("14"), ExpressionParser.parse("2 + 3 * 4").evaluate());
+    }
+
+    @Test
+    void parse_ShouldEvaluateParentheses() {
+        assertEquals(new BigDecimal("26.25"), ExpressionParser.parse("(120-15)/4").evaluate());
+        assertEquals(new BigDecimal("20"), ExpressionParser.parse("(2 + 3) * 4").evaluate());
+    }
+
+    @Test
+    void parse_ShouldBeLeftAssociative() {
+        assertEquals(new BigDecimal("5"), ExpressionParser.parse("10 - 3 - 2").evaluate());
+        assertEquals(new BigDecimal("2.5"), ExpressionParser.parse("100 / 8 / 5").evaluate());
+    }
+
+    @Test
+    void parse_ShouldSupportUnaryOperators() {
+        assertEquals(new BigDecimal("-6"), ExpressionParser.parse("-2 * 3").evaluate());
+        assertEquals(new BigDecimal("5"), ExpressionParser.parse("+5").evaluate());
+        assertEquals(new BigDecimal("8"), ExpressionParser.parse("10 - -2 * -1").evaluate());
+    }
+
+    @Test
+    void parse_ShouldSupportAlternativeOperatorSymbols() {
+        assertEquals(new BigDecimal("10"), ExpressionParser.parse("5x2").evaluate());
+        assertEquals(new BigDecimal("10"), ExpressionParser.parse("5 × 2").evaluate());
+        assertEquals(new BigDecimal("2.5"), ExpressionParser.parse("5 ÷ 2").evaluate());
+    }
+
+    @Test
+    void evaluate_ShouldUseExactDecimalArithmetic() {
+        assertEquals(new BigDecimal("0.3"), ExpressionParser.parse("0.1 + 0.2").evaluate());
+    }
+
+    @Test
+    void evaluate_ShouldNeverReturnScientificNotation() {
+        assertEquals("2000", ExpressionParser.parse("1000 / 0.5").evaluate().toString());
+    }
+
+    @Test
+    void evaluate_ShouldThrow_WhenDividingByZero() {
+        Expression expression = ExpressionParser.parse("1 / (2 - 2)");
+        assertThrows(ArithmeticException.class, expression::evaluate);
+    }
+
+    @Test
+    void parse_ShouldRejectMalformedExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("  "));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("abc"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("1 +"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("(1 + 2"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("1 + 2)"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("1.2.3"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("."));
+    }
+
+    @Test
+    void parse_ShouldRejectExpressionsExceedingLimits() {
+        String tooLong = "1" + "+1".repeat(ExpressionParser.MAX_LENGTH);
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse(tooLong));
+
+        String tooManyOperations = "1" + "+1".repeat(ExpressionParser.MAX_OPERATIONS + 1);
+        assertTrue(tooManyOperations.length() <= ExpressionParser.MAX_LENGTH);
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse(tooManyOperations));
+    }
+}
@@ -0,0 +1,121 @@
+package com.nazri.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.InlineKeyboardButton;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyboardUtilTest {
+
+    private static final List<String> MULTIPLIERS = List.of("0.5", "2", "5", "10");
+    private static final List<String> SYMBOLS = List.of("½", "2×", "5×", "10×");
+
+    @BeforeEach
+    void setUp() {
+        KeyboardUtil.clearCache();
+    }
+
+    @Test
+    void createCurrencyKeyboard_ShouldBuildOneButtonPerCurrency() {
+        // When
+        InlineKeyboardMarkup keyboard = KeyboardUtil.createCurrencyKeyboard(List.of("SGD", "USD"), "to");
+
+        // Then
+        List<InlineKeyboardButton> row = keyboard.getKeyboard().get(0);
+        assertEquals(2, row.size());
+        assertEquals(Util.getEmojiFlag("SGD") + " SGD", row.get(0).getText());
+        assertEquals("to:SGD", row.get(0).getCallbackData());
+        assertEquals("to:USD", row.get(1).getCallbackData());
+    }
+
+    @Test
+    void createCurrencyKeyboard_ShouldReturnSharedInstance_WhenInputsAreEqual() {
+        // Given
+        List<String> userCurrencies = new ArrayList<>(List.of("SGD", "USD"));
+
+        // When
+        InlineKeyboardMarkup first = KeyboardUtil.createCurrencyKeyboard(userCurrencies, "deletecurrency");
+        InlineKeyboardMarkup second = KeyboardUtil.createCurrencyKeyboard(List.of("SGD", "USD"), "deletecurrency");
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, KeyboardUtil.createCurrencyKeyboard(userCurrencies, "to"));
+    }
+
+    @Test
+    void createCurrencyKeyboard_ShouldNotBeAffected_WhenInputListChangesLater() {
+        // Given
+        List<String> userCurrencies = new ArrayList<>(List.of("SGD", "USD"));
+        InlineKeyboardMarkup keyboard = KeyboardUtil.createCurrencyKeyboard(userCurrencies, "deletecurrency");
+
+        // When
+        userCurrencies.remove("USD");
+
+        // Then
+        assertNotSame(keyboard, KeyboardUtil.createCurrencyKeyboard(userCurrencies, "deletecurrency"));
+        assertSame(keyboard, KeyboardUtil.createCurrencyKeyboard(List.of("SGD", "USD"), "deletecurrency"));
+    }
+
+    @Test
+    void createAmountKeyboard_ShouldReturnImmutableSharedInstance() {
+        // When
+        InlineKeyboardMarkup keyboard = KeyboardUtil.createAmountKeyboard(List.of("1", "25", "100", "500"), "convert");
+
+        // Then
+        assertSame(keyboard, KeyboardUtil.createAmountKeyboard(List.of("1", "25", "100", "500"), "convert"));
+        assertEquals("convert:100", keyboard.getKeyboard().get(0).get(2).getCallbackData());
+        assertThrows(UnsupportedOperationException.class, () -> keyboard.getKeyboard().add(List.of()));
+        assertThrows(UnsupportedOperationException.class, () -> keyboard.getKeyboard().get(0).clear());
+    }
+
+    @Test
+    void createMultiplierKeyboard_ShouldArrangeThreeButtonsPerRow() {
+        // When
+        InlineKeyboardMarkup keyboard = KeyboardUtil.createMultiplierKeyboard(new BigDecimal("100"), MULTIPLIERS, SYMBOLS, "convert");
+
+        // Then
+        assertEquals(2, keyboard.getKeyboard().size());
+        assertEquals(3, keyboard.getKeyboard().get(0).size());
+        assertEquals("½", keyboard.getKeyboard().get(0).get(0).getText());
+        assertEquals("convert:50.0", keyboard.getKeyboard().get(0).get(0).getCallbackData());
+        assertEquals("convert:1000", keyboard.getKeyboard().get(1).get(0).getCallbackData());
+    }
+
+    @Test
+    void createMultiplierKeyboard_ShouldCachePerAmount() {
+        // When
+        InlineKeyboardMarkup first = KeyboardUtil.createMultiplierKeyboard(new BigDecimal("100"), MULTIPLIERS, SYMBOLS, "convert");
+        InlineKeyboardMarkup second = KeyboardUtil.createMultiplierKeyboard(new BigDecimal("100"), MULTIPLIERS, SYMBOLS, "convert");
+        InlineKeyboardMarkup other = KeyboardUtil.createMultiplierKeyboard(new BigDecimal("25"), MULTIPLIERS, SYMBOLS, "convert");
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals("convert:250", other.getKeyboard().get(1).get(0).getCallbackData());
+    }
+
+    @Test
+    void createMultiplierKeyboard_ShouldReturnEmptyKeyboard_WhenInputsAreInvalid() {
+        // When & Then
+        assertNull(KeyboardUtil.createMultiplierKeyboard(null, MULTIPLIERS, SYMBOLS, "convert").getKeyboard());
+        assertNull(KeyboardUtil.createMultiplierKeyboard(BigDecimal.ONE, MULTIPLIERS, List.of("½"), "convert").getKeyboard());
+    }
+
+    @Test
+    void clearCache_ShouldRebuildKeyboards() {
+        // Given
+        InlineKeyboardMarkup keyboard = KeyboardUtil.createCurrencyKeyboard(List.of("SGD"), "to");
+
+        // When
+        KeyboardUtil.clearCache();
+
+        // Then
+        assertNotSame(keyboard, KeyboardUtil.createCurrencyKeyboard(List.of("SGD"), "to"));
+    }
+}
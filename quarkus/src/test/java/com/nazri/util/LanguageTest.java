@@ -0,0 +1,52 @@
+package com.nazri.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LanguageTest {
+
+    @Test
+    void of_ShouldMatchSupportedLanguages() {
+        // When & Then
+        assertEquals(Language.EN, Language.of("en"));
+        assertEquals(Language.MS, Language.of("ms"));
+        assertEquals(Language.ID, Language.of("id"));
+    }
+
+    @Test
+    void of_ShouldIgnoreRegionAndCase() {
+        // When & Then
+        assertEquals(Language.EN, Language.of("en-US"));
+        assertEquals(Language.MS, Language.of("MS-my"));
+        assertEquals(Language.ID, Language.of("id_ID"));
+    }
+
+    @Test
+    void of_ShouldAcceptLegacyIndonesianCode() {
+        // When & Then
+        assertEquals(Language.ID, Language.of("in"));
+    }
+
+    @Test
+    void of_ShouldFallBackToEnglish_WhenLanguageIsUnsupportedOrMissing() {
+        // When & Then
+        assertEquals(Language.EN, Language.of(null));
+        assertEquals(Language.EN, Language.of(""));
+        assertEquals(Language.EN, Language.of("pt-br"));
+        assertEquals(Language.EN, Language.of("msa"));
+    }
+
+    @Test
+    void context_ShouldDefaultToEnglish() {
+        // Given
+        LanguageContext.set(Language.MS);
+        assertEquals(Language.MS, LanguageContext.get());
+
+        // When
+        LanguageContext.clear();
+
+        // Then
+        assertEquals(Language.EN, LanguageContext.get());
+    }
+}
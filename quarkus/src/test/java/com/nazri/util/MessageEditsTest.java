@@ -0,0 +1,101 @@
+package com.nazri.util;
+
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageReplyMarkup;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+import org.telegram.telegrambots.meta.api.objects.Chat;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboardMarkup;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageEditsTest {
+
+    @Test
+    void toEdit_ShouldEditText_WhenTextChanges() {
+        // Given
+        Message original = original("Coinverted Currencies\n\nUSD 100.00", null);
+        SendMessage reply = reply("*Coinverted Currencies*\n\nUSD 200.00", null);
+
+        // When
+        BotApiMethod<?> edit = MessageEdits.toEdit(original, reply);
+
+        // Then
+        EditMessageText editMessageText = assertInstanceOf(EditMessageText.class, edit);
+        assertEquals("123", editMessageText.getChatId());
+        assertEquals(7, editMessageText.getMessageId());
+        assertEquals(reply.getText(), editMessageText.getText());
+        assertEquals(Constant.MARKDOWN, editMessageText.getParseMode());
+    }
+
+    @Test
+    void toEdit_ShouldEditKeyboardOnly_WhenOnlyKeyboardChanges() {
+        // Given
+        InlineKeyboardMarkup keyboard = KeyboardUtil.createCurrencyKeyboard(List.of("SGD", "USD"), "to");
+        Message original = original("Pick a currency", KeyboardUtil.createCurrencyKeyboard(List.of("SGD"), "to"));
+        SendMessage reply = reply("_Pick_ a currency", keyboard);
+
+        // When
+        BotApiMethod<?> edit = MessageEdits.toEdit(original, reply);
+
+        // Then
+        EditMessageReplyMarkup editMarkup = assertInstanceOf(EditMessageReplyMarkup.class, edit);
+        assertEquals(7, editMarkup.getMessageId());
+        assertSame(keyboard, editMarkup.getReplyMarkup());
+    }
+
+    @Test
+    void toEdit_ShouldReturnNull_WhenOriginalAlreadyShowsReply() {
+        // Given
+        Message original = original("Set USD as input docs",
+                KeyboardUtil.createCurrencyKeyboard(List.of("SGD", "USD"), "to"));
+        SendMessage reply = reply("Set *USD* as input [docs](https://example.com) ",
+                KeyboardUtil.createCurrencyKeyboard(List.of("SGD", "USD"), "to"));
+
+        // When & Then
+        assertNull(MessageEdits.toEdit(original, reply));
+        assertNull(MessageEdits.toEdit(original("Done", null), reply("Done", new InlineKeyboardMarkup())));
+    }
+
+    @Test
+    void canEdit_ShouldRejectOtherChats_AndReplyKeyboards() {
+        // Given
+        Message original = original("Pick a currency", null);
+        SendMessage otherChat = new SendMessage("456", "Hello");
+        SendMessage replyKeyboard = reply("Hello", null);
+        replyKeyboard.setReplyMarkup(new ReplyKeyboardMarkup());
+
+        // When & Then
+        assertTrue(MessageEdits.canEdit(original, reply("Hello", null)));
+        assertFalse(MessageEdits.canEdit(original, otherChat));
+        assertFalse(MessageEdits.canEdit(original, replyKeyboard));
+    }
+
+    @Test
+    void plainText_ShouldKeepEscapedMarkers() {
+        // When & Then
+        assertEquals("snake_case *", MessageEdits.plainText("snake\\_case \\*", Constant.MARKDOWN));
+        assertEquals("*bold*", MessageEdits.plainText(" *bold* ", Constant.HTML));
+    }
+
+    private static Message original(String text, InlineKeyboardMarkup keyboard) {
+        Message message = new Message();
+        message.setMessageId(7);
+        message.setChat(new Chat(123L, "private"));
+        message.setText(text);
+        message.setReplyMarkup(keyboard);
+        return message;
+    }
+
+    private static SendMessage reply(String text, InlineKeyboardMarkup keyboard) {
+        SendMessage message = new SendMessage("123", text);
+        message.setParseMode(Constant.MARKDOWN);
+        message.setReplyMarkup(keyboard);
+        return message;
+    }
+}
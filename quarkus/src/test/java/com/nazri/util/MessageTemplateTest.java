@@ -0,0 +1,94 @@
+package com.nazri.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageTemplateTest {
+
+    @Test
+    void format_ShouldMatchMessageFormat_ForEveryBundleMessage() {
+        // Given
+        ResourceBundle bundle = ResourceBundle.getBundle("messages");
+        Object[][] paramSets = {{}, {"A"}, {"A", "B"}, {"A", "B", "C"}, {"*x*", "{1}", "it's"}};
+
+        for (String key : bundle.keySet()) {
+            String pattern = bundle.getString(key);
+            MessageTemplate template = MessageTemplate.compile(pattern);
+
+            for (Object[] params : paramSets) {
+                // When & Then
+                assertEquals(MessageFormat.format(pattern, params), template.format(params), key);
+            }
+        }
+    }
+
+    @Test
+    void format_ShouldReturnConstant_WhenPatternHasNoArguments() {
+        // Given
+        MessageTemplate template = MessageTemplate.compile("Welcome!");
+
+        // When & Then
+        assertSame(template.format(), template.format("ignored"));
+        assertEquals("Welcome!", template.format());
+    }
+
+    @Test
+    void format_ShouldApplyQuotingRules() {
+        // Given
+        MessageTemplate template = MessageTemplate.compile("It''s '{0}' {0}");
+
+        // When & Then
+        assertEquals("It's {0} SGD", template.format("SGD"));
+    }
+
+    @Test
+    void format_ShouldHandleRepeatedAndReorderedArguments() {
+        // Given
+        MessageTemplate template = MessageTemplate.compile("{1} -> {0} ({1})");
+
+        // When & Then
+        assertEquals("B -> A (B)", template.format("A", "B"));
+    }
+
+    @Test
+    void format_ShouldKeepPlaceholder_WhenArgumentIsMissing() {
+        // Given
+        MessageTemplate template = MessageTemplate.compile("{0} and {1}");
+
+        // When & Then
+        assertEquals("A and {1}", template.format("A"));
+        assertEquals(MessageFormat.format("{0} and {1}", (Object[]) null), template.format((Object[]) null));
+    }
+
+    @Test
+    void format_ShouldDelegateToMessageFormat_WhenArgumentsAreNotStrings() {
+        // Given
+        String pattern = "{0} of {1}";
+        MessageTemplate template = MessageTemplate.compile(pattern);
+        Object[] params = {1234567, null};
+
+        // When & Then
+        assertEquals(MessageFormat.format(pattern, params), template.format(params));
+    }
+
+    @Test
+    void format_ShouldDelegateToMessageFormat_WhenPatternHasSubformats() {
+        // Given
+        String pattern = "{0,number,#.##} {1}";
+        MessageTemplate template = MessageTemplate.compile(pattern);
+
+        // When & Then
+        assertEquals(MessageFormat.format(pattern, new BigDecimal("1.005"), "SGD"), template.format(new BigDecimal("1.005"), "SGD"));
+    }
+
+    @Test
+    void compile_ShouldThrow_WhenPatternIsInvalid() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> MessageTemplate.compile("{0"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.nazri.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessagesTest {
+
+    @Test
+    void templates_ShouldCoverEveryBundleKey() {
+        // Given
+        ResourceBundle bundle = ResourceBundle.getBundle(Messages.BUNDLE);
+
+        // When & Then
+        assertEquals(bundle.keySet(), Messages.templates().keySet());
+    }
+
+    @Test
+    void templates_ShouldRenderLikeMessageFormat() {
+        // Given
+        ResourceBundle bundle = ResourceBundle.getBundle(Messages.BUNDLE);
+        Object[] params = {"A", "B", "C"};
+
+        // When & Then
+        Messages.templates().forEach((key, template) ->
+                assertEquals(MessageFormat.format(bundle.getString(key), params), template.format(params), key));
+    }
+
+    @Test
+    void translations_ShouldCoverEveryKey() {
+        // When & Then
+        for (String language : Messages.LANGUAGES) {
+            Map<String, MessageTemplate> templates = Messages.templates(language);
+            assertEquals(Messages.templates().keySet(), templates.keySet(), language);
+            templates.forEach((key, template) ->
+                    assertNotSame(Messages.templates().get(key), template, language + " " + key));
+        }
+    }
+
+    @Test
+    void translations_ShouldRenderLikeMessageFormat() {
+        // Given
+        Object[] params = {"A", "B", "C"};
+
+        for (String language : Messages.LANGUAGES) {
+            ResourceBundle bundle = ResourceBundle.getBundle(Messages.BUNDLE, Locale.forLanguageTag(language),
+                    ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT));
+
+            // When & Then
+            Messages.templates(language).forEach((key, template) ->
+                    assertEquals(MessageFormat.format(bundle.getString(key), params), template.format(params), language + " " + key));
+        }
+    }
+
+    @Test
+    void templates_ShouldReturnDefault_WhenLanguageHasNoTranslation() {
+        // When & Then
+        assertSame(Messages.templates(), Messages.templates("en"));
+        assertSame(Messages.templates(), Messages.templates("xx"));
+    }
+
+    @Test
+    void accessors_ShouldRenderTypedArguments() {
+        // When
+        String result = Messages.deleteCurrencySuccess("🇸🇬", "SGD");
+
+        // Then
+        assertEquals("The currency 🇸🇬*SGD* has been deleted ✅.", result);
+        assertSame(Messages.startWelcome(), Messages.templates().get(Messages.START_WELCOME).format());
+    }
+}
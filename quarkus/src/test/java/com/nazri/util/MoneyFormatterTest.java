@@ -0,0 +1,117 @@
+package com.nazri.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyFormatterTest {
+
+    private static final List<BigDecimal> AMOUNTS = amounts();
+
+    @Test
+    void append_ShouldMatchNumberFormat_ForEveryCurrency() {
+        // Given
+        List<String> mismatches = new ArrayList<>();
+
+        // When
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            String code = currency.getCurrencyCode();
+            Locale locale = legacyLocaleFor(currency);
+            for (BigDecimal amount : AMOUNTS) {
+                String expected = legacyFormatMoney(amount, currency, locale);
+                String actual = MoneyFormatter.append(new StringBuilder(), amount, code).toString();
+                if (!expected.equals(actual)) {
+                    mismatches.add(code + " " + amount.toPlainString() + ": expected [" + expected + "] but was [" + actual + "]");
+                }
+            }
+        }
+
+        // Then
+        assertTrue(mismatches.isEmpty(), () -> mismatches.size() + " mismatches, e.g. " + mismatches.subList(0, Math.min(10, mismatches.size())));
+    }
+
+    @Test
+    void append_ShouldAppendToExistingContent() {
+        // Given
+        StringBuilder out = new StringBuilder("🇺🇸 ");
+
+        // When
+        MoneyFormatter.append(out, new BigDecimal("1234.5"), "USD").append('\n');
+
+        // Then
+        assertEquals("🇺🇸 USD 1,234.50\n", out.toString());
+    }
+
+    @Test
+    void append_ShouldUseLanguageSeparators_WhenLanguageIsNotEnglish() {
+        // When & Then
+        assertEquals("USD 1.234,57", MoneyFormatter.append(new StringBuilder(), new BigDecimal("1234.567"), "USD", Language.ID).toString());
+        assertEquals("-USD 1.234,57", MoneyFormatter.append(new StringBuilder(), new BigDecimal("-1234.567"), "USD", Language.ID).toString());
+        assertEquals("MYR 1,234.57", MoneyFormatter.append(new StringBuilder(), new BigDecimal("1234.567"), "MYR", Language.MS).toString());
+    }
+
+    @Test
+    void append_ShouldUseCurrencyFractionDigits_WhenLanguageIsNotEnglish() {
+        // When & Then
+        assertEquals("JPY 1,235", MoneyFormatter.append(new StringBuilder(), new BigDecimal("1234.567"), "JPY", Language.MS).toString());
+    }
+
+    @Test
+    void append_ShouldThrow_WhenCurrencyCodeIsInvalid() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> MoneyFormatter.append(new StringBuilder(), BigDecimal.ONE, "INVALID"));
+        assertEquals("Invalid currency code: INVALID", exception.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> MoneyFormatter.append(new StringBuilder(), BigDecimal.ONE, "XYZ", Language.MS));
+    }
+
+    private static List<BigDecimal> amounts() {
+        List<BigDecimal> amounts = new ArrayList<>(List.of(
+                BigDecimal.ZERO, new BigDecimal("0.00"), new BigDecimal("0.001"), new BigDecimal("0.005"),
+                new BigDecimal("0.015"), new BigDecimal("0.025"), new BigDecimal("0.5"), new BigDecimal("1"),
+                new BigDecimal("9.995"), new BigDecimal("999.9999"), new BigDecimal("1000"), new BigDecimal("1E+3"),
+                new BigDecimal("1234.56"), new BigDecimal("1234567.891"), new BigDecimal("-0.001"),
+                new BigDecimal("-1234.56"), new BigDecimal("-0.5"), new BigDecimal("100000000000000000"),
+                new BigDecimal("92233720368547758.07"), new BigDecimal("123456789012345678901234567890.123456"),
+                new BigDecimal("-98765432109876543210.5"), new BigDecimal("0.000000000000000000001")));
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            long unscaled = random.nextLong() >> random.nextInt(63);
+            amounts.add(BigDecimal.valueOf(unscaled, random.nextInt(12)));
+        }
+        return amounts;
+    }
+
+    /**
+     * The NumberFormat based implementation that {@link MoneyFormatter} replaces.
+     */
+    private static String legacyFormatMoney(BigDecimal amount, Currency currency, Locale locale) {
+        String currencyCode = currency.getCurrencyCode();
+        NumberFormat formatter = NumberFormat.getCurrencyInstance(locale);
+        formatter.setCurrency(currency);
+        String formatted = formatter.format(amount).trim();
+        return formatted.replace(currency.getSymbol(locale), currencyCode + " ");
+    }
+
+    private static Locale legacyLocaleFor(Currency currency) {
+        for (Locale locale : Locale.getAvailableLocales()) {
+            try {
+                if (Currency.getInstance(locale).getCurrencyCode().equals(currency.getCurrencyCode())) {
+                    return locale;
+                }
+            } catch (IllegalArgumentException e) {
+                // Skip locales without currency information
+            }
+        }
+        return Locale.US;
+    }
+}
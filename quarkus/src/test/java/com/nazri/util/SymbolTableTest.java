@@ -0,0 +1,58 @@
+package com.nazri.util;
+
+import com.nazri.model.CurrencyMention;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymbolTableTest {
+
+    private static final CurrencyMention DOLLAR = CurrencyMentionDetector.detect("$10").get(0);
+    private static final CurrencyMention YEN = CurrencyMentionDetector.detect("¥10").get(0);
+    private static final CurrencyMention BAHT = CurrencyMentionDetector.detect("฿10").get(0);
+
+    @Test
+    void defaultTable_ShouldResolveByPopularity() {
+        SymbolTable table = SymbolTable.defaultTable();
+
+        assertEquals("USD", table.resolve(DOLLAR));
+        assertEquals("JPY", table.resolve(YEN));
+    }
+
+    @Test
+    void build_ShouldPreferInputCurrency() {
+        SymbolTable table = SymbolTable.build("SGD", List.of("AUD"), "en");
+
+        assertEquals("SGD", table.resolve(DOLLAR));
+    }
+
+    @Test
+    void build_ShouldPreferMostRecentOutputCurrency() {
+        SymbolTable table = SymbolTable.build("MYR", List.of("AUD", "HKD"), null);
+
+        assertEquals("HKD", table.resolve(DOLLAR));
+    }
+
+    @Test
+    void build_ShouldUseLanguage_WhenProfileDoesNotDecide() {
+        assertEquals("CNY", SymbolTable.build("MYR", List.of("SGD"), "zh-hans").resolve(YEN));
+        assertEquals("JPY", SymbolTable.build("MYR", List.of("SGD"), "ja").resolve(YEN));
+        assertEquals("CAD", SymbolTable.build(null, List.of(), "en-CA").resolve(DOLLAR));
+    }
+
+    @Test
+    void resolve_ShouldKeepUnambiguousMentions() {
+        SymbolTable table = SymbolTable.build("SGD", List.of("USD"), "en");
+
+        assertEquals("THB", table.resolve(BAHT));
+    }
+
+    @Test
+    void languageCurrency_ShouldHandleUnknownOrMissingLanguage() {
+        assertNull(SymbolTable.languageCurrency(null));
+        assertNull(SymbolTable.languageCurrency(""));
+        assertEquals("BRL", SymbolTable.languageCurrency("pt-br"));
+    }
+}
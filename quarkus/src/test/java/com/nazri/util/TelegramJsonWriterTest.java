@@ -0,0 +1,220 @@
+package com.nazri.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.meta.api.methods.AnswerCallbackQuery;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageReplyMarkup;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+import org.telegram.telegrambots.meta.api.objects.MessageEntity;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboardMarkup;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.InlineKeyboardButton;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelegramJsonWriterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void toJson_ShouldMatchJackson_ForPlainSendMessage() throws Exception {
+        // Given
+        SendMessage message = new SendMessage("123", "Hello");
+
+        // When & Then
+        assertSameJson(message);
+    }
+
+    @Test
+    void toJson_ShouldMatchJackson_ForSendMessageWithSharedKeyboard() throws Exception {
+        // Given
+        SendMessage message = new SendMessage("-100123", "*Pick one* 🇸🇬");
+        message.setParseMode(Constant.MARKDOWN);
+        message.setReplyMarkup(KeyboardUtil.createCurrencyKeyboard(List.of("SGD", "USD", "JPY"), "to"));
+
+        // When & Then
+        assertSameJson(message);
+    }
+
+    @Test
+    void toJson_ShouldMatchJackson_ForMultiRowKeyboardWrittenInline() throws Exception {
+        // Given
+        InlineKeyboardMarkup shared = KeyboardUtil.createMultiplierKeyboard(new BigDecimal("12.5"),
+                List.of("0.5", "2", "5", "10"), List.of("½", "2×", "5×", "10×"), "convert");
+        InlineKeyboardMarkup unshared = new InlineKeyboardMarkup(shared.getKeyboard());
+        SendMessage message = new SendMessage("1", "x");
+        message.setReplyMarkup(unshared);
+
+        // When & Then
+        assertSameJson(message);
+    }
+
+    @Test
+    void toJson_ShouldMatchJackson_ForAllSupportedSendMessageFields() throws Exception {
+        // Given
+        InlineKeyboardButton button = new InlineKeyboardButton();
+        button.setText("Share");
+        button.setUrl("https://example.com/?a=1&b=\"2\"");
+        button.setSwitchInlineQuery("");
+        button.setSwitchInlineQueryCurrentChat("usd");
+        button.setPay(true);
+        SendMessage message = new SendMessage("42", "text");
+        message.setMessageThreadId(7);
+        message.setParseMode(Constant.HTML);
+        message.setDisableWebPagePreview(true);
+        message.setDisableNotification(false);
+        message.setReplyToMessageId(99);
+        message.setReplyMarkup(new InlineKeyboardMarkup(List.of(List.of(button), List.of())));
+        message.setAllowSendingWithoutReply(true);
+        message.setProtectContent(false);
+
+        // When & Then
+        assertSameJson(message);
+    }
+
+    @Test
+    void toJson_ShouldMatchJackson_ForEmptyKeyboard() throws Exception {
+        // Given
+        SendMessage message = new SendMessage("1", "x");
+        message.setReplyMarkup(new InlineKeyboardMarkup());
+
+        // When & Then
+        assertSameJson(message);
+    }
+
+    @Test
+    void toJson_ShouldMatchJackson_ForEscapedAndNonAsciiText() throws Exception {
+        // Given
+        StringBuilder text = new StringBuilder();
+        for (char c = 0; c < 0x80; c++) {
+            text.append(c);
+        }
+        text.append("é ß ✅ 💱 🇮🇩   \uD83C lone \uDC00 end \uD83C");
+        SendMessage message = new SendMessage("1", text.toString());
+
+        // When & Then
+        assertSameJson(message);
+    }
+
+    @Test
+    void toJson_ShouldMatchJackson_ForConstantMessageText() throws Exception {
+        // Given
+        String text = Messages.templates().get(Messages.HELP_CONTENT).constantText();
+        TelegramJsonWriter.registerTexts(List.of(text));
+        SendMessage message = new SendMessage("1", text);
+        message.setParseMode(Constant.MARKDOWN);
+
+        // When & Then
+        assertSameJson(message);
+    }
+
+    @Test
+    void toJson_ShouldMatchJackson_ForEditMessageText() throws Exception {
+        // Given
+        EditMessageText edit = new EditMessageText();
+        edit.setChatId("1");
+        edit.setMessageId(5);
+        edit.setText("*Converted*");
+        edit.setParseMode(Constant.MARKDOWN);
+        edit.setDisableWebPagePreview(true);
+        edit.setReplyMarkup(KeyboardUtil.createAmountKeyboard(List.of("1", "25", "100"), "convert"));
+        EditMessageText inline = new EditMessageText();
+        inline.setInlineMessageId("inline-1");
+        inline.setText("x");
+
+        // When & Then
+        assertSameJson(edit);
+        assertSameJson(inline);
+    }
+
+    @Test
+    void toJson_ShouldMatchJackson_ForEditMessageReplyMarkup() throws Exception {
+        // Given
+        EditMessageReplyMarkup edit = new EditMessageReplyMarkup("1", 5, null,
+                KeyboardUtil.createMultiplierKeyboard(BigDecimal.TEN, List.of("0.5", "2"), List.of("½", "2×"), "convert"));
+        EditMessageReplyMarkup removed = new EditMessageReplyMarkup("1", 5, null, null);
+
+        // When & Then
+        assertSameJson(edit);
+        assertSameJson(removed);
+    }
+
+    @Test
+    void toJson_ShouldMatchJackson_ForAnswerCallbackQuery() throws Exception {
+        // Given
+        AnswerCallbackQuery minimal = new AnswerCallbackQuery("cbid");
+        AnswerCallbackQuery full = new AnswerCallbackQuery("cbid");
+        full.setText("Saved ✅");
+        full.setShowAlert(false);
+        full.setUrl("t.me/bot?start=1");
+        full.setCacheTime(30);
+
+        // When & Then
+        assertSameJson(minimal);
+        assertSameJson(full);
+    }
+
+    @Test
+    void toJson_ShouldFallBackToJackson_WhenMethodIsUnsupported() throws Exception {
+        // Given
+        SendMessage withEntities = new SendMessage("1", "bold");
+        withEntities.setEntities(List.of(new MessageEntity("bold", 0, 4)));
+        SendMessage withReplyKeyboard = new SendMessage("1", "x");
+        withReplyKeyboard.setReplyMarkup(new ReplyKeyboardMarkup(List.of()));
+
+        // When & Then
+        assertFalse(TelegramJsonWriter.supports(withEntities));
+        assertFalse(TelegramJsonWriter.supports(withReplyKeyboard));
+        assertSameJson(withEntities);
+        assertSameJson(withReplyKeyboard);
+    }
+
+    @Test
+    void toJson_ShouldMatchJackson_ForRandomText() throws Exception {
+        // Given
+        Random random = new Random(36);
+
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(64);
+            for (int j = 0; j < length; j++) {
+                text.append(switch (random.nextInt(4)) {
+                    case 0 -> (char) random.nextInt(0x80);
+                    case 1 -> (char) random.nextInt(0x800);
+                    case 2 -> (char) random.nextInt(0x10000);
+                    default -> new String(Character.toChars(0x1F300 + random.nextInt(0x300)));
+                });
+            }
+            SendMessage message = new SendMessage(String.valueOf(random.nextLong()), text.toString());
+
+            // When & Then
+            assertSameJson(message);
+        }
+    }
+
+    @Test
+    void toJson_ShouldReuseBuffer_AfterLongMessage() throws Exception {
+        // Given
+        SendMessage longMessage = new SendMessage("1", "💱".repeat(40_000));
+        SendMessage shortMessage = new SendMessage("1", "ok");
+
+        // When & Then
+        assertSameJson(longMessage);
+        assertSameJson(shortMessage);
+    }
+
+    private static void assertSameJson(BotApiMethod<?> method) throws Exception {
+        // The library sends Jackson's JSON string encoded as UTF-8
+        byte[] expected = MAPPER.writeValueAsString(method).getBytes(StandardCharsets.UTF_8);
+        byte[] actual = TelegramJsonWriter.toJson(method);
+        assertEquals(new String(expected, StandardCharsets.UTF_8), new String(actual, StandardCharsets.UTF_8));
+        assertArrayEquals(expected, actual);
+    }
+}
@@ -0,0 +1,93 @@
+package com.nazri.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpdateDecoderTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    void decode_ShouldMatchLibraryBinding_ForMessages() throws IOException {
+        // Given
+        String text = "{\"update_id\":7,\"message\":{\"message_id\":1,\"date\":1700000000,"
+                + "\"from\":{\"id\":42,\"is_bot\":false,\"first_name\":\"Ann\",\"username\":\"ann\",\"language_code\":\"ms\"},"
+                + "\"chat\":{\"id\":-1001234567890,\"type\":\"supergroup\",\"title\":\"Travel\"},"
+                + "\"text\":\"100 usd to myr\"}}";
+        String location = "{\"update_id\":8,\"message\":{\"message_id\":2,\"date\":1700000001,"
+                + "\"chat\":{\"id\":42,\"type\":\"private\",\"first_name\":\"Ann\",\"username\":\"ann\"},"
+                + "\"location\":{\"latitude\":1.3521,\"longitude\":103.8198}}}";
+
+        // When & Then
+        assertEquals(bind(text), UpdateDecoder.decode(bytes(text)));
+        assertEquals(bind(location), UpdateDecoder.decode(bytes(location)));
+        assertEquals(-1001234567890L, UpdateDecoder.decode(bytes(text)).getMessage().getChatId());
+    }
+
+    @Test
+    void decode_ShouldMatchLibraryBinding_ForCallbackAndInlineQueries() throws IOException {
+        // Given
+        String callback = "{\"update_id\":9,\"callback_query\":{\"id\":\"cb1\",\"chat_instance\":\"ci\",\"data\":\"/from SGD\","
+                + "\"from\":{\"id\":42,\"is_bot\":false,\"first_name\":\"Ann\"},"
+                + "\"message\":{\"message_id\":3,\"date\":1700000002,\"chat\":{\"id\":42,\"type\":\"private\"},\"text\":\"Pick one\","
+                + "\"reply_markup\":{\"inline_keyboard\":[[{\"text\":\"SGD\",\"callback_data\":\"/from SGD\"},"
+                + "{\"text\":\"MYR\",\"callback_data\":\"/from MYR\"}],[{\"text\":\"Rates\",\"url\":\"https://example.com\"}]]}}}}";
+        String inline = "{\"update_id\":10,\"inline_query\":{\"id\":\"iq1\",\"query\":\"100 usd\",\"offset\":\"\","
+                + "\"chat_type\":\"sender\",\"from\":{\"id\":42,\"is_bot\":false,\"first_name\":\"Ann\",\"language_code\":\"en\"}}}";
+
+        // When
+        Update decoded = UpdateDecoder.decode(bytes(callback));
+
+        // Then
+        assertEquals(bind(callback), decoded);
+        assertEquals("/from MYR", ((Message) decoded.getCallbackQuery().getMessage())
+                .getReplyMarkup().getKeyboard().get(0).get(1).getCallbackData());
+        assertEquals(bind(inline), UpdateDecoder.decode(bytes(inline)));
+    }
+
+    @Test
+    void decode_ShouldSkipFieldsTheBotDoesNotUse() throws IOException {
+        // Given
+        String json = "{\"update_id\":11,\"edited_message\":{\"message_id\":1,\"chat\":{\"id\":1}},"
+                + "\"message\":{\"message_id\":4,\"date\":0,\"entities\":[{\"type\":\"bot_command\",\"offset\":0,\"length\":5}],"
+                + "\"photo\":[{\"file_id\":\"a\",\"width\":1,\"height\":1}],\"reply_to_message\":null,"
+                + "\"chat\":{\"id\":42,\"type\":\"private\",\"photo\":{\"small_file_id\":\"s\"}},\"text\":\"/help\"},"
+                + "\"future_field\":[1,{\"nested\":true}]}";
+
+        // When
+        Update update = UpdateDecoder.decode(bytes(json));
+
+        // Then
+        assertEquals(11, update.getUpdateId());
+        assertEquals("/help", update.getMessage().getText());
+        assertEquals(42L, update.getMessage().getChatId());
+        assertNull(update.getEditedMessage());
+        assertNull(update.getMessage().getEntities());
+    }
+
+    @Test
+    void decode_ShouldThrow_ForMalformedJson() {
+        // When & Then
+        assertThrows(IOException.class, () -> UpdateDecoder.decode(bytes("{\"update_id\":1,\"message\":")));
+        assertThrows(IOException.class, () -> UpdateDecoder.decode(bytes("[1,2]")));
+        assertThrows(IOException.class, () -> UpdateDecoder.decode(bytes("{\"update_id\":\"x\"}")));
+    }
+
+    private static Update bind(String json) throws JsonProcessingException {
+        return MAPPER.readValue(json, Update.class);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,38 @@
+package com.nazri.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpdatePeekerTest {
+
+    @Test
+    void type_ShouldReturnFieldAfterUpdateId() {
+        // When & Then
+        assertEquals("message", type("{\"update_id\":1,\"message\":{\"text\":\"hi\"}}"));
+        assertEquals("channel_post", type(" {\n \"update_id\" : 12345 ,\n \"channel_post\": {}}"));
+        assertEquals("callback_query", type("{\"callback_query\":{\"data\":\"to:SGD\"},\"update_id\":1}"));
+    }
+
+    @Test
+    void type_ShouldSkipNestedValues_WhenUpdateIdComesAfterThem() {
+        // When & Then
+        assertEquals("message", type("{\"message\":{\"text\":\"a \\\"}\\\" {\",\"entities\":[{}]},\"update_id\":1}"));
+    }
+
+    @Test
+    void type_ShouldReturnNull_ForMalformedJson() {
+        // When & Then
+        assertNull(type(""));
+        assertNull(type("[]"));
+        assertNull(type("{\"update_id\":1}"));
+        assertNull(type("{\"update_id\":1,"));
+        assertNull(type("{\"update_id"));
+    }
+
+    private static String type(String json) {
+        return UpdatePeeker.type(json.getBytes(StandardCharsets.UTF_8));
+    }
+}